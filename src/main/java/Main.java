@@ -14,6 +14,8 @@ public class Main extends Application {
 
     private Ronaldo ronaldo = new Ronaldo();
 
+    private MainWindow mainWindow;
+
     @Override
     public void start(Stage stage) {
         try {
@@ -22,10 +24,18 @@ public class Main extends Application {
             Scene scene = new Scene(ap);
             stage.setScene(scene);
             stage.setTitle("Ronaldo Chatbot");
-            fxmlLoader.<MainWindow>getController().setDuke(ronaldo); // inject the Ronaldo instance
+            mainWindow = fxmlLoader.getController();
+            mainWindow.setDuke(ronaldo); // inject the Ronaldo instance
             stage.show();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.shutdown();
+        }
+    }
 }
@@ -1,3 +1,8 @@
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ScrollPane;
@@ -9,6 +14,12 @@ import ronaldo.ui.Ronaldo;
 
 /**
  * Controller for the main GUI.
+ * <p>
+ * Commands are run on a single background thread rather than the JavaFX application thread,
+ * so a slow command such as a large {@code list} or a storage rewrite does not freeze the window.
+ * The thread runs commands one at a time in the order they were entered, and each reply is
+ * posted back to the application thread with {@link Platform#runLater(Runnable)}.
+ * </p>
  */
 public class MainWindow extends AnchorPane {
     @FXML
@@ -22,6 +33,13 @@ public class MainWindow extends AnchorPane {
 
     private Ronaldo ronaldo;
 
+    /** Runs the entered commands in order, off the JavaFX application thread. */
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ronaldo-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private Image prateek = new Image(this.getClass().getResourceAsStream("/images/Prateek.png"));
     private Image aaron = new Image(this.getClass().getResourceAsStream("/images/Prof.png"));
 
@@ -45,18 +63,38 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Echoes the user input in a dialog box and clears it, then queues the command to be run.
+     * A dialog box containing Duke's reply is appended to the dialog container once the command finishes.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = ronaldo.processInput(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, prateek),
-                DialogBox.getRonaldoDialog(response, aaron)
-        );
+        dialogContainer.getChildren().add(DialogBox.getUserDialog(input, prateek));
         userInput.clear();
+
+        commandExecutor.execute(() -> {
+            String response;
+            try {
+                response = ronaldo.processInput(input);
+            } catch (Exception e) {
+                response = "An unexpected error occurred: " + e.getMessage();
+            }
+            String reply = response;
+            Platform.runLater(() -> dialogContainer.getChildren().add(DialogBox.getRonaldoDialog(reply, aaron)));
+        });
+    }
+
+    /**
+     * Stops taking commands and waits for those already entered to finish,
+     * so none is cut off part-way through when the application exits.
+     */
+    public void shutdown() {
+        commandExecutor.shutdown();
+        try {
+            commandExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 }
 
@@ -0,0 +1,57 @@
+package ronaldo.command;
+
+import java.util.ArrayList;
+
+import ronaldo.exceptions.RonaldoException;
+import ronaldo.storage.StorageBackend;
+import ronaldo.task.Task;
+import ronaldo.task.TaskList;
+import ronaldo.ui.Ui;
+
+/**
+ * Executes a delete command on several tasks, such as {@code delete 10-99}.
+ * <p>
+ * The tasks are removed with {@link TaskList#deleteTasks(int[])}, which closes the gaps they leave
+ * in one pass instead of shifting the rest of the list once per task, and are recorded with a
+ * single call to {@link StorageBackend}. Nothing is deleted if a range reaches past the end of the list.
+ * </p>
+ */
+public class BulkDeleteExecutor implements CommandExecutor {
+
+    /** The ranges of tasks to delete, as pairs of zero-based first and last positions. */
+    private final int[] ranges;
+
+    /**
+     * Constructs a BulkDeleteExecutor for the tasks in the given ranges.
+     *
+     * @param ranges the ranges of tasks, as pairs of zero-based first and last positions,
+     *               in increasing order and not overlapping
+     */
+    public BulkDeleteExecutor(int[] ranges) {
+        this.ranges = ranges;
+    }
+
+    /**
+     * Executes the delete command by removing every task in the ranges
+     * from both the task list and storage.
+     *
+     * @param taskList the task list containing tasks
+     * @param storage the storage handler for persistent data
+     * @param ui the user interface for displaying messages
+     * @return a message listing the removed tasks
+     * @throws RonaldoException if a task number is invalid
+     */
+    @Override
+    public String execute(TaskList taskList, StorageBackend storage, Ui ui) throws RonaldoException {
+        int[] indexes = TaskRanges.toIndexes(ranges, taskList.size());
+        ArrayList<Task> deletedTasks = taskList.deleteTasks(indexes);
+        storage.deleteTasks(TaskRanges.idsOf(deletedTasks));
+
+        StringBuilder message = new StringBuilder("Noted. I've removed these tasks:");
+        for (Task task : deletedTasks) {
+            message.append("\n  ").append(task);
+        }
+        message.append(String.format("\nNow you have %d tasks in the list.", taskList.size()));
+        return message.toString();
+    }
+}
@@ -0,0 +1,65 @@
+package ronaldo.command;
+
+import ronaldo.exceptions.RonaldoException;
+import ronaldo.storage.StorageBackend;
+import ronaldo.task.TaskList;
+import ronaldo.ui.Ui;
+
+/**
+ * Executes a "mark" or "unmark" command on several tasks, such as {@code mark 1-500}.
+ * <p>
+ * Every task is checked before any is changed, so a range that reaches past the end of the list
+ * changes nothing. The tasks are then updated in one pass over the {@link TaskList} and recorded
+ * with a single call to {@link StorageBackend}.
+ * </p>
+ */
+public class BulkMarkExecutor implements CommandExecutor {
+
+    /** The ranges of tasks to mark or unmark, as pairs of zero-based first and last positions. */
+    private final int[] ranges;
+
+    /** {@code true} if marking the tasks, {@code false} if unmarking. */
+    private final boolean isMark;
+
+    /**
+     * Constructs a new {@code BulkMarkExecutor} for the tasks in the given ranges.
+     *
+     * @param ranges the ranges of tasks, as pairs of zero-based first and last positions,
+     *               in increasing order and not overlapping
+     * @param isMark {@code true} to mark the tasks as done, {@code false} to unmark
+     */
+    public BulkMarkExecutor(int[] ranges, boolean isMark) {
+        this.ranges = ranges;
+        this.isMark = isMark;
+    }
+
+    /**
+     * Executes the mark or unmark operation on every task in the ranges.
+     *
+     * @param taskList the list of tasks to operate on
+     * @param storage  the storage instance to persist changes
+     * @param ui       the UI instance to display messages
+     * @return a message listing the updated tasks
+     * @throws RonaldoException if a task number is invalid
+     */
+    @Override
+    public String execute(TaskList taskList, StorageBackend storage, Ui ui) throws RonaldoException {
+        int[] indexes = TaskRanges.toIndexes(ranges, taskList.size());
+        long[] ids = TaskRanges.idsAt(taskList, indexes);
+
+        StringBuilder message = new StringBuilder();
+        if (isMark) {
+            taskList.markTasks(indexes);
+            storage.markTasks(ids);
+            message.append("Nice! I've marked these tasks as done:");
+        } else {
+            taskList.unmarkTasks(indexes);
+            storage.unmarkTasks(ids);
+            message.append("OK, I've marked these tasks as not done yet:");
+        }
+        for (int index : indexes) {
+            message.append("\n ").append(taskList.getTask(index));
+        }
+        return message.toString();
+    }
+}
@@ -1,7 +1,7 @@
 package ronaldo.command;
 
 import ronaldo.exceptions.RonaldoException;
-import ronaldo.storage.Storage;
+import ronaldo.storage.StorageBackend;
 import ronaldo.task.TaskList;
 import ronaldo.ui.Ui;
 
@@ -9,7 +9,8 @@ import ronaldo.ui.Ui;
  * Executes the "bye" command to exit the Ronaldo application.
  * <p>
  * This class displays a farewell message via {@link Ui} and returns
- * a goodbye message. It does not modify the {@link TaskList} or {@link Storage}.
+ * a goodbye message. It does not modify the {@link TaskList}, but flushes
+ * any changes still queued in {@link StorageBackend} so nothing is lost on exit.
  * </p>
  */
 public class ByeExecutor implements CommandExecutor {
@@ -18,13 +19,14 @@ public class ByeExecutor implements CommandExecutor {
      * Executes the bye command.
      *
      * @param taskList the list of tasks (not modified by this command)
-     * @param storage  the storage instance (not modified by this command)
+     * @param storage  the storage instance whose queued changes are flushed
      * @param ui       the UI instance for displaying the farewell message
      * @return a goodbye message
      * @throws RonaldoException if an unexpected error occurs during execution
      */
     @Override
-    public String execute(TaskList taskList, Storage storage, Ui ui) throws RonaldoException {
+    public String execute(TaskList taskList, StorageBackend storage, Ui ui) throws RonaldoException {
+        storage.flush();
         //ui.showFarewell();
         return "Bye. I'm going to do some WingChun";
     }
@@ -5,23 +5,59 @@ package ronaldo.command;
  * in the Ronaldo application.
  */
 public enum Command {
-    LIST,
+    LIST("list"),
 
-    MARK,
+    MARK("mark"),
 
-    UNMARK,
+    UNMARK("unmark"),
 
-    DEADLINE,
+    DEADLINE("deadline"),
 
-    EVENT,
+    EVENT("event"),
 
-    TODO,
+    TODO("todo"),
 
-    DELETE,
+    DELETE("delete"),
 
-    BYE,
+    BYE("bye"),
 
-    FIND,
+    FIND("find"),
 
-    INVALID;
+    DUE("due"),
+
+    OVERLAPS("overlaps"),
+
+    STATS("stats"),
+
+    UNDO("undo"),
+
+    REDO("redo"),
+
+    INVALID(null);
+
+    private static final Command[] COMMANDS = values();
+
+    /** The word the user types for this command, or {@code null} for {@link #INVALID}. */
+    private final String keyword;
+
+    Command(String keyword) {
+        this.keyword = keyword;
+    }
+
+    /**
+     * Returns the command whose word starts the given input.
+     * The word is matched exactly and is case-sensitive.
+     *
+     * @param input the user input.
+     * @param end   the position just after the command word in {@code input}.
+     * @return the command, or {@link #INVALID} if the word is not a command.
+     */
+    public static Command fromKeyword(String input, int end) {
+        for (Command command : COMMANDS) {
+            if (command.keyword != null && command.keyword.length() == end && input.startsWith(command.keyword)) {
+                return command;
+            }
+        }
+        return INVALID;
+    }
 }
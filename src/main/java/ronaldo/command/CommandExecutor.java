@@ -1,7 +1,7 @@
 package ronaldo.command;
 
 import ronaldo.exceptions.RonaldoException;
-import ronaldo.storage.Storage;
+import ronaldo.storage.StorageBackend;
 import ronaldo.task.TaskList;
 import ronaldo.ui.Ui;
 
@@ -10,7 +10,7 @@ import ronaldo.ui.Ui;
  * <p>
  * Implementations of this interface define specific operations such as marking,
  * deleting, or adding tasks, and are responsible for updating the {@link TaskList},
- * persisting changes via {@link Storage}, and providing user feedback through {@link Ui}.
+ * persisting changes via {@link StorageBackend}, and providing user feedback through {@link Ui}.
  * </p>
  */
 public interface CommandExecutor {
@@ -24,5 +24,5 @@ public interface CommandExecutor {
      * @return a string message describing the result of the command
      * @throws RonaldoException if an error occurs during execution
      */
-    String execute(TaskList taskList, Storage storage, Ui ui) throws RonaldoException;
+    String execute(TaskList taskList, StorageBackend storage, Ui ui) throws RonaldoException;
 }
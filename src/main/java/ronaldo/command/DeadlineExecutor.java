@@ -1,8 +1,11 @@
 package ronaldo.command;
 
+import java.time.LocalDateTime;
+
 import ronaldo.exceptions.RonaldoException;
-import ronaldo.storage.Storage;
+import ronaldo.storage.StorageBackend;
 import ronaldo.task.Deadline;
+import ronaldo.task.DescriptionPool;
 import ronaldo.task.Priority;
 import ronaldo.task.TaskList;
 import ronaldo.ui.Ui;
@@ -11,7 +14,7 @@ import ronaldo.ui.Ui;
  * Executes the "deadline" command to add a new Deadline task to the task list.
  * <p>
  * This class creates a {@link Deadline} task with the given description and due date,
- * adds it to the {@link TaskList}, persists it to {@link Storage}, and displays
+ * adds it to the {@link TaskList}, persists it to {@link StorageBackend}, and displays
  * a confirmation message via {@link Ui}.
  * </p>
  */
@@ -20,23 +23,26 @@ public class DeadlineExecutor implements CommandExecutor {
     private final String description;
     private final Priority priority;
     private final String by;
+    private final LocalDateTime due;
 
     /**
      * Constructs a new {@code DeadlineExecutor} with the specified description and due date.
      *
      * @param description the description of the deadline task
      * @param by          the due date/time of the deadline task
+     * @param due         the due time {@code by} stands for, already parsed
      */
-    public DeadlineExecutor(String description, Priority priority, String by) {
-        this.description = description;
+    public DeadlineExecutor(String description, Priority priority, String by, LocalDateTime due) {
+        this.description = DescriptionPool.intern(description);
         this.priority = priority;
         this.by = by;
+        this.due = due;
     }
 
     /**
      * Executes the deadline command by creating and adding the task.
      * <p>
-     * Adds the new {@link Deadline} task to the {@link TaskList}, writes it to {@link Storage},
+     * Adds the new {@link Deadline} task to the {@link TaskList}, writes it to {@link StorageBackend},
      * and displays a confirmation message via {@link Ui}.
      * </p>
      *
@@ -47,12 +53,12 @@ public class DeadlineExecutor implements CommandExecutor {
      * @throws RonaldoException if an error occurs during task creation or storage
      */
     @Override
-    public String execute(TaskList taskList, Storage storage, Ui ui) throws RonaldoException {
-        Deadline deadline = new Deadline(description, by);
+    public String execute(TaskList taskList, StorageBackend storage, Ui ui) throws RonaldoException {
+        Deadline deadline = new Deadline(description, by, due);
         deadline.setPriority(priority);
         taskList.addTask(deadline);
-        String writtenFormat = String.format("D | %s | %s | %s | %s",
-                deadline.isDone(), priority, description, deadline.getBy());
+        String writtenFormat = String.format("%d | D | %s | %s | %s | %s",
+                deadline.getId(), deadline.isDone(), priority, description, deadline.getBy());
         storage.writeTask(writtenFormat);
         //ui.showAddTask(deadline, taskList.size());
 
@@ -2,7 +2,7 @@ package ronaldo.command;
 
 import ronaldo.exceptions.InvalidTaskNumberException;
 import ronaldo.exceptions.RonaldoException;
-import ronaldo.storage.Storage;
+import ronaldo.storage.StorageBackend;
 import ronaldo.task.Task;
 import ronaldo.task.TaskList;
 import ronaldo.ui.Ui;
@@ -32,7 +32,7 @@ public class DeleteExecutor implements CommandExecutor {
      * @throws InvalidTaskNumberException if the index is invalid
      */
     @Override
-    public String execute(TaskList taskList, Storage storage, Ui ui) throws RonaldoException {
+    public String execute(TaskList taskList, StorageBackend storage, Ui ui) throws RonaldoException {
         // Validate the index
         if (index < 0 || index >= taskList.size()) {
             throw new InvalidTaskNumberException();
@@ -40,7 +40,7 @@ public class DeleteExecutor implements CommandExecutor {
 
         // Delete the task from memory and storage
         Task deletedTask = taskList.deleteTask(index);
-        storage.deleteTask(index);
+        storage.deleteTask(deletedTask.getId());
 
         // Show confirmation message
         //ui.showDeleteTask(deletedTask, taskList.size());
@@ -0,0 +1,57 @@
+package ronaldo.command;
+
+import java.time.LocalDateTime;
+
+import ronaldo.exceptions.RonaldoException;
+import ronaldo.storage.StorageBackend;
+import ronaldo.task.TaskList;
+import ronaldo.ui.Ui;
+
+/**
+ * Executes the "due" command to list the deadlines due in a range of time.
+ * <p>
+ * The deadlines are read from the task list's deadline index, soonest first, and are numbered
+ * by their position in the list so they can be marked or deleted by that number.
+ * </p>
+ */
+public class DueExecutor implements CommandExecutor {
+
+    /** The earliest due time to include, or {@code null} for no lower bound. */
+    private final LocalDateTime from;
+
+    /** The due time to stop before. */
+    private final LocalDateTime to;
+
+    /**
+     * Constructs a new {@code DueExecutor} for the given range.
+     *
+     * @param from the earliest due time to include, or {@code null} for no lower bound
+     * @param to   the due time to stop before
+     */
+    public DueExecutor(LocalDateTime from, LocalDateTime to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Executes the due command by listing the deadlines due in the range.
+     *
+     * @param taskList the list of tasks to search in
+     * @param storage  the storage instance (not modified by this command)
+     * @param ui       the UI instance (not used by this command)
+     * @return a message listing the deadlines due, or saying there are none
+     * @throws RonaldoException if an unexpected error occurs during execution
+     */
+    @Override
+    public String execute(TaskList taskList, StorageBackend storage, Ui ui) throws RonaldoException {
+        int[] positions = taskList.findDue(from, to);
+        if (positions.length == 0) {
+            return "No deadlines are due in that time.";
+        }
+        StringBuilder message = new StringBuilder("Here are the deadlines due in that time:");
+        for (int position : positions) {
+            message.append('\n').append(position + 1).append(". ").append(taskList.getTask(position));
+        }
+        return message.toString();
+    }
+}
@@ -1,7 +1,8 @@
 package ronaldo.command;
 
 import ronaldo.exceptions.RonaldoException;
-import ronaldo.storage.Storage;
+import ronaldo.storage.StorageBackend;
+import ronaldo.task.DescriptionPool;
 import ronaldo.task.Event;
 import ronaldo.task.Priority;
 import ronaldo.task.TaskList;
@@ -11,9 +12,13 @@ import ronaldo.ui.Ui;
  * Executes the "event" command to add a new Event task to the task list.
  * <p>
  * This class creates an {@link Event} task with the given description, start time, and end time,
- * adds it to the {@link TaskList}, persists it to {@link Storage}, and displays
+ * adds it to the {@link TaskList}, persists it to {@link StorageBackend}, and displays
  * a confirmation message via {@link Ui}.
  * </p>
+ * <p>
+ * If the event's times are dates, the confirmation also warns about any other events it
+ * overlaps, found through the task list's event index.
+ * </p>
  */
 public class EventExecutor implements CommandExecutor {
 
@@ -36,7 +41,7 @@ public class EventExecutor implements CommandExecutor {
      * @param to          the end time of the event
      */
     public EventExecutor(String description, String from, String to, Priority priority) {
-        this.description = description;
+        this.description = DescriptionPool.intern(description);
         this.from = from;
         this.to = to;
         this.priority = priority;
@@ -45,7 +50,7 @@ public class EventExecutor implements CommandExecutor {
     /**
      * Executes the event command by creating and adding the task.
      * <p>
-     * Adds the new {@link Event} task to the {@link TaskList}, writes it to {@link Storage},
+     * Adds the new {@link Event} task to the {@link TaskList}, writes it to {@link StorageBackend},
      * and displays a confirmation message via {@link Ui}.
      * </p>
      *
@@ -56,16 +61,33 @@ public class EventExecutor implements CommandExecutor {
      * @throws RonaldoException if an error occurs during task creation or storage
      */
     @Override
-    public String execute(TaskList taskList, Storage storage, Ui ui) throws RonaldoException {
+    public String execute(TaskList taskList, StorageBackend storage, Ui ui) throws RonaldoException {
         Event event = new Event(description, from, to);
         event.setPriority(priority);
         taskList.addTask(event);
-        String writtenFormat = String.format("E | %s | %s | %s | %s - %s",
-                event.isDone(), priority, description, from, to);
+        String writtenFormat = String.format("%d | E | %s | %s | %s | %s - %s",
+                event.getId(), event.isDone(), priority, description, from, to);
         storage.writeTask(writtenFormat);
         //ui.showAddTask(event, taskList.size());
         String message = "Got it. I've added this task:\n  " + event
                 + String.format("\nNow you have %d tasks in the list.", taskList.size());
-        return message;
+        return message + describeConflicts(event, taskList);
+    }
+
+    /**
+     * Returns a warning listing the other events that overlap the given event,
+     * or an empty string if there are none or the event's times are not dates.
+     */
+    private static String describeConflicts(Event event, TaskList taskList) {
+        if (!event.isScheduled()) {
+            return "";
+        }
+        StringBuilder warning = new StringBuilder();
+        for (int position : taskList.findOverlapping(event.getStartDateTime(), event.getEndDateTime())) {
+            if (taskList.getTask(position).getId() != event.getId()) {
+                warning.append("\n ").append(position + 1).append(". ").append(taskList.getTask(position));
+            }
+        }
+        return warning.length() == 0 ? "" : "\nHeads up, it overlaps with:" + warning;
     }
 }
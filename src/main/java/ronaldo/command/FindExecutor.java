@@ -3,7 +3,7 @@ package ronaldo.command;
 import java.util.ArrayList;
 
 import ronaldo.exceptions.RonaldoException;
-import ronaldo.storage.Storage;
+import ronaldo.storage.StorageBackend;
 import ronaldo.task.Task;
 import ronaldo.task.TaskList;
 import ronaldo.ui.Ui;
@@ -12,22 +12,57 @@ import ronaldo.ui.Ui;
  * Executes the "find" command to search for tasks containing a specific keyword.
  * <p>
  * This class searches the {@link TaskList} for tasks whose descriptions
- * contain the provided keyword, displays the matching tasks via {@link Ui},
- * and returns a summary message.
+ * contain the provided keyword, followed by the completed tasks archived by the
+ * {@link StorageBackend}, and returns a summary message.
+ * </p>
+ * <p>
+ * A word search ({@code find /w <words>}) instead matches tasks containing every given word,
+ * answered from the task list's word index. A fuzzy search ({@code find ~<words>}) tolerates
+ * typos, listing the {@value #FUZZY_LIMIT} tasks whose words are closest to the given ones, best
+ * first. Word and fuzzy searches cover the task list only.
  * </p>
  */
 public class FindExecutor implements CommandExecutor {
 
+    /** The largest number of tasks listed by a fuzzy search. */
+    public static final int FUZZY_LIMIT = 10;
+
+    /**
+     * The ways a keyword can be matched against task descriptions.
+     */
+    public enum Mode {
+        /** The description contains the keyword. */
+        SUBSTRING,
+        /** The description contains every word of the keyword. */
+        WORDS,
+        /** The description contains words close to every word of the keyword. */
+        FUZZY
+    }
+
     /** The keyword to search for within task descriptions. */
     private String keyword;
 
+    /** How the keyword is matched. */
+    private final Mode mode;
+
     /**
      * Constructs a new {@code FindExecutor} with the specified keyword.
      *
      * @param kw the keyword to search for in the task list
      */
     public FindExecutor(String kw) {
+        this(kw, Mode.SUBSTRING);
+    }
+
+    /**
+     * Constructs a new {@code FindExecutor} for a substring, word or fuzzy search.
+     *
+     * @param kw   the keyword, or the words, to search for in the task list
+     * @param mode how the keyword is matched
+     */
+    public FindExecutor(String kw, Mode mode) {
         this.keyword = kw;
+        this.mode = mode;
     }
 
     /**
@@ -39,24 +74,61 @@ public class FindExecutor implements CommandExecutor {
      * </p>
      *
      * @param taskList the list of tasks to search in
-     * @param storage  the storage instance (not modified by this command)
+     * @param storage  the storage instance whose archive is also searched (not modified by this command)
      * @param ui       the UI instance for displaying matching tasks
      * @return a string message listing matching tasks or indicating none were found
      * @throws RonaldoException if an unexpected error occurs during execution
      */
     @Override
-    public String execute(TaskList taskList, Storage storage, Ui ui) throws RonaldoException {
-        ArrayList<Task> matchingTasks = taskList.findTasks(keyword);
+    public String execute(TaskList taskList, StorageBackend storage, Ui ui) throws RonaldoException {
+        if (mode == Mode.FUZZY) {
+            return findClosest(taskList);
+        }
+        ArrayList<Task> matchingTasks = mode == Mode.WORDS
+                ? taskList.findTasksByWords(keyword)
+                : taskList.findTasks(keyword);
         //ui.showMatchingTasks(matchingTasks);
 
-        if (matchingTasks.isEmpty()) {
+        // Skip archived copies of tasks still in the list, left behind if archiving was interrupted
+        ArrayList<Task> archivedTasks = mode == Mode.WORDS
+                ? new ArrayList<>()
+                : storage.findArchivedTasks(keyword);
+        archivedTasks.removeIf(task -> taskList.indexOf(task.getId()) >= 0);
+
+        if (matchingTasks.isEmpty() && archivedTasks.isEmpty()) {
             return "No matching tasks found in your list.";
         }
         StringBuilder tasksBuilder = new StringBuilder();
-        tasksBuilder.append("Here are the matching tasks in your list:\n");
-        for (int i = 0; i < matchingTasks.size(); i++) {
-            tasksBuilder.append(" ").append(i + 1).append(".").append(matchingTasks.get(i)).append("\n");
+        if (!matchingTasks.isEmpty()) {
+            tasksBuilder.append("Here are the matching tasks in your list:\n");
+            appendTasks(tasksBuilder, matchingTasks);
+        }
+        if (!archivedTasks.isEmpty()) {
+            tasksBuilder.append("Here are the matching completed tasks in your archive:\n");
+            appendTasks(tasksBuilder, archivedTasks);
         }
         return tasksBuilder.toString().trim();
     }
+
+    /**
+     * Lists the tasks closest to the keyword, numbered by their position in the list
+     * so they can be marked or deleted by that number.
+     */
+    private String findClosest(TaskList taskList) {
+        int[] positions = taskList.findTasksFuzzy(keyword, FUZZY_LIMIT);
+        if (positions.length == 0) {
+            return "No matching tasks found in your list.";
+        }
+        StringBuilder message = new StringBuilder("Here are the closest matches in your list:");
+        for (int position : positions) {
+            message.append('\n').append(position + 1).append(". ").append(taskList.getTask(position));
+        }
+        return message.toString();
+    }
+
+    private static void appendTasks(StringBuilder tasksBuilder, ArrayList<Task> tasks) {
+        for (int i = 0; i < tasks.size(); i++) {
+            tasksBuilder.append(" ").append(i + 1).append(".").append(tasks.get(i)).append("\n");
+        }
+    }
 }
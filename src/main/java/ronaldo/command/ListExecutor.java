@@ -1,32 +1,135 @@
 package ronaldo.command;
 
 import ronaldo.exceptions.RonaldoException;
-import ronaldo.storage.Storage;
+import ronaldo.storage.StorageBackend;
+import ronaldo.task.Priority;
 import ronaldo.task.TaskList;
 import ronaldo.ui.Ui;
 
 /**
- * Executes the "list" command to display all tasks in the task list.
+ * Executes the "list" command to display the tasks in the task list.
  * <p>
- * This class retrieves the full list of tasks from the {@link TaskList},
- * displays them via {@link Ui}, and returns a formatted message listing the tasks.
+ * Without options every task is listed. With {@code /page} and {@code /size} only one page of
+ * tasks is listed, and {@code /next} lists the page after the last one shown. Where a listing
+ * stopped is remembered in the {@link Ui} as the ID of the last task shown, so the next page
+ * starts at the right task even if tasks were added or deleted in between.
+ * </p>
+ * <p>
+ * With {@code /p <priority>}, {@code /done} or {@code /undone} only the matching tasks are
+ * listed, read from the list's priority and status buckets rather than by scanning every task.
  * </p>
  */
 public class ListExecutor implements CommandExecutor {
 
+    /** Number of tasks per page when no size has been given. */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    /** The page to list, starting from 1; 0 to continue from the last page shown, -1 to list everything. */
+    private final int page;
+
+    /** The number of tasks per page; 0 to use the size of the last page shown. */
+    private final int pageSize;
+
+    /** The priority to filter by, or {@code null} for any. */
+    private final Priority priority;
+
+    /** The status to filter by, or {@code null} for any. */
+    private final Boolean isDone;
+
     /**
-     * Executes the list command by showing all tasks in the task list.
+     * Creates a {@code ListExecutor} that lists every task.
+     */
+    public ListExecutor() {
+        this(-1, 0);
+    }
+
+    /**
+     * Creates a {@code ListExecutor} that lists the tasks with the given priority and status.
+     *
+     * @param priority the priority to match, or {@code null} for any.
+     * @param isDone   {@code true} for done tasks, {@code false} for tasks not done, or {@code null} for both.
+     */
+    public ListExecutor(Priority priority, Boolean isDone) {
+        this.page = -1;
+        this.pageSize = 0;
+        this.priority = priority;
+        this.isDone = isDone;
+    }
+
+    /**
+     * Creates a {@code ListExecutor} that lists one page of tasks.
+     *
+     * @param page     the page to list, starting from 1, or 0 for the page after the last one shown.
+     * @param pageSize the number of tasks per page, or 0 to keep the size of the last page shown.
+     */
+    public ListExecutor(int page, int pageSize) {
+        this.page = page;
+        this.pageSize = pageSize;
+        this.priority = null;
+        this.isDone = null;
+    }
+
+    /**
+     * Executes the list command by showing the requested tasks in the task list.
      *
      * @param taskList the list of tasks to display
      * @param storage  the storage instance (not modified by this command)
-     * @param ui       the UI instance for displaying the task list
-     * @return a string message containing all tasks in the list
-     * @throws RonaldoException if an unexpected error occurs during execution
+     * @param ui       the UI instance, which remembers where a paged listing stopped
+     * @return a string message containing the requested tasks
+     * @throws RonaldoException if the requested page is past the end of the list
      */
     @Override
-    public String execute(TaskList taskList, Storage storage, Ui ui) throws RonaldoException {
-        String tasks = taskList.listTasks();
-        //ui.showTaskList(tasks);
-        return "Here are the tasks in your list:\n" + tasks;
+    public String execute(TaskList taskList, StorageBackend storage, Ui ui) throws RonaldoException {
+        int size = taskList.size();
+        if (size == 0) {
+            return "Here are the tasks in your list:\nYour task list is empty!";
+        }
+        if (priority != null || isDone != null) {
+            return listMatching(taskList);
+        }
+        StringBuilder message = new StringBuilder("Here are the tasks in your list:\n");
+        if (page < 0) {
+            return taskList.appendTasks(message, 0, size).toString();
+        }
+
+        int perPage = pageSize > 0 ? pageSize
+                : ui.getListPageSize() > 0 ? ui.getListPageSize() : DEFAULT_PAGE_SIZE;
+        int from;
+        if (page == 0) {
+            from = taskList.indexAfter(ui.getListCursor());
+            if (from == size) {
+                return "There are no more tasks in your list.";
+            }
+        } else {
+            long first = (long) (page - 1) * perPage;
+            if (first >= size) {
+                long pages = (size + perPage - 1) / perPage;
+                throw new RonaldoException(String.format(
+                        "Page %d is past the end of your list, which has %d page%s of %d tasks.",
+                        page, pages, pages == 1 ? "" : "s", perPage));
+            }
+            from = (int) first;
+        }
+        int to = Math.min(size, from + perPage);
+        ui.setListCursor(taskList.getTask(to - 1).getId(), perPage);
+
+        taskList.appendTasks(message, from, to);
+        message.append(String.format("\n(Showing tasks %d-%d of %d.", from + 1, to, size));
+        if (to < size) {
+            message.append(" Type \"list /next\" for more.");
+        }
+        return message.append(')').toString();
+    }
+
+    private String listMatching(TaskList taskList) {
+        int[] positions = taskList.filterTasks(priority, isDone);
+        if (positions.length == 0) {
+            return "No matching tasks found in your list.";
+        }
+        StringBuilder message = new StringBuilder("Here are the matching tasks in your list:");
+        for (int position : positions) {
+            message.append('\n').append(position + 1).append(". ").append(taskList.getTask(position));
+        }
+        return message.toString();
     }
 }
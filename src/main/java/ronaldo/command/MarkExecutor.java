@@ -2,7 +2,7 @@ package ronaldo.command;
 
 import ronaldo.exceptions.InvalidTaskNumberException;
 import ronaldo.exceptions.RonaldoException;
-import ronaldo.storage.Storage;
+import ronaldo.storage.StorageBackend;
 import ronaldo.task.TaskList;
 import ronaldo.ui.Ui;
 
@@ -46,7 +46,7 @@ public class MarkExecutor implements CommandExecutor {
      * @throws RonaldoException if the task index is invalid
      */
     @Override
-    public String execute(TaskList taskList, Storage storage, Ui ui) throws RonaldoException {
+    public String execute(TaskList taskList, StorageBackend storage, Ui ui) throws RonaldoException {
         // Validate the index, Guard
         if (index < 0 || index >= taskList.size()) {
             throw new InvalidTaskNumberException();
@@ -54,12 +54,12 @@ public class MarkExecutor implements CommandExecutor {
 
         if (isMark) {
             taskList.markTask(index);
-            storage.markTask(index);
+            storage.markTask(taskList.getTask(index).getId());
             //ui.showMarkedTask(taskList.getTask(index));
             return "Nice! I've marked this task as done:\n " + taskList.getTask(index);
         } else {
             taskList.unmarkTask(index);
-            storage.unmarkTask(index);
+            storage.unmarkTask(taskList.getTask(index).getId());
             //ui.showUnmarkedTask(taskList.getTask(index));
             return "OK, I've marked this task as not done yet:\n" + taskList.getTask(index);
         }
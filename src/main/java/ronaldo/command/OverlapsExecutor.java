@@ -0,0 +1,57 @@
+package ronaldo.command;
+
+import java.time.LocalDateTime;
+
+import ronaldo.exceptions.RonaldoException;
+import ronaldo.storage.StorageBackend;
+import ronaldo.task.TaskList;
+import ronaldo.ui.Ui;
+
+/**
+ * Executes the "overlaps" command to list the events taking place during a span of time.
+ * <p>
+ * The events are read from the task list's event index, earliest first, and are numbered
+ * by their position in the list. Events whose times were not given as dates are not included.
+ * </p>
+ */
+public class OverlapsExecutor implements CommandExecutor {
+
+    /** The start of the span. */
+    private final LocalDateTime from;
+
+    /** The end of the span, which is not included. */
+    private final LocalDateTime to;
+
+    /**
+     * Constructs a new {@code OverlapsExecutor} for the given span.
+     *
+     * @param from the start of the span
+     * @param to   the end of the span, which is not included
+     */
+    public OverlapsExecutor(LocalDateTime from, LocalDateTime to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Executes the overlaps command by listing the events overlapping the span.
+     *
+     * @param taskList the list of tasks to search in
+     * @param storage  the storage instance (not modified by this command)
+     * @param ui       the UI instance (not used by this command)
+     * @return a message listing the overlapping events, or saying there are none
+     * @throws RonaldoException if an unexpected error occurs during execution
+     */
+    @Override
+    public String execute(TaskList taskList, StorageBackend storage, Ui ui) throws RonaldoException {
+        int[] positions = taskList.findOverlapping(from, to);
+        if (positions.length == 0) {
+            return "No events are scheduled during that time.";
+        }
+        StringBuilder message = new StringBuilder("Here are the events during that time:");
+        for (int position : positions) {
+            message.append('\n').append(position + 1).append(". ").append(taskList.getTask(position));
+        }
+        return message.toString();
+    }
+}
@@ -0,0 +1,29 @@
+package ronaldo.command;
+
+import ronaldo.exceptions.RonaldoException;
+import ronaldo.storage.StorageBackend;
+import ronaldo.task.DescriptionPool;
+import ronaldo.task.TaskList;
+import ronaldo.ui.Ui;
+
+/**
+ * Executes the "stats" command to show the size of the task list, the memory use of the
+ * shared {@link DescriptionPool}, and how much the tasks share their descriptions.
+ */
+public class StatsExecutor implements CommandExecutor {
+
+    /**
+     * Executes the stats command.
+     *
+     * @param taskList the list of tasks to count and whose descriptions are compared
+     * @param storage  the storage instance (not modified by this command)
+     * @param ui       the UI instance (not used by this command)
+     * @return a message with the number of tasks and the description pool's usage
+     * @throws RonaldoException if an unexpected error occurs during execution
+     */
+    @Override
+    public String execute(TaskList taskList, StorageBackend storage, Ui ui) throws RonaldoException {
+        return String.format("You have %d tasks in the list.\n", taskList.size())
+                + DescriptionPool.describeUsage(taskList);
+    }
+}
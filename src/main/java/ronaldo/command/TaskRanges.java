@@ -0,0 +1,70 @@
+package ronaldo.command;
+
+import java.util.List;
+
+import ronaldo.exceptions.InvalidTaskNumberException;
+import ronaldo.task.Task;
+import ronaldo.task.TaskList;
+
+/**
+ * Helpers for the commands that act on several tasks at once, picked by ranges of task numbers
+ * such as {@code 3,7,9-20}.
+ * <p>
+ * Ranges are passed around as a flat array of pairs holding the zero-based positions of the
+ * first and last task of each range. The ranges are in increasing order and do not overlap, so
+ * the positions they cover come out in increasing order without repeats.
+ * </p>
+ */
+final class TaskRanges {
+
+    private TaskRanges() {
+    }
+
+    /**
+     * Returns every position covered by the given ranges.
+     *
+     * @param ranges the ranges, as pairs of first and last positions.
+     * @param size   the number of tasks in the list.
+     * @return the positions, in increasing order.
+     * @throws InvalidTaskNumberException if a range reaches past the end of the list.
+     */
+    static int[] toIndexes(int[] ranges, int size) throws InvalidTaskNumberException {
+        if (ranges.length == 0 || ranges[0] < 0 || ranges[ranges.length - 1] >= size) {
+            throw new InvalidTaskNumberException();
+        }
+        int count = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            count += ranges[i + 1] - ranges[i] + 1;
+        }
+        int[] indexes = new int[count];
+        int next = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            for (int index = ranges[i]; index <= ranges[i + 1]; index++) {
+                indexes[next++] = index;
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Returns the IDs of the tasks at the given positions.
+     */
+    static long[] idsAt(TaskList taskList, int[] indexes) {
+        long[] ids = new long[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            ids[i] = taskList.getTask(indexes[i]).getId();
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the IDs of the given tasks.
+     */
+    static long[] idsOf(List<Task> tasks) {
+        long[] ids = new long[tasks.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = tasks.get(i).getId();
+        }
+        return ids;
+    }
+}
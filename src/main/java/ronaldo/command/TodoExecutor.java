@@ -1,7 +1,8 @@
 package ronaldo.command;
 
 import ronaldo.exceptions.RonaldoException;
-import ronaldo.storage.Storage;
+import ronaldo.storage.StorageBackend;
+import ronaldo.task.DescriptionPool;
 import ronaldo.task.Priority;
 import ronaldo.task.TaskList;
 import ronaldo.task.ToDo;
@@ -11,7 +12,7 @@ import ronaldo.ui.Ui;
  * Executes the "todo" command to add a new ToDo task to the task list.
  * <p>
  * This class creates a {@link ToDo} task with the given description,
- * adds it to the {@link TaskList}, persists it to {@link Storage},
+ * adds it to the {@link TaskList}, persists it to {@link StorageBackend},
  * and displays a confirmation message via {@link Ui}.
  * </p>
  */
@@ -28,14 +29,14 @@ public class TodoExecutor implements CommandExecutor {
      * @param description the description of the ToDo task
      */
     public TodoExecutor(String description, Priority priority) {
-        this.description = description;
+        this.description = DescriptionPool.intern(description);
         this.priority = priority;
     }
 
     /**
      * Executes the todo command by creating and adding the task.
      * <p>
-     * Adds the new {@link ToDo} task to the {@link TaskList}, writes it to {@link Storage},
+     * Adds the new {@link ToDo} task to the {@link TaskList}, writes it to {@link StorageBackend},
      * and displays a confirmation message via {@link Ui}.
      * </p>
      *
@@ -46,11 +47,12 @@ public class TodoExecutor implements CommandExecutor {
      * @throws RonaldoException if an error occurs during task creation or storage
      */
     @Override
-    public String execute(TaskList taskList, Storage storage, Ui ui) throws RonaldoException {
+    public String execute(TaskList taskList, StorageBackend storage, Ui ui) throws RonaldoException {
         ToDo toDo = new ToDo(description);
         toDo.setPriority(priority);
         taskList.addTask(toDo);
-        String writtenFormat = String.format("T | %s | %s | %s", toDo.isDone(), toDo.getPriority(), description);
+        String writtenFormat = String.format("%d | T | %s | %s | %s",
+                toDo.getId(), toDo.isDone(), toDo.getPriority(), description);
         storage.writeTask(writtenFormat);
         //ui.showAddTask(toDo, taskList.size());
         String message = "Got it. I've added this task:\n  " + toDo
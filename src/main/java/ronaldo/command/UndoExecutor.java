@@ -0,0 +1,95 @@
+package ronaldo.command;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import ronaldo.exceptions.RonaldoException;
+import ronaldo.storage.StorageBackend;
+import ronaldo.storage.StorageConfig;
+import ronaldo.task.Task;
+import ronaldo.task.TaskList;
+import ronaldo.task.VersionedTaskList;
+import ronaldo.ui.Ui;
+
+/**
+ * Executes the "undo" or "redo" command on the task list.
+ * <p>
+ * Undoing goes back to the version of the {@link VersionedTaskList} before the last change, and
+ * redoing goes forward again to the version last undone. Only the tasks that differ between the
+ * two versions are stored: tasks taken out are deleted, tasks put back are restored under their
+ * IDs, and tasks whose status changed are marked or unmarked. If storing fails, the list goes
+ * back to the version it was at, so it does not show a change that was not saved.
+ * </p>
+ */
+public class UndoExecutor implements CommandExecutor {
+
+    /** {@code true} if undoing the last change, {@code false} if redoing it. */
+    private final boolean isUndo;
+
+    /**
+     * Constructs a new {@code UndoExecutor}.
+     *
+     * @param isUndo {@code true} to undo the last change, {@code false} to redo the last undone one
+     */
+    public UndoExecutor(boolean isUndo) {
+        this.isUndo = isUndo;
+    }
+
+    /**
+     * Executes the undo or redo operation on the task list and stores the tasks it changed.
+     *
+     * @param taskList the list of tasks to operate on
+     * @param storage  the storage instance to persist changes
+     * @param ui       the UI instance to display messages
+     * @return a message confirming the change and showing the current task count
+     * @throws RonaldoException if the task list does not keep versions, there is nothing to
+     *                          undo or redo, or the tasks cannot be stored
+     */
+    @Override
+    public String execute(TaskList taskList, StorageBackend storage, Ui ui) throws RonaldoException {
+        if (!(taskList instanceof VersionedTaskList)) {
+            throw new RonaldoException("Undo and redo only work with the versioned task list. Set "
+                    + StorageConfig.LIST_PROPERTY + "=versioned in " + StorageConfig.CONFIG_FILE
+                    + ", or leave it unset, to use them.");
+        }
+        VersionedTaskList versions = (VersionedTaskList) taskList;
+        VersionedTaskList.Delta delta = isUndo ? versions.undo() : versions.redo();
+        if (delta == null) {
+            throw new RonaldoException(isUndo ? "There is nothing to undo." : "There is nothing to redo.");
+        }
+        try {
+            store(delta, storage);
+        } catch (RonaldoException e) {
+            if (isUndo) {
+                versions.redo();
+            } else {
+                versions.undo();
+            }
+            throw e;
+        }
+
+        String message = isUndo ? "OK, I've undone your last change." : "OK, I've redone your last undone change.";
+        return message + String.format("\nNow you have %d tasks in the list.", taskList.size());
+    }
+
+    private static void store(VersionedTaskList.Delta delta, StorageBackend storage) throws RonaldoException {
+        if (!delta.removed.isEmpty()) {
+            storage.deleteTasks(idsOf(delta.removed));
+        }
+        if (!delta.added.isEmpty()) {
+            storage.restoreTasks(delta.added);
+        }
+        List<Task> done = delta.changed.stream().filter(Task::isDone).collect(Collectors.toList());
+        List<Task> notDone = delta.changed.stream().filter(task -> !task.isDone()).collect(Collectors.toList());
+        if (!done.isEmpty()) {
+            storage.markTasks(idsOf(done));
+        }
+        if (!notDone.isEmpty()) {
+            storage.unmarkTasks(idsOf(notDone));
+        }
+    }
+
+    private static long[] idsOf(List<Task> tasks) {
+        return tasks.stream().mapToLong(Task::getId).toArray();
+    }
+}
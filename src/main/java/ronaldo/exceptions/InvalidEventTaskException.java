@@ -16,4 +16,13 @@ public class InvalidEventTaskException extends RonaldoException {
     public InvalidEventTaskException() {
         super("Input a valid Event task - event <desc> /from <time> /to <time> /p <priority>");
     }
+
+    /**
+     * Constructs a new {@code InvalidEventTaskException} with the given error message.
+     *
+     * @param message the error message describing what is wrong with the event.
+     */
+    public InvalidEventTaskException(String message) {
+        super(message);
+    }
 }
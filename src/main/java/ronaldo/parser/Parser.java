@@ -1,14 +1,28 @@
 package ronaldo.parser;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+import ronaldo.command.BulkDeleteExecutor;
+import ronaldo.command.BulkMarkExecutor;
 import ronaldo.command.ByeExecutor;
+import ronaldo.command.Command;
 import ronaldo.command.CommandExecutor;
 import ronaldo.command.DeadlineExecutor;
 import ronaldo.command.DeleteExecutor;
+import ronaldo.command.DueExecutor;
 import ronaldo.command.EventExecutor;
 import ronaldo.command.FindExecutor;
 import ronaldo.command.ListExecutor;
 import ronaldo.command.MarkExecutor;
+import ronaldo.command.OverlapsExecutor;
+import ronaldo.command.StatsExecutor;
 import ronaldo.command.TodoExecutor;
+import ronaldo.command.UndoExecutor;
 import ronaldo.exceptions.EmptyStringException;
 import ronaldo.exceptions.InvalidDateFormatException;
 import ronaldo.exceptions.InvalidDeadlineTaskException;
@@ -17,6 +31,7 @@ import ronaldo.exceptions.InvalidInputException;
 import ronaldo.exceptions.InvalidTaskNumberException;
 import ronaldo.exceptions.InvalidTodoTaskException;
 import ronaldo.exceptions.RonaldoException;
+import ronaldo.task.DateTimeService;
 import ronaldo.task.Priority;
 
 /**
@@ -26,9 +41,28 @@ import ronaldo.task.Priority;
  * It also provides utility methods for parsing specific command types such as
  * {@code deadline}, {@code event}, {@code todo}, etc., and validates their formats.
  * </p>
+ * <p>
+ * Input is read in one pass by moving positions through it with {@link Tokenizer}: the first
+ * word picks the {@link Command}, and the fields of the command are found between its flags
+ * without regular expressions or splitting the input into arrays. Only the fields handed on to a
+ * command are copied out as strings.
+ * </p>
  */
 public class Parser {
 
+    private static final String LIST_USAGE =
+            "Please use list, list /page <number> /size <number>, list /next,"
+            + " or list with /p <priority>, /done or /undone.";
+
+    private static final String DUE_USAGE =
+            "Please use due /before <yyyy-MM-dd [HHmm]> or due /between <yyyy-MM-dd [HHmm]> <yyyy-MM-dd [HHmm]>.";
+
+    private static final String OVERLAPS_USAGE =
+            "Please use overlaps <yyyy-MM-dd [HHmm]> <yyyy-MM-dd [HHmm]>.";
+
+    /** Format of the date of a bound in the due and overlaps commands. */
+    private static final DateTimeFormatter BOUND_DATE_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd");
+
     /**
      * Parses a raw user input string into a {@link CommandExecutor}.
      *
@@ -37,134 +71,464 @@ public class Parser {
      * @throws RonaldoException if the input is invalid or improperly formatted
      */
     public static CommandExecutor parse(String input) throws RonaldoException {
-        if (input.equals("bye")) {
-            return new ByeExecutor();
-        } else if (input.equals("list")) {
-            return new ListExecutor();
-        } else if (input.startsWith("mark ")) {
-            return parseMark(input, true);
-        } else if (input.startsWith("unmark ")) {
-            return parseMark(input, false);
-        } else if (input.startsWith("deadline ")) {
-            return parseDeadline(input);
-        } else if (input.startsWith("event ")) {
-            return parseEvent(input);
-        } else if (input.startsWith("todo ")) {
-            return parseTodo(input);
-        } else if (input.startsWith("delete ")) {
-            return parseDelete(input);
-        } else if (input.startsWith("find ")) {
-            return parseFind(input);
-        } else {
+        int wordEnd = input.indexOf(' ');
+        if (wordEnd < 0) {
+            switch (Command.fromKeyword(input, input.length())) {
+            case BYE:
+                return new ByeExecutor();
+            case LIST:
+                return new ListExecutor();
+            case STATS:
+                return new StatsExecutor();
+            case UNDO:
+                return new UndoExecutor(true);
+            case REDO:
+                return new UndoExecutor(false);
+            default:
+                throw new InvalidInputException();
+            }
+        }
+
+        int args = wordEnd + 1;
+        switch (Command.fromKeyword(input, wordEnd)) {
+        case LIST:
+            return parseList(input, args);
+        case MARK:
+            return parseMark(input, args, true);
+        case UNMARK:
+            return parseMark(input, args, false);
+        case DEADLINE:
+            return parseDeadline(input, args);
+        case EVENT:
+            return parseEvent(input, args);
+        case TODO:
+            return parseTodo(input, args);
+        case DELETE:
+            return parseDelete(input, args);
+        case FIND:
+            return parseFind(input, args);
+        case DUE:
+            return parseDue(input, args);
+        case OVERLAPS:
+            return parseOverlaps(input, args);
+        default:
             throw new InvalidInputException();
         }
     }
 
     /**
-     * Parses a mark or unmark command.
+     * Parses a list command with options. Paging options are {@code /page <number>} and
+     * {@code /size <number>}, which pick one page of the list, and {@code /next}, which continues
+     * from the last page shown. Filters are {@code /p <priority>}, {@code /done} and {@code /undone},
+     * which may be combined with each other but not with paging.
+     *
+     * @param input the raw user input
+     * @param args  the position of the options in {@code input}
+     * @return a {@link ListExecutor} for the requested page or filter
+     * @throws RonaldoException if an option is unknown or repeated, a number is not positive,
+     *                          or a priority is invalid
+     */
+    private static CommandExecutor parseList(String input, int args) throws RonaldoException {
+        int start = Tokenizer.skipTrimmed(input, args, input.length());
+        int end = Tokenizer.trimEnd(input, start, input.length());
+        if (start == end) {
+            throw new RonaldoException(LIST_USAGE);
+        }
+        int page = -1;
+        int size = 0;
+        Priority priority = null;
+        Boolean isDone = null;
+        int i = start;
+        while (i < end) {
+            // Options are separated by runs of whitespace
+            int wordEnd = Tokenizer.nextSeparator(input, i, end);
+            int next = Tokenizer.skipSeparators(input, wordEnd, end);
+            if (Tokenizer.isWord(input, i, wordEnd, "/next")) {
+                if (page != -1) {
+                    throw new RonaldoException(LIST_USAGE);
+                }
+                page = 0;
+            } else if (Tokenizer.isWord(input, i, wordEnd, "/done")
+                    || Tokenizer.isWord(input, i, wordEnd, "/undone")) {
+                if (isDone != null) {
+                    throw new RonaldoException(LIST_USAGE);
+                }
+                isDone = wordEnd - i == "/done".length();
+            } else {
+                // The other options take the next word as their value
+                if (next == end) {
+                    throw new RonaldoException(LIST_USAGE);
+                }
+                int valueEnd = Tokenizer.nextSeparator(input, next, end);
+                String value = input.substring(next, valueEnd);
+                if (Tokenizer.isWord(input, i, wordEnd, "/page") && page == -1) {
+                    page = parsePositive(value);
+                } else if (Tokenizer.isWord(input, i, wordEnd, "/size") && size == 0) {
+                    size = parsePositive(value);
+                } else if (Tokenizer.isWord(input, i, wordEnd, "/p") && priority == null) {
+                    priority = parsePriority(value);
+                } else {
+                    throw new RonaldoException(LIST_USAGE);
+                }
+                next = Tokenizer.skipSeparators(input, valueEnd, end);
+            }
+            i = next;
+        }
+
+        boolean isFiltered = priority != null || isDone != null;
+        if (isFiltered && (page != -1 || size != 0)) {
+            throw new RonaldoException(LIST_USAGE);
+        }
+        if (isFiltered) {
+            return new ListExecutor(priority, isDone);
+        }
+        // "list /size 50" on its own shows the first page
+        return new ListExecutor(page == -1 ? 1 : page, size);
+    }
+
+    private static Priority parsePriority(String priorityStr) throws RonaldoException {
+        try {
+            return Priority.fromString(priorityStr);
+        } catch (IllegalArgumentException e) {
+            throw new RonaldoException("Invalid priority: " + priorityStr
+                    + ". Please use LOW/MEDIUM/HIGH or L/M/H.");
+        }
+    }
+
+    private static int parsePositive(String number) throws RonaldoException {
+        try {
+            int value = Integer.parseInt(number);
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new RonaldoException(LIST_USAGE);
+    }
+
+    /**
+     * Parses a due command. {@code /before <date>} asks for the deadlines due before the given date,
+     * and {@code /between <a> <b>} for those due from {@code a} up to and including {@code b}.
+     * Each date may be followed by a time in {@code HHmm}; a date on its own means the start of
+     * that day, or the whole day for the end of a {@code /between} range.
+     *
+     * @param input the raw user input
+     * @param args  the position of the range in {@code input}
+     * @return a {@link DueExecutor} for the requested range
+     * @throws RonaldoException if the format is invalid, a date is not a real date,
+     *                          or the range ends before it starts
+     */
+    private static CommandExecutor parseDue(String input, int args) throws RonaldoException {
+        int start = Tokenizer.skipTrimmed(input, args, input.length());
+        int end = Tokenizer.trimEnd(input, start, input.length());
+        if (input.startsWith("/before ", start)
+                && Tokenizer.isTimeBound(input, start + "/before ".length(), end)) {
+            return new DueExecutor(null, parseTimeBound(input, start + "/before ".length(), end, false));
+        }
+        int fromStart = start + "/between ".length();
+        int separator = input.startsWith("/between ", start)
+                ? Tokenizer.timeSpanSeparator(input, fromStart, end)
+                : -1;
+        if (separator < 0) {
+            throw new RonaldoException(DUE_USAGE);
+        }
+        LocalDateTime from = parseTimeBound(input, fromStart, separator, false);
+        LocalDateTime to = parseTimeBound(input, separator + 1, end, true);
+        if (hasTime(separator + 1, end)) {
+            // A deadline due at the very minute the range ends is still in it
+            to = to.plusMinutes(1);
+        }
+        if (!from.isBefore(to)) {
+            throw new RonaldoException("The range of a due command must start before it ends.");
+        }
+        return new DueExecutor(from, to);
+    }
+
+    /**
+     * Parses an overlaps command, which asks for the events overlapping the span between two dates.
+     * Each date may be followed by a time in {@code HHmm}; a date on its own means the start of
+     * that day, or the end of that day for the end of the span.
+     *
+     * @param input the raw user input
+     * @param args  the position of the span in {@code input}
+     * @return an {@link OverlapsExecutor} for the requested span
+     * @throws RonaldoException if the format is invalid, a date is not a real date,
+     *                          or the span ends before it starts
+     */
+    private static CommandExecutor parseOverlaps(String input, int args) throws RonaldoException {
+        int start = Tokenizer.skipTrimmed(input, args, input.length());
+        int end = Tokenizer.trimEnd(input, start, input.length());
+        int separator = Tokenizer.timeSpanSeparator(input, start, end);
+        if (separator < 0) {
+            throw new RonaldoException(OVERLAPS_USAGE);
+        }
+        LocalDateTime from = parseTimeBound(input, start, separator, false);
+        LocalDateTime to = parseTimeBound(input, separator + 1, end, true);
+        if (!from.isBefore(to)) {
+            throw new RonaldoException("The span of an overlaps command must start before it ends.");
+        }
+        return new OverlapsExecutor(from, to);
+    }
+
+    /**
+     * Returns the time one end of a range stands for, given the position of a date in the input
+     * that may be followed by a time. A date with no time is the start of that day, or for the
+     * end of a range the start of the next day, so that the whole day is included.
+     */
+    private static LocalDateTime parseTimeBound(String input, int from, int to, boolean isEnd)
+            throws RonaldoException {
+        try {
+            int dateEnd = from + "yyyy-MM-dd".length();
+            LocalDate day = LocalDate.parse(input.substring(from, dateEnd), BOUND_DATE_FORMAT);
+            if (!hasTime(from, to)) {
+                return isEnd ? day.plusDays(1).atStartOfDay() : day.atStartOfDay();
+            }
+            return day.atTime(LocalTime.parse(input.substring(dateEnd + 1, to), DateTimeService.TIME_FORMAT));
+        } catch (DateTimeParseException e) {
+            throw new InvalidDateFormatException();
+        }
+    }
+
+    /**
+     * Returns whether the bound between two positions has a time after its date.
+     */
+    private static boolean hasTime(int from, int to) {
+        return to - from > "yyyy-MM-dd".length();
+    }
+
+    /**
+     * Parses a mark or unmark command, with a task number or with ranges of task numbers
+     * such as {@code 3,7,9-20}.
      *
      * @param input  the raw user input
+     * @param args   the position of the task number in {@code input}
      * @param isMark {@code true} if it is a mark command, {@code false} if unmark
-     * @return a {@link MarkExecutor} for the specified task index
+     * @return a {@link MarkExecutor} for the specified task index,
+     *         or a {@link BulkMarkExecutor} for the specified ranges
      * @throws RonaldoException if the task number is missing or invalid
      */
-    private static CommandExecutor parseMark(String input, boolean isMark) throws RonaldoException {
-        String[] parts = input.split(" ");
-        if (parts.length < 2) {
+    private static CommandExecutor parseMark(String input, int args, boolean isMark) throws RonaldoException {
+        if (isTaskRanges(input, args)) {
+            return new BulkMarkExecutor(parseTaskRanges(input, args), isMark);
+        }
+        return new MarkExecutor(parseTaskNumber(input, args), isMark);
+    }
+
+    /**
+     * Returns whether the word at a position in the input, which ends at the next space,
+     * lists several task numbers: that is, whether it holds a comma, or a dash after its first character.
+     */
+    private static boolean isTaskRanges(String input, int args) {
+        int end = Tokenizer.nextSpace(input, args, input.length());
+        int comma = input.indexOf(',', args);
+        int dash = input.indexOf('-', args + 1);
+        return (comma >= 0 && comma < end) || (dash >= 0 && dash < end);
+    }
+
+    /**
+     * Returns the ranges of tasks numbered by the word at a position in the input, which ends at
+     * the next space. The word is a comma-separated list of task numbers and ranges such as
+     * {@code 9-20}, where a range may be written either way round. The ranges are returned as
+     * pairs of zero-based first and last positions, sorted, with overlapping and adjacent ranges merged.
+     *
+     * @throws RonaldoException if a task number is missing, not a number or not positive
+     */
+    private static int[] parseTaskRanges(String input, int args) throws RonaldoException {
+        int end = Tokenizer.nextSpace(input, args, input.length());
+        // Each range is packed into a long, first position in the high half, so they sort by first position
+        long[] ranges = new long[4];
+        int count = 0;
+        for (int from = args; from <= end; ) {
+            int partEnd = input.indexOf(',', from);
+            if (partEnd < 0 || partEnd > end) {
+                partEnd = end;
+            }
+            int dash = input.indexOf('-', from + 1);
+            int first;
+            int last;
+            if (dash >= 0 && dash < partEnd) {
+                first = parseTaskIndex(input, from, dash);
+                last = parseTaskIndex(input, dash + 1, partEnd);
+            } else {
+                first = parseTaskIndex(input, from, partEnd);
+                last = first;
+            }
+            if (count == ranges.length) {
+                ranges = Arrays.copyOf(ranges, count * 2);
+            }
+            ranges[count++] = ((long) Math.min(first, last) << 32) | Math.max(first, last);
+            from = partEnd + 1;
+        }
+
+        Arrays.sort(ranges, 0, count);
+        int[] merged = new int[count * 2];
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            int first = (int) (ranges[i] >>> 32);
+            int last = (int) ranges[i];
+            if (length > 0 && first <= merged[length - 1] + 1) {
+                merged[length - 1] = Math.max(merged[length - 1], last);
+            } else {
+                merged[length++] = first;
+                merged[length++] = last;
+            }
+        }
+        return Arrays.copyOf(merged, length);
+    }
+
+    /**
+     * Returns the zero-based index of the task numbered by the characters between two positions.
+     *
+     * @throws RonaldoException if the characters are not a positive number
+     */
+    private static int parseTaskIndex(String input, int from, int to) throws RonaldoException {
+        try {
+            int number = Integer.parseInt(input.substring(from, to));
+            if (number > 0) {
+                return number - 1;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new InvalidTaskNumberException();
+    }
+
+    /**
+     * Returns the zero-based index of the task numbered by the word at a position in the input,
+     * which ends at the next space.
+     *
+     * @throws RonaldoException if there is nothing but spaces after the position
+     * @throws NumberFormatException if the word is not a number
+     */
+    private static int parseTaskNumber(String input, int args) throws RonaldoException {
+        if (Tokenizer.isAllSpaces(input, args, input.length())) {
             throw new InvalidTaskNumberException();
         }
-        int number = Integer.parseInt(parts[1]) - 1;
-        return new MarkExecutor(number, isMark);
+        return Integer.parseInt(input.substring(args, Tokenizer.nextSpace(input, args, input.length()))) - 1;
     }
 
     /**
      * Parses a deadline command with a description and due date.
      *
      * @param input the raw user input
+     * @param args  the position of the description in {@code input}
      * @return a {@link DeadlineExecutor} containing the parsed description and due date
      * @throws RonaldoException if the format is invalid, description is empty,
      *                          or date format does not match {@code yyyy-MM-dd HHmm}
      */
-    private static CommandExecutor parseDeadline(String input) throws RonaldoException {
-        // Split description and "/by ..." part
-        String[] parts = input.split(" /by ", 2);
-        if (parts.length != 2) {
+    private static CommandExecutor parseDeadline(String input, int args) throws RonaldoException {
+        int byFlag = input.indexOf(" /by ", args - 1);
+        if (byFlag < 0) {
             throw new InvalidDeadlineTaskException();
         }
 
-        String description = parts[0].replaceFirst("deadline\\s+", "").trim();
+        // "deadline /by ..." has always kept the command word as its description
+        String description = byFlag < args ? input.substring(0, byFlag) : Tokenizer.trimmed(input, args, byFlag);
         if (description.isBlank()) {
             throw new EmptyStringException();
         }
-        // AI-assisted (ChatGPT):
-        // - Used an example command ("deadline <desc> /by <yyyy-MM-dd HHmm> /p <priority>")
-        //   and helped design the parsing strategy.
-        // - Suggested splitting first by " /by " (to separate description & deadline),
-        //   then by " /p " (to capture both deadline date and priority).
-        // - This avoided deeply nested string handling and made the parsing clear.
 
-        // Now split "/by" part into deadline and priority
-        String[] byAndPriority = parts[1].split(" /p ", 2);
-        if (byAndPriority.length != 2) {
+        int byStart = byFlag + " /by ".length();
+        int priorityFlag = input.indexOf(" /p ", byStart);
+        if (priorityFlag < 0) {
             throw new InvalidDeadlineTaskException();
         }
 
-        String by = byAndPriority[0].trim();
+        String by = Tokenizer.trimmed(input, byStart, priorityFlag);
         if (by.isBlank()) {
             throw new EmptyStringException();
         }
 
-        String priorityStr = byAndPriority[1].trim();
+        String priorityStr = Tokenizer.trimmed(input, priorityFlag + " /p ".length(), input.length());
         if (priorityStr.isBlank()) {
             throw new InvalidTodoTaskException();
         }
+        Priority priority = parsePriority(priorityStr);
 
-        // Convert to Priority (handles LOW/MEDIUM/HIGH and L/M/H)
-        Priority priority;
+        // Parse the date once here and hand it on, so the deadline need not parse it again
+        LocalDateTime due;
         try {
-            priority = Priority.fromString(priorityStr);
-        } catch (IllegalArgumentException e) {
-            throw new RonaldoException("Invalid priority: " + priorityStr
-                    + ". Please use LOW/MEDIUM/HIGH or L/M/H.");
+            due = DateTimeService.parseDue(by);
+        } catch (DateTimeParseException e) {
+            throw new InvalidDateFormatException();
         }
-
-        // Validate date format
-        try {
-            java.time.format.DateTimeFormatter formatter =
-                    java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
-            java.time.LocalDateTime.parse(by, formatter);
-        } catch (java.time.format.DateTimeParseException e) {
+        if (!DateTimeService.isExactDue(by)) {
             throw new InvalidDateFormatException();
         }
 
-        return new DeadlineExecutor(description, priority, by);
+        return new DeadlineExecutor(description, priority, by, due);
     }
 
 
     /**
      * Parses an event command with a description, start time, and end time.
+     * <p>
+     * The fields are separated by the flags {@code /from}, {@code /to} and {@code /p}, wherever they
+     * appear, and are taken in the order they come: the description, the start, the end and the
+     * priority. Trailing flags with nothing after them are ignored.
+     * </p>
      *
      * @param input the raw user input
+     * @param args  the position of the description in {@code input}
      * @return an {@link EventExecutor} containing the parsed event details
-     * @throws RonaldoException if the format is invalid or fields are empty
+     * @throws RonaldoException if the format is invalid, fields are empty,
+     *                          or the event ends before it starts
      */
-    private static CommandExecutor parseEvent(String input) throws RonaldoException {
-        // First split description, from, to, and priority
-        String[] parts = input.split("/from|/to|/p");
-        if (parts.length != 4) {
+    private static CommandExecutor parseEvent(String input, int args) throws RonaldoException {
+        int descriptionEnd = -1;
+        int fromStart = -1;
+        int fromEnd = -1;
+        int toStart = -1;
+        int toEnd = -1;
+        int priorityStart = -1;
+        int priorityEnd = -1;
+        boolean hasExtraField = false;
+
+        // Walk the fields between the flags, remembering where the first four are
+        int fieldCount = 0;
+        int fieldStart = args;
+        while (true) {
+            int flag = Tokenizer.nextEventFlag(input, fieldStart);
+            int fieldEnd = flag < 0 ? input.length() : flag;
+            switch (fieldCount) {
+            case 0:
+                descriptionEnd = fieldEnd;
+                break;
+            case 1:
+                fromStart = fieldStart;
+                fromEnd = fieldEnd;
+                break;
+            case 2:
+                toStart = fieldStart;
+                toEnd = fieldEnd;
+                break;
+            case 3:
+                priorityStart = fieldStart;
+                priorityEnd = fieldEnd;
+                break;
+            default:
+                hasExtraField |= fieldEnd > fieldStart;
+                break;
+            }
+            fieldCount++;
+            if (flag < 0) {
+                break;
+            }
+            fieldStart = flag + Tokenizer.eventFlagLength(input, flag);
+        }
+        if (fieldCount < 4 || priorityEnd == priorityStart || hasExtraField) {
             throw new InvalidEventTaskException();
         }
 
-        // Extract description
-        String description = parts[0].replaceFirst("event\\s+", "").trim();
+        String description = Tokenizer.trimmed(input, args, descriptionEnd);
         if (description.isBlank()) {
             throw new EmptyStringException();
         }
 
-        // Extract from, to, and priority
-        String from = parts[1].trim();
-        String to = parts[2].trim();
-        String priorityStr = parts[3].trim();
+        String from = Tokenizer.trimmed(input, fromStart, fromEnd);
+        String to = Tokenizer.trimmed(input, toStart, toEnd);
+        String priorityStr = Tokenizer.trimmed(input, priorityStart, priorityEnd);
 
         if (from.isBlank() || to.isBlank()) {
             throw new EmptyStringException();
@@ -174,49 +538,52 @@ public class Parser {
             throw new InvalidTodoTaskException();
         }
 
-        // Convert to Priority (supports LOW/MEDIUM/HIGH and L/M/H)
-        Priority priority;
-        try {
-            priority = Priority.fromString(priorityStr);
-        } catch (IllegalArgumentException e) {
-            throw new RonaldoException("Invalid priority: " + priorityStr
-                    + ". Please use LOW/MEDIUM/HIGH or L/M/H.");
+        Priority priority = parsePriority(priorityStr);
+
+        if (endsBeforeStart(from, to)) {
+            throw new InvalidEventTaskException("An event must end after it starts.");
         }
 
         return new EventExecutor(description, from, to, priority);
     }
 
+    /**
+     * Returns whether an event's start and end are both dates with times, and the end is not
+     * after the start. Times written in any other form cannot be compared.
+     */
+    private static boolean endsBeforeStart(String from, String to) {
+        try {
+            return !DateTimeService.parseDateTime(to).isAfter(DateTimeService.parseDateTime(from));
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
 
     /**
      * Parses a todo command with a description.
      *
      * @param input the raw user input
+     * @param args  the position of the description in {@code input}
      * @return a {@link TodoExecutor} containing the parsed description
      * @throws RonaldoException if the description is missing or empty
      */
-    private static CommandExecutor parseTodo(String input) throws RonaldoException {
-        String args = input.substring(5).trim();
-
-        // Split into description and priority part
-        String[] split = args.split("/p", 2);
-        String description = split[0].trim();
+    private static CommandExecutor parseTodo(String input, int args) throws RonaldoException {
+        int priorityFlag = input.indexOf("/p", args);
+        String description = Tokenizer.trimmed(input, args, priorityFlag < 0 ? input.length() : priorityFlag);
 
         if (description.isBlank()) {
             throw new EmptyStringException();
         }
 
-        if (split.length < 2 || split[1].trim().isEmpty()) {
+        String priorityStr = priorityFlag < 0
+                ? ""
+                : Tokenizer.trimmed(input, priorityFlag + "/p".length(), input.length());
+        if (priorityStr.isEmpty()) {
             throw new InvalidTodoTaskException();
         }
 
-        String priorityStr = split[1].trim();
-        Priority priority;
-        try {
-            priority = Priority.fromString(priorityStr);
-        } catch (IllegalArgumentException e) {
-            throw new RonaldoException("Invalid priority: " + priorityStr
-                    + ". Please use LOW/MEDIUM/HIGH or L/M/H.");
-        }
+        Priority priority = parsePriority(priorityStr);
 
         return new TodoExecutor(description, priority);
     }
@@ -225,35 +592,43 @@ public class Parser {
      * Parses a delete command with a task number.
      *
      * @param input the raw user input
-     * @return a {@link DeleteExecutor} for the specified task index
+     * @param args  the position of the task number in {@code input}
+     * @return a {@link DeleteExecutor} for the specified task index,
+     *         or a {@link BulkDeleteExecutor} for ranges of task numbers such as {@code 10-99}
      * @throws RonaldoException if the task number is missing or invalid
      */
-    private static CommandExecutor parseDelete(String input) throws RonaldoException {
-        String[] parts = input.split(" ");
-        if (parts.length < 2) {
-            throw new InvalidTaskNumberException();
+    private static CommandExecutor parseDelete(String input, int args) throws RonaldoException {
+        if (isTaskRanges(input, args)) {
+            return new BulkDeleteExecutor(parseTaskRanges(input, args));
         }
-        int number = Integer.parseInt(parts[1]) - 1;
-        return new DeleteExecutor(number);
+        return new DeleteExecutor(parseTaskNumber(input, args));
     }
 
     /**
-     * Parses a find command with a keyword.
+     * Parses a find command with a keyword, with {@code /w} followed by words to match whole,
+     * or with {@code ~} followed by words to match allowing for typos.
      *
      * @param input the raw user input
+     * @param args  the position of the keyword in {@code input}
      * @return a {@link FindExecutor} for the given keyword
      * @throws RonaldoException if the keyword is missing or empty
      */
-    private static CommandExecutor parseFind(String input) throws RonaldoException {
-        if (input.length() <= 5) {
-            throw new EmptyStringException();
+    private static CommandExecutor parseFind(String input, int args) throws RonaldoException {
+        int start = Tokenizer.skipTrimmed(input, args, input.length());
+        int end = Tokenizer.trimEnd(input, start, input.length());
+        FindExecutor.Mode mode = FindExecutor.Mode.SUBSTRING;
+        if (Tokenizer.isWord(input, start, end, "/w") || input.startsWith("/w ", start)) {
+            mode = FindExecutor.Mode.WORDS;
+            start += "/w".length();
+        } else if (input.startsWith("~", start)) {
+            mode = FindExecutor.Mode.FUZZY;
+            start += "~".length();
         }
-
-        String keyword = input.substring(5).trim();
+        String keyword = Tokenizer.trimmed(input, start, end);
         if (keyword.isEmpty()) {
             throw new EmptyStringException();
         }
 
-        return new FindExecutor(keyword);
+        return new FindExecutor(keyword, mode);
     }
 }
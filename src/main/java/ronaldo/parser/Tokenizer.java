@@ -0,0 +1,190 @@
+package ronaldo.parser;
+
+/**
+ * Scanning helpers for {@link Parser}, which reads a command by moving positions through the
+ * input instead of splitting it with regular expressions.
+ * <p>
+ * Each method reads the characters of {@code input} between {@code from} (inclusive) and
+ * {@code to} (exclusive) without copying them. Only {@link #trimmed(String, int, int)} creates a
+ * string, for the fields handed on to a command.
+ * </p>
+ */
+final class Tokenizer {
+
+    /** The flags that separate the fields of an event, in the order they are tried at a position. */
+    private static final String[] EVENT_FLAGS = {"/from", "/to", "/p"};
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Returns the first position at or after {@code from} whose character is not trimmed
+     * by {@link String#trim()}.
+     */
+    static int skipTrimmed(String input, int from, int to) {
+        while (from < to && input.charAt(from) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * Returns the position after the last character before {@code to} that is not trimmed
+     * by {@link String#trim()}.
+     */
+    static int trimEnd(String input, int from, int to) {
+        while (to > from && input.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+
+    /**
+     * Returns the characters between two positions with surrounding whitespace removed,
+     * as {@code input.substring(from, to).trim()} would.
+     */
+    static String trimmed(String input, int from, int to) {
+        int start = skipTrimmed(input, from, to);
+        return input.substring(start, trimEnd(input, start, to));
+    }
+
+    /**
+     * Returns whether every character between two positions is a space.
+     */
+    static boolean isAllSpaces(String input, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (input.charAt(i) != ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the position of the next space at or after {@code from}, or {@code to} if there is none.
+     */
+    static int nextSpace(String input, int from, int to) {
+        while (from < to && input.charAt(from) != ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * Returns whether a character is whitespace as matched by {@code \s} in a regular expression.
+     */
+    static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Returns the position of the next separator at or after {@code from}, or {@code to} if there is none.
+     *
+     * @see #isSeparator(char)
+     */
+    static int nextSeparator(String input, int from, int to) {
+        while (from < to && !isSeparator(input.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * Returns the first position at or after {@code from} that is not a separator.
+     *
+     * @see #isSeparator(char)
+     */
+    static int skipSeparators(String input, int from, int to) {
+        while (from < to && isSeparator(input.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * Returns whether the characters between two positions are exactly the given word.
+     */
+    static boolean isWord(String input, int from, int to, String word) {
+        return to - from == word.length() && input.startsWith(word, from);
+    }
+
+    /**
+     * Returns the position of the next event flag ({@code /from}, {@code /to} or {@code /p})
+     * at or after {@code from}, or {@code -1} if there is none.
+     */
+    static int nextEventFlag(String input, int from) {
+        for (int i = input.indexOf('/', from); i >= 0; i = input.indexOf('/', i + 1)) {
+            if (eventFlagLength(input, i) > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the length of the event flag at a position, or {@code 0} if there is none.
+     */
+    static int eventFlagLength(String input, int at) {
+        for (String flag : EVENT_FLAGS) {
+            if (input.startsWith(flag, at)) {
+                return flag.length();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the position after a date in {@code yyyy-MM-dd} form starting at {@code from},
+     * followed by a space and a time in {@code HHmm} form if {@code withTime} is set,
+     * or {@code -1} if the characters there do not have that form.
+     * Only the form is checked; whether the date and time exist is not.
+     */
+    static int timeBoundEnd(String input, int from, int to, boolean withTime) {
+        int end = from + (withTime ? 15 : 10);
+        if (end > to) {
+            return -1;
+        }
+        for (int i = from; i < end; i++) {
+            char c = input.charAt(i);
+            int offset = i - from;
+            boolean isValid;
+            if (offset == 4 || offset == 7) {
+                isValid = c == '-';
+            } else if (offset == 10) {
+                isValid = c == ' ';
+            } else {
+                isValid = c >= '0' && c <= '9';
+            }
+            if (!isValid) {
+                return -1;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Returns whether the characters between two positions are a date in {@code yyyy-MM-dd} form,
+     * optionally followed by a space and a time in {@code HHmm} form.
+     */
+    static boolean isTimeBound(String input, int from, int to) {
+        return timeBoundEnd(input, from, to, true) == to || timeBoundEnd(input, from, to, false) == to;
+    }
+
+    /**
+     * Returns the position of the space between two time bounds (see {@link #isTimeBound})
+     * that together make up the characters between two positions, or {@code -1} if they do not.
+     * As with a regular expression, a time after the first date is taken if that leads to a match.
+     */
+    static int timeSpanSeparator(String input, int from, int to) {
+        int end = timeBoundEnd(input, from, to, true);
+        if (isFollowedByTimeBound(input, end, to)) {
+            return end;
+        }
+        end = timeBoundEnd(input, from, to, false);
+        return isFollowedByTimeBound(input, end, to) ? end : -1;
+    }
+
+    private static boolean isFollowedByTimeBound(String input, int at, int to) {
+        return at >= 0 && at < to && input.charAt(at) == ' ' && isTimeBound(input, at + 1, to);
+    }
+}
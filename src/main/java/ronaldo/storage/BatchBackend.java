@@ -0,0 +1,88 @@
+package ronaldo.storage;
+
+import java.util.ArrayList;
+
+import ronaldo.exceptions.RonaldoException;
+import ronaldo.task.Task;
+import ronaldo.task.TaskList;
+
+/**
+ * A {@link StorageBackend} that holds back the changes of a batch of commands and stores their
+ * result in one step.
+ * <p>
+ * Commands run against the task list as usual, but the changes they record here are not passed
+ * on to the backend behind it. Once the batch is done, {@link #commit(TaskList)} stores the task
+ * list with a single {@link StorageBackend#replaceAll(TaskList)}, so a batch of thousands of
+ * commands costs one write instead of one per command, and is stored either whole or not at all.
+ * If the batch is abandoned instead, nothing is stored and the backend is left as it was.
+ * </p>
+ */
+public class BatchBackend implements StorageBackend {
+
+    /** The backend the batch is stored in. */
+    private final StorageBackend target;
+
+    /** Whether any command has changed the tasks since the batch started. */
+    private boolean hasChanges;
+
+    /**
+     * Constructs a {@code BatchBackend} that stores the batch in the given backend.
+     *
+     * @param target the backend to store the batch in.
+     */
+    public BatchBackend(StorageBackend target) {
+        this.target = target;
+    }
+
+    @Override
+    public void writeTask(String line) {
+        hasChanges = true;
+    }
+
+    @Override
+    public void deleteTask(long id) {
+        hasChanges = true;
+    }
+
+    @Override
+    public void markTask(long id) {
+        hasChanges = true;
+    }
+
+    @Override
+    public void unmarkTask(long id) {
+        hasChanges = true;
+    }
+
+    @Override
+    public void replaceAll(TaskList tasks) {
+        hasChanges = true;
+    }
+
+    @Override
+    public ArrayList<Task> load() {
+        return target.load();
+    }
+
+    @Override
+    public ArrayList<Task> findArchivedTasks(String keyword) throws RonaldoException {
+        return target.findArchivedTasks(keyword);
+    }
+
+    /**
+     * Stores the tasks as left by the batch, if any command changed them, and waits until they are durable.
+     *
+     * @param tasks the task list the batch ran against.
+     * @return whether anything was stored.
+     * @throws RonaldoException if the tasks cannot be stored.
+     */
+    public boolean commit(TaskList tasks) throws RonaldoException {
+        if (!hasChanges) {
+            return false;
+        }
+        target.replaceAll(tasks);
+        target.flush();
+        hasChanges = false;
+        return true;
+    }
+}
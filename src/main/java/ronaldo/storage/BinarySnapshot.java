@@ -0,0 +1,168 @@
+package ronaldo.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import ronaldo.task.Priority;
+import ronaldo.task.Task;
+import ronaldo.task.TaskSource;
+
+/**
+ * A binary copy of the task snapshot ({@code ronaldo.bin}) that can be read without parsing.
+ * <p>
+ * The file starts with a fixed header, followed by one fixed-size record per task and a
+ * string table holding the UTF-8 bytes of every description and date field:
+ * </p>
+ * <pre>
+ *     header : magic(4) version(4) count(4) sourceLength(8) sourceModified(8)
+ *     record : id(8) type(1) done(1) priority(1) reserved(1)
+ *              descOffset(4) descLength(4) extraOffset(4) extraLength(4)
+ *     strings: UTF-8 bytes referenced by the records
+ * </pre>
+ * <p>
+ * The file is read through a {@link MappedByteBuffer}, so opening it costs the same no matter
+ * how many tasks it holds; each {@link Task} is only built when {@link #read(int)} is called.
+ * The header records the length and modification time of the text snapshot it was written
+ * from, so a stale binary copy is never used.
+ * </p>
+ */
+public class BinarySnapshot implements TaskSource {
+
+    private static final int MAGIC = 0x524E4C44; // "RNLD"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 28;
+    private static final int RECORD_SIZE = 28;
+    private static final int SOURCE_LENGTH_OFFSET = 12;
+    private static final int SOURCE_MODIFIED_OFFSET = 20;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int stringsStart;
+
+    private BinarySnapshot(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.count = buffer.getInt(8);
+        this.stringsStart = HEADER_SIZE + count * RECORD_SIZE;
+    }
+
+    /**
+     * Maps the binary snapshot at the given path, if it is up to date with the text snapshot.
+     *
+     * @param path   the binary snapshot file.
+     * @param source the text snapshot the binary copy must match.
+     * @return the mapped snapshot, or {@code null} if the file is missing, malformed or stale.
+     * @throws IOException if the file cannot be read.
+     */
+    public static BinarySnapshot open(Path path, Path source) throws IOException {
+        if (!Files.exists(path) || Files.size(path) < HEADER_SIZE) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            boolean isValid = buffer.getInt(0) == MAGIC
+                    && buffer.getInt(4) == VERSION
+                    && buffer.getLong(SOURCE_LENGTH_OFFSET) == Files.size(source)
+                    && buffer.getLong(SOURCE_MODIFIED_OFFSET) == Files.getLastModifiedTime(source).toMillis()
+                    && (long) HEADER_SIZE + (long) buffer.getInt(8) * RECORD_SIZE <= channel.size();
+            return isValid ? new BinarySnapshot(buffer) : null;
+        }
+    }
+
+    /**
+     * Writes a binary copy of the given text snapshot lines.
+     * Lines that cannot be encoded are left out, matching what {@link Storage#load()} would skip.
+     *
+     * @param path   the binary snapshot file to write.
+     * @param lines  the stored task lines.
+     * @param source the text snapshot the lines were written to.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path path, List<String> lines, Path source) throws IOException {
+        ByteBuffer records = ByteBuffer.allocate(lines.size() * RECORD_SIZE);
+        ByteBuffer strings = ByteBuffer.allocate(1024);
+        int count = 0;
+
+        for (String line : lines) {
+            Task task = TaskCodec.parseTask(line);
+            if (task == null) {
+                continue;
+            }
+            // Reformat so that lines written before tasks had IDs line up too
+            String[] parts = TaskCodec.formatTask(task).split(" \\| ", 6);
+            Priority priority = Priority.fromString(parts[3]);
+            byte[] description = parts[4].getBytes(StandardCharsets.UTF_8);
+            byte[] extra = parts.length > 5 ? parts[5].getBytes(StandardCharsets.UTF_8) : new byte[0];
+            strings = ensureCapacity(strings, description.length + extra.length);
+
+            records.putLong(task.getId());
+            records.put((byte) parts[1].charAt(0));
+            records.put((byte) (task.isDone() ? 1 : 0));
+            records.put((byte) priority.ordinal());
+            records.put((byte) 0);
+            records.putInt(strings.position()).putInt(description.length);
+            strings.put(description);
+            records.putInt(strings.position()).putInt(extra.length);
+            strings.put(extra);
+            count++;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(count)
+                .putLong(Files.size(source))
+                .putLong(Files.getLastModifiedTime(source).toMillis());
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            out.write(header.array());
+            out.write(records.array(), 0, records.position());
+            out.write(strings.array(), 0, strings.position());
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ByteBuffer ensureCapacity(ByteBuffer buffer, int extra) {
+        if (buffer.remaining() >= extra) {
+            return buffer;
+        }
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + extra);
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        grown.put(buffer);
+        return grown;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public Task read(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + count);
+        }
+        int record = HEADER_SIZE + index * RECORD_SIZE;
+        long id = buffer.getLong(record);
+        String type = String.valueOf((char) buffer.get(record + 8));
+        boolean isDone = buffer.get(record + 9) != 0;
+        Priority priority = Priority.values()[buffer.get(record + 10)];
+        String description = readString(buffer.getInt(record + 12), buffer.getInt(record + 16));
+        String extra = readString(buffer.getInt(record + 20), buffer.getInt(record + 24));
+        return TaskCodec.createTask(id, type, isDone, priority, description, extra.isEmpty() ? null : extra);
+    }
+
+    private String readString(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(stringsStart + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,196 @@
+package ronaldo.storage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import ronaldo.task.Task;
+
+/**
+ * Parses a text snapshot in parallel.
+ * <p>
+ * The file is split into byte ranges whose boundaries are moved forward to the next newline,
+ * so no line is ever cut in two. Each range is decoded and parsed on the common fork-join pool
+ * into its own list of tasks, and the lists are joined back together in file order, giving
+ * exactly the tasks a sequential parse would. Small files are parsed as a single range.
+ * </p>
+ * <p>
+ * {@link #forEach(Path, Consumer)} instead hands the tasks over as each window of ranges is
+ * parsed, so the caller can copy them elsewhere without every task being held at once.
+ * </p>
+ */
+class ChunkedTextLoader {
+
+    /** Smallest range worth handing to a separate worker. */
+    static final int MIN_CHUNK_BYTES = 256 * 1024;
+
+    /** Number of ranges given to each core, so that uneven ranges still balance out. */
+    private static final int CHUNKS_PER_CORE = 4;
+
+    private final Function<String, Task> parser;
+
+    /** Number of non-blank lines the parser rejected in the last call to {@link #load(Path)} or {@link #forEach}. */
+    private int skippedLines;
+
+    /**
+     * Constructs a loader that turns each non-blank line into a task with the given parser.
+     *
+     * @param parser returns the task stored on a line, or {@code null} if the line is invalid.
+     */
+    ChunkedTextLoader(Function<String, Task> parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Parses every task stored in the given file.
+     *
+     * @param file the text snapshot.
+     * @return the tasks, in file order.
+     * @throws IOException if the file cannot be read.
+     */
+    ArrayList<Task> load(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        int[] bounds = chunkBounds(bytes, Runtime.getRuntime().availableProcessors() * CHUNKS_PER_CORE);
+
+        IntStream chunks = IntStream.range(0, bounds.length - 1);
+        if (bounds.length > 2) {
+            chunks = chunks.parallel();
+        }
+        List<Chunk> parsed = chunks
+                .mapToObj(i -> parseChunk(bytes, bounds[i], bounds[i + 1]))
+                .collect(Collectors.toList());
+
+        ArrayList<Task> tasks = new ArrayList<>(parsed.stream().mapToInt(chunk -> chunk.tasks.size()).sum());
+        skippedLines = 0;
+        for (Chunk chunk : parsed) {
+            tasks.addAll(chunk.tasks);
+            skippedLines += chunk.skippedLines;
+        }
+        return tasks;
+    }
+
+    /**
+     * Parses every task stored in the given file and passes each to the consumer, in file order.
+     * <p>
+     * The file is split into ranges of about {@value #MIN_CHUNK_BYTES} bytes, which are parsed
+     * in parallel a window of one range per core at a time. Only the tasks of the current window
+     * are held, so the tasks parsed stay short-lived unless the consumer keeps them.
+     * </p>
+     *
+     * @param file     the text snapshot.
+     * @param consumer receives each task in turn.
+     * @throws IOException if the file cannot be read.
+     */
+    void forEach(Path file, Consumer<Task> consumer) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        int[] bounds = chunkBounds(bytes, Integer.MAX_VALUE);
+        int chunkCount = bounds.length - 1;
+        int windowSize = Runtime.getRuntime().availableProcessors();
+
+        skippedLines = 0;
+        for (int from = 0; from < chunkCount; from += windowSize) {
+            IntStream chunks = IntStream.range(from, Math.min(from + windowSize, chunkCount));
+            if (windowSize > 1) {
+                chunks = chunks.parallel();
+            }
+            List<Chunk> parsed = chunks
+                    .mapToObj(i -> parseChunk(bytes, bounds[i], bounds[i + 1]))
+                    .collect(Collectors.toList());
+            for (Chunk chunk : parsed) {
+                chunk.tasks.forEach(consumer);
+                skippedLines += chunk.skippedLines;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of non-blank lines rejected by the parser in the last load.
+     *
+     * @return the number of skipped lines.
+     */
+    int getSkippedLines() {
+        return skippedLines;
+    }
+
+    /**
+     * Splits the given bytes into at most {@code maxChunks} ranges that each end just after a newline.
+     *
+     * @param bytes     the file contents.
+     * @param maxChunks the largest number of ranges wanted.
+     * @return the range boundaries; range {@code i} covers {@code [bounds[i], bounds[i + 1])}.
+     */
+    static int[] chunkBounds(byte[] bytes, int maxChunks) {
+        int chunkCount = Math.max(1, Math.min(maxChunks, bytes.length / MIN_CHUNK_BYTES));
+        int[] bounds = new int[chunkCount + 1];
+        int count = 1;
+        for (int i = 1; i < chunkCount; i++) {
+            int position = (int) ((long) bytes.length * i / chunkCount);
+            position = Math.max(position, bounds[count - 1]);
+            while (position < bytes.length && bytes[position - 1] != '\n') {
+                position++;
+            }
+            if (position > bounds[count - 1] && position < bytes.length) {
+                bounds[count++] = position;
+            }
+        }
+        bounds[count++] = bytes.length;
+        return count == bounds.length ? bounds : Arrays.copyOf(bounds, count);
+    }
+
+    /**
+     * Decodes and parses the lines in one byte range.
+     *
+     * @param bytes the file contents.
+     * @param start the first byte of the range.
+     * @param end   one past the last byte of the range.
+     * @return the tasks parsed from the range.
+     */
+    private Chunk parseChunk(byte[] bytes, int start, int end) {
+        String text = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+        Chunk chunk = new Chunk();
+        int lineStart = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = text.length();
+            }
+            int contentEnd = lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            String line = text.substring(lineStart, contentEnd);
+            if (!line.isBlank()) {
+                Task task = parseLine(line);
+                if (task != null) {
+                    chunk.tasks.add(task);
+                } else {
+                    chunk.skippedLines++;
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return chunk;
+    }
+
+    private Task parseLine(String line) {
+        try {
+            return parser.apply(line);
+        } catch (RuntimeException e) {
+            System.out.println("Invalid saved task: " + line);
+            return null;
+        }
+    }
+
+    /**
+     * The tasks parsed from one byte range.
+     */
+    private static class Chunk {
+        private final ArrayList<Task> tasks = new ArrayList<>();
+        private int skippedLines;
+    }
+}
@@ -0,0 +1,341 @@
+package ronaldo.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import ronaldo.task.Task;
+
+/**
+ * Archive of completed tasks ({@code ronaldo.cold}) kept in compressed blocks.
+ * <p>
+ * Stored lines are packed into blocks of about {@link #BLOCK_BYTES} bytes, each compressed with
+ * {@link Deflater} and preceded by a small header:
+ * </p>
+ * <pre>
+ *     header : magic(4) firstId(8) lastId(8) count(4) rawLength(4) compressedLength(4) filter(1024)
+ *     payload: the block's stored lines, deflated
+ * </pre>
+ * <p>
+ * The header's filter is an 8192-bit Bloom filter over the three-character substrings of the
+ * block's descriptions. {@link #find(String)} reads only the headers, and inflates just the
+ * blocks whose filter may contain every three-character substring of the keyword. Blocks are
+ * only ever appended; a block cut short by a crash is ignored and overwritten by the next append.
+ * </p>
+ */
+class ColdStore {
+
+    /** Uncompressed size after which a block is closed and a new one started. */
+    static final int BLOCK_BYTES = 64 * 1024;
+
+    private static final int MAGIC = 0x524E4C43; // "RNLC"
+    private static final int FILTER_BITS = 8192;
+    private static final int FILTER_SHIFT = Integer.SIZE - Integer.numberOfTrailingZeros(FILTER_BITS);
+    private static final int HEADER_SIZE = 32 + FILTER_BITS / 8;
+
+    private final Path file;
+
+    /** Headers of the complete blocks in the file, in file order. */
+    private final ArrayList<BlockHeader> blocks = new ArrayList<>();
+
+    /** Offset just past the last complete block, where the next block is written. */
+    private long end;
+
+    private ColdStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the archive at the given path by reading its block headers.
+     * A missing file is treated as an empty archive.
+     *
+     * @param file the archive file.
+     * @return the archive.
+     * @throws IOException if the file cannot be read.
+     */
+    static ColdStore open(Path file) throws IOException {
+        ColdStore store = new ColdStore(file);
+        if (!Files.exists(file)) {
+            return store;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long offset = 0;
+            while (offset + HEADER_SIZE <= size) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                readFully(channel, header, offset);
+                header.flip();
+                BlockHeader block = BlockHeader.read(header, offset);
+                if (block == null || block.payloadEnd() > size) {
+                    break;
+                }
+                store.blocks.add(block);
+                offset = block.payloadEnd();
+            }
+            store.end = offset;
+        }
+        return store;
+    }
+
+    /**
+     * Returns the largest ID in the archive.
+     *
+     * @return the largest archived ID, or {@link Task#NO_ID} if the archive is empty.
+     */
+    long getLastId() {
+        return blocks.stream().mapToLong(block -> block.lastId).max().orElse(Task.NO_ID);
+    }
+
+    /**
+     * Returns the archived tasks whose description contains the given keyword,
+     * inflating only the blocks that may hold a match.
+     *
+     * @param keyword the keyword to search for.
+     * @return the matching tasks, in ID order within each block.
+     * @throws IOException if the file cannot be read or a block is corrupt.
+     */
+    ArrayList<Task> find(String keyword) throws IOException {
+        BitSet wanted = filterOf(keyword);
+        // A task archived twice (after a crash between archiving and rewriting the snapshot) is listed once
+        LinkedHashMap<Long, Task> matches = new LinkedHashMap<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (BlockHeader block : blocks) {
+                if (!block.mayContain(wanted)) {
+                    continue;
+                }
+                for (String line : readBlock(channel, block).split("\n")) {
+                    Task task = TaskCodec.parseTask(line);
+                    if (task != null && task.getDescription().contains(keyword)) {
+                        matches.put(task.getId(), task);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    /**
+     * Returns a writer that appends stored lines to the archive in blocks.
+     * Lines are durable once the writer is closed.
+     *
+     * @return the writer.
+     * @throws IOException if the file cannot be opened.
+     */
+    BlockWriter append() throws IOException {
+        return new BlockWriter();
+    }
+
+    private String readBlock(FileChannel channel, BlockHeader block) throws IOException {
+        ByteBuffer compressed = ByteBuffer.allocate(block.compressedLength);
+        readFully(channel, compressed, block.offset + HEADER_SIZE);
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed.array());
+            byte[] raw = new byte[block.rawLength];
+            int inflated = 0;
+            while (inflated < raw.length && !inflater.finished()) {
+                int count = inflater.inflate(raw, inflated, raw.length - inflated);
+                if (count == 0 && inflater.needsInput()) {
+                    break;
+                }
+                inflated += count;
+            }
+            if (inflated != raw.length) {
+                throw new IOException("Corrupt archive block at offset " + block.offset);
+            }
+            return new String(raw, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive block at offset " + block.offset, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of archive");
+            }
+        }
+    }
+
+    /**
+     * Returns the filter bits set by every three-character substring of the text.
+     * Text shorter than three characters sets no bits, so it is never ruled out.
+     */
+    private static BitSet filterOf(String text) {
+        BitSet bits = new BitSet(FILTER_BITS);
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            int hash = text.substring(i, i + 3).hashCode();
+            bits.set((hash * 0x9E3779B9) >>> FILTER_SHIFT);
+            bits.set((hash * 0x85EBCA6B) >>> FILTER_SHIFT);
+        }
+        return bits;
+    }
+
+    /**
+     * Packs stored lines into compressed blocks and appends them to the archive.
+     */
+    class BlockWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final StringBuilder raw = new StringBuilder();
+        private final BitSet filter = new BitSet(FILTER_BITS);
+        private long firstId = Long.MAX_VALUE;
+        private long lastId = Task.NO_ID;
+        private int count;
+
+        private BlockWriter() throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            // Drop a block left half written by a crash
+            channel.truncate(end);
+        }
+
+        /**
+         * Adds a stored line to the current block, writing the block out once it is full.
+         *
+         * @param line the stored task line.
+         * @throws IOException if a block cannot be written.
+         */
+        void add(String line) throws IOException {
+            Task task = TaskCodec.parseTask(line);
+            if (task == null) {
+                return;
+            }
+            raw.append(line).append('\n');
+            filter.or(filterOf(task.getDescription()));
+            firstId = Math.min(firstId, task.getId());
+            lastId = Math.max(lastId, task.getId());
+            count++;
+            if (raw.length() >= BLOCK_BYTES) {
+                writeBlock();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                writeBlock();
+                channel.force(false);
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void writeBlock() throws IOException {
+            if (count == 0) {
+                return;
+            }
+            byte[] bytes = raw.toString().getBytes(StandardCharsets.UTF_8);
+            Deflater deflater = new Deflater();
+            ByteBuffer compressed = ByteBuffer.allocate(bytes.length + 64);
+            try {
+                deflater.setInput(bytes);
+                deflater.finish();
+                byte[] chunk = new byte[8192];
+                while (!deflater.finished()) {
+                    int length = deflater.deflate(chunk);
+                    if (compressed.remaining() < length) {
+                        ByteBuffer grown = ByteBuffer.allocate(compressed.capacity() * 2 + length);
+                        compressed.flip();
+                        compressed = grown.put(compressed);
+                    }
+                    compressed.put(chunk, 0, length);
+                }
+            } finally {
+                deflater.end();
+            }
+            compressed.flip();
+
+            BlockHeader block = new BlockHeader(end, firstId, lastId, count, bytes.length,
+                    compressed.remaining(), filter);
+            ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + compressed.remaining());
+            block.write(out);
+            out.put(compressed).flip();
+            while (out.hasRemaining()) {
+                channel.write(out, end + out.position());
+            }
+
+            blocks.add(block);
+            end = block.payloadEnd();
+            raw.setLength(0);
+            filter.clear();
+            firstId = Long.MAX_VALUE;
+            lastId = Task.NO_ID;
+            count = 0;
+        }
+    }
+
+    /**
+     * The header of one block, as read from the file.
+     */
+    private static class BlockHeader {
+        private final long offset;
+        private final long firstId;
+        private final long lastId;
+        private final int count;
+        private final int rawLength;
+        private final int compressedLength;
+        private final BitSet filter;
+
+        private BlockHeader(long offset, long firstId, long lastId, int count, int rawLength,
+                int compressedLength, BitSet filter) {
+            this.offset = offset;
+            this.firstId = firstId;
+            this.lastId = lastId;
+            this.count = count;
+            this.rawLength = rawLength;
+            this.compressedLength = compressedLength;
+            this.filter = (BitSet) filter.clone();
+        }
+
+        /**
+         * Reads a header, returning {@code null} if the bytes are not a valid header.
+         */
+        static BlockHeader read(ByteBuffer buffer, long offset) {
+            if (buffer.getInt() != MAGIC) {
+                return null;
+            }
+            long firstId = buffer.getLong();
+            long lastId = buffer.getLong();
+            int count = buffer.getInt();
+            int rawLength = buffer.getInt();
+            int compressedLength = buffer.getInt();
+            if (count < 0 || rawLength < 0 || compressedLength < 0) {
+                return null;
+            }
+            byte[] filter = new byte[FILTER_BITS / 8];
+            buffer.get(filter);
+            return new BlockHeader(offset, firstId, lastId, count, rawLength, compressedLength,
+                    BitSet.valueOf(filter));
+        }
+
+        void write(ByteBuffer buffer) {
+            byte[] filterBytes = new byte[FILTER_BITS / 8];
+            byte[] set = filter.toByteArray();
+            System.arraycopy(set, 0, filterBytes, 0, set.length);
+            buffer.putInt(MAGIC).putLong(firstId).putLong(lastId).putInt(count)
+                    .putInt(rawLength).putInt(compressedLength).put(filterBytes);
+        }
+
+        long payloadEnd() {
+            return offset + HEADER_SIZE + compressedLength;
+        }
+
+        boolean mayContain(BitSet wanted) {
+            BitSet missing = (BitSet) wanted.clone();
+            missing.andNot(filter);
+            return missing.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package ronaldo.storage;
+
+/**
+ * Describes how often the write-behind queue forces journal writes to disk.
+ * <p>
+ * A policy either syncs after every operation, after every {@code n} operations,
+ * or at most every {@code n} milliseconds. It can be given as a string of the form
+ * {@code op}, {@code ops:<n>} or {@code ms:<n>}, e.g. through the
+ * {@code ronaldo.durability} system property.
+ * </p>
+ * <p>
+ * An operation is one journal record, so a bulk command changing 500 tasks counts as 500
+ * operations towards {@code ops:<n>}, even though its records are written together.
+ * </p>
+ */
+public class DurabilityPolicy {
+
+    /** System property used to choose the policy at start up. */
+    public static final String PROPERTY = "ronaldo.durability";
+
+    /**
+     * The ways in which syncing can be scheduled.
+     */
+    public enum Mode {
+        EVERY_OP,
+        EVERY_N_OPS,
+        EVERY_N_MILLIS
+    }
+
+    private final Mode mode;
+    private final long interval;
+
+    private DurabilityPolicy(Mode mode, long interval) {
+        this.mode = mode;
+        this.interval = interval;
+    }
+
+    /**
+     * Returns a policy that syncs after every operation.
+     *
+     * @return the policy.
+     */
+    public static DurabilityPolicy everyOp() {
+        return new DurabilityPolicy(Mode.EVERY_OP, 1);
+    }
+
+    /**
+     * Returns a policy that syncs once every {@code n} operations.
+     *
+     * @param n the number of operations between syncs.
+     * @return the policy.
+     */
+    public static DurabilityPolicy everyOps(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Operation count must be positive: " + n);
+        }
+        return new DurabilityPolicy(Mode.EVERY_N_OPS, n);
+    }
+
+    /**
+     * Returns a policy that syncs at most once every {@code millis} milliseconds.
+     *
+     * @param millis the time between syncs.
+     * @return the policy.
+     */
+    public static DurabilityPolicy everyMillis(long millis) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("Sync interval must be positive: " + millis);
+        }
+        return new DurabilityPolicy(Mode.EVERY_N_MILLIS, millis);
+    }
+
+    /**
+     * Parses a policy from its string form ({@code op}, {@code ops:<n>} or {@code ms:<n>}).
+     *
+     * @param input the string to parse.
+     * @return the matching policy.
+     * @throws IllegalArgumentException if the input is not a valid policy.
+     */
+    public static DurabilityPolicy fromString(String input) {
+        String normalized = input.trim().toLowerCase();
+        if (normalized.equals("op")) {
+            return everyOp();
+        }
+        String[] parts = normalized.split(":", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid durability policy: " + input);
+        }
+        try {
+            switch (parts[0]) {
+            case "ops":
+                return everyOps(Integer.parseInt(parts[1].trim()));
+            case "ms":
+                return everyMillis(Long.parseLong(parts[1].trim()));
+            default:
+                throw new IllegalArgumentException("Invalid durability policy: " + input);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid durability policy: " + input, e);
+        }
+    }
+
+    /**
+     * Returns the policy chosen through the {@value #PROPERTY} system property,
+     * or a 50 ms group commit if none is set.
+     *
+     * @return the configured policy.
+     */
+    public static DurabilityPolicy fromSystemProperties() {
+        String value = System.getProperty(PROPERTY);
+        if (value == null || value.isBlank()) {
+            return everyMillis(50);
+        }
+        return fromString(value);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Returns the number of operations or milliseconds between syncs, depending on the mode.
+     *
+     * @return the interval between syncs.
+     */
+    public long getInterval() {
+        return interval;
+    }
+
+    /**
+     * Returns whether a sync is due.
+     *
+     * @param unsyncedOps    the number of operations written since the last sync.
+     * @param millisSinceSync the time elapsed since the last sync.
+     * @return {@code true} if the journal should be synced now.
+     */
+    public boolean isSyncDue(int unsyncedOps, long millisSinceSync) {
+        if (unsyncedOps == 0) {
+            return false;
+        }
+        switch (mode) {
+        case EVERY_OP:
+            return true;
+        case EVERY_N_OPS:
+            return unsyncedOps >= interval;
+        default:
+            return millisSinceSync >= interval;
+        }
+    }
+
+    @Override
+    public String toString() {
+        switch (mode) {
+        case EVERY_OP:
+            return "op";
+        case EVERY_N_OPS:
+            return "ops:" + interval;
+        default:
+            return "ms:" + interval;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ronaldo.storage;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import ronaldo.exceptions.InvalidTaskNumberException;
+import ronaldo.exceptions.RonaldoException;
+import ronaldo.task.Task;
+import ronaldo.task.TaskList;
+
+/**
+ * A {@link StorageBackend} that keeps the stored lines in memory and never touches the disk.
+ * Intended for benchmarks and tests; everything is lost when the application exits.
+ */
+public class InMemoryBackend implements StorageBackend {
+
+    /** Stored lines, keyed by task ID. */
+    private final TreeMap<Long, String> lines = new TreeMap<>();
+
+    /** The kind of task list the stored tasks are loaded into. */
+    private final StorageConfig.ListType listType;
+
+    /**
+     * Constructs an empty {@code InMemoryBackend} that loads tasks into a plain task list.
+     */
+    public InMemoryBackend() {
+        this(StorageConfig.ListType.PLAIN);
+    }
+
+    /**
+     * Constructs an empty {@code InMemoryBackend} that loads tasks into the given kind of task list.
+     *
+     * @param listType the kind of task list to load tasks into.
+     */
+    public InMemoryBackend(StorageConfig.ListType listType) {
+        this.listType = listType;
+    }
+
+    @Override
+    public void writeTask(String line) {
+        lines.put(TaskCodec.parseId(line), line);
+    }
+
+    @Override
+    public void deleteTask(long id) throws RonaldoException {
+        checkId(id);
+        lines.remove(id);
+    }
+
+    @Override
+    public void markTask(long id) throws RonaldoException {
+        checkId(id);
+        lines.put(id, TaskCodec.withStatus(lines.get(id), true));
+    }
+
+    @Override
+    public void unmarkTask(long id) throws RonaldoException {
+        checkId(id);
+        lines.put(id, TaskCodec.withStatus(lines.get(id), false));
+    }
+
+    @Override
+    public ArrayList<Task> load() {
+        return lines.values().stream()
+                .map(TaskCodec::parseTask)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    @Override
+    public TaskList loadTaskList() {
+        return listType.create(load());
+    }
+
+    @Override
+    public void replaceAll(TaskList tasks) {
+        lines.clear();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.getTask(i);
+            lines.put(task.getId(), TaskCodec.formatTask(task));
+        }
+    }
+
+    private void checkId(long id) throws RonaldoException {
+        if (!lines.containsKey(id)) {
+            throw new InvalidTaskNumberException();
+        }
+    }
+}
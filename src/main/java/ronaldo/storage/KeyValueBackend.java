@@ -0,0 +1,130 @@
+package ronaldo.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Map;
+
+import ronaldo.exceptions.InvalidTaskNumberException;
+import ronaldo.exceptions.RonaldoException;
+import ronaldo.task.Task;
+import ronaldo.task.TaskList;
+
+/**
+ * A {@link StorageBackend} that keeps each task as one entry in an embedded {@link LsmStore}.
+ * <p>
+ * Each task is stored under its ID, so the store's key order is the task list order and
+ * marking or deleting a task only writes that task's entry. Deleting writes a tombstone,
+ * and the space is reclaimed when the store merges its sorted runs.
+ * </p>
+ */
+public class KeyValueBackend implements StorageBackend {
+
+    private final LsmStore store;
+
+    /** The kind of task list the stored tasks are loaded into. */
+    private final StorageConfig.ListType listType;
+
+    /**
+     * Constructs a {@code KeyValueBackend} storing its files in the given folder and loading
+     * tasks into a plain task list.
+     *
+     * @param folder the data folder; the store lives in its {@code kv} subfolder.
+     * @throws RonaldoException if the store cannot be opened.
+     */
+    public KeyValueBackend(Path folder) throws RonaldoException {
+        this(folder, StorageConfig.ListType.PLAIN);
+    }
+
+    /**
+     * Constructs a {@code KeyValueBackend} storing its files in the given folder.
+     *
+     * @param folder   the data folder; the store lives in its {@code kv} subfolder.
+     * @param listType the kind of task list to load tasks into.
+     * @throws RonaldoException if the store cannot be opened.
+     */
+    public KeyValueBackend(Path folder, StorageConfig.ListType listType) throws RonaldoException {
+        this.listType = listType;
+        try {
+            this.store = new LsmStore(folder.resolve("kv"));
+        } catch (IOException e) {
+            throw new RonaldoException("Error opening task store: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void writeTask(String line) throws RonaldoException {
+        try {
+            store.put(TaskCodec.parseId(line), line);
+        } catch (IOException e) {
+            throw new RonaldoException("Error writing task to files.");
+        }
+    }
+
+    @Override
+    public void deleteTask(long id) throws RonaldoException {
+        try {
+            store.delete(id);
+        } catch (IOException e) {
+            throw new RonaldoException("Error deleting task from files.");
+        }
+    }
+
+    @Override
+    public void markTask(long id) throws RonaldoException {
+        setStatus(id, true);
+    }
+
+    @Override
+    public void unmarkTask(long id) throws RonaldoException {
+        setStatus(id, false);
+    }
+
+    /**
+     * Loads every stored task. Entries that cannot be parsed are removed from the store.
+     */
+    @Override
+    public ArrayList<Task> load() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        try {
+            for (Map.Entry<Long, String> entry : store.scan().entrySet()) {
+                Task task = TaskCodec.parseTask(entry.getValue());
+                if (task == null) {
+                    store.delete(entry.getKey());
+                    continue;
+                }
+                task.setId(entry.getKey());
+                tasks.add(task);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return tasks;
+    }
+
+    @Override
+    public TaskList loadTaskList() {
+        return listType.create(load());
+    }
+
+    @Override
+    public void close() throws RonaldoException {
+        try {
+            store.close();
+        } catch (IOException e) {
+            throw new RonaldoException("Error closing task store: " + e.getMessage());
+        }
+    }
+
+    private void setStatus(long id, boolean isDone) throws RonaldoException {
+        try {
+            String line = store.get(id);
+            if (line == null) {
+                throw new InvalidTaskNumberException();
+            }
+            store.put(id, TaskCodec.withStatus(line, isDone));
+        } catch (IOException e) {
+            throw new RonaldoException("Error updating task in files: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package ronaldo.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import ronaldo.task.Task;
+import ronaldo.task.TaskSource;
+
+/**
+ * Reads tasks straight from the text snapshot using an in-memory index of line offsets.
+ * <p>
+ * Opening the source scans the file once and keeps only the byte offset of each stored line,
+ * so memory use is a single {@code long} per task. It then checks that every line can be parsed,
+ * a page at a time, and leaves out the lines that cannot, as loading every task up front does.
+ * Tasks are parsed from the file again when read.
+ * The file stays open until the source is closed, so it keeps reading the snapshot it was
+ * opened on even if the snapshot is later replaced by a compaction. Close the source once its
+ * tasks are no longer needed; some systems do not let an open file be replaced.
+ * </p>
+ */
+public class LineIndexedSource implements TaskSource, Closeable {
+
+    private static final int SCAN_BUFFER_BYTES = 1024 * 1024;
+
+    /** Number of lines read together when checking that they can be parsed. */
+    private static final int VALIDATE_LINES = 4096;
+
+    private final FileChannel channel;
+
+    /**
+     * Start offset of each stored line, followed by the end of the file.
+     * A line ends at the first newline after its start.
+     */
+    private final long[] offsets;
+
+    private final int count;
+
+    private LineIndexedSource(FileChannel channel, long[] offsets, int count) {
+        this.channel = channel;
+        this.offsets = offsets;
+        this.count = count;
+    }
+
+    /**
+     * Opens the given text snapshot and indexes the offset of every line holding a readable task.
+     * Lines that cannot be parsed are reported and skipped.
+     *
+     * @param file the text snapshot.
+     * @return the indexed source.
+     * @throws IOException if the file cannot be read.
+     */
+    public static LineIndexedSource open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return index(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Indexes the offset of every line holding a readable task in an open snapshot.
+     */
+    private static LineIndexedSource index(FileChannel channel) throws IOException {
+        long[] offsets = new long[1024];
+        int count = 0;
+
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+        long position = 0;
+        long lineStart = 0;
+        boolean hasContent = false;
+        while (channel.read(buffer, position) > 0) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b == '\n') {
+                    if (hasContent) {
+                        offsets = ensureCapacity(offsets, count + 2);
+                        offsets[count++] = lineStart;
+                    }
+                    lineStart = position + 1;
+                    hasContent = false;
+                } else if (b > ' ' || b < 0) {
+                    hasContent = true;
+                }
+                position++;
+            }
+            buffer.clear();
+        }
+        if (hasContent) {
+            offsets = ensureCapacity(offsets, count + 2);
+            offsets[count++] = lineStart;
+        }
+        offsets = ensureCapacity(offsets, count + 1);
+        offsets[count] = position;
+
+        int kept = 0;
+        for (int from = 0; from < count; from += VALIDATE_LINES) {
+            int to = Math.min(from + VALIDATE_LINES, count);
+            String[] lines = readLines(channel, offsets, from, to);
+            for (int i = from; i < to; i++) {
+                // Lines before this one have been checked, so only earlier offsets are overwritten
+                if (TaskCodec.parseTask(lines[i - from]) != null) {
+                    offsets[kept++] = offsets[i];
+                }
+            }
+        }
+        offsets[kept] = position;
+        return new LineIndexedSource(channel, offsets, kept);
+    }
+
+    private static long[] ensureCapacity(long[] offsets, int needed) {
+        return needed <= offsets.length ? offsets : Arrays.copyOf(offsets, Math.max(needed, offsets.length * 2));
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Closes the snapshot file. Tasks can no longer be read afterwards.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public Task read(int index) {
+        return readRange(index, index + 1)[0];
+    }
+
+    /**
+     * Reads the lines of the whole range with a single positional read, then parses them.
+     */
+    @Override
+    public Task[] readRange(int from, int to) {
+        if (from < 0 || to > count || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + count);
+        }
+        String[] lines;
+        try {
+            lines = readLines(channel, offsets, from, to);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read tasks from file: " + e.getMessage(), e);
+        }
+
+        Task[] tasks = new Task[to - from];
+        for (int i = from; i < to; i++) {
+            Task task = TaskCodec.parseTask(lines[i - from]);
+            if (task == null) {
+                // Every indexed line was parsed when the source was opened, and the file is never changed
+                throw new IllegalStateException("Unreadable task on stored line " + (i + 1));
+            }
+            tasks[i - from] = task;
+        }
+        return tasks;
+    }
+
+    /**
+     * Reads the lines starting at a range of indexed offsets with a single positional read.
+     * Each line runs from its offset to the first newline after it.
+     */
+    private static String[] readLines(FileChannel channel, long[] offsets, int from, int to) throws IOException {
+        long start = offsets[from];
+        ByteBuffer buffer = ByteBuffer.allocate((int) (offsets[to] - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                break;
+            }
+        }
+
+        byte[] bytes = buffer.array();
+        String[] lines = new String[to - from];
+        for (int i = from; i < to; i++) {
+            int lineStart = (int) (offsets[i] - start);
+            int lineEnd = (int) (offsets[i + 1] - start);
+            int newline = lineStart;
+            while (newline < lineEnd && bytes[newline] != '\n') {
+                newline++;
+            }
+            lines[i - from] = new String(bytes, lineStart, newline - lineStart, StandardCharsets.UTF_8).strip();
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,294 @@
+package ronaldo.storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A small embedded log-structured merge (LSM) store mapping {@code long} keys to string values.
+ * <p>
+ * Writes go to a write-ahead log ({@code wal.log}) and an in-memory sorted memtable. Once the
+ * memtable holds {@link #MEMTABLE_LIMIT} entries it is written out as an immutable sorted run
+ * ({@code run-<n>.sst}) and the log is emptied. Reads check the memtable, then the runs from
+ * newest to oldest, using a sparse in-memory index of each run to seek close to the key.
+ * When more than {@link #MAX_RUNS} runs exist they are merged into one, dropping deleted keys.
+ * </p>
+ */
+class LsmStore implements AutoCloseable {
+
+    /** Number of memtable entries after which the memtable is written out as a run. */
+    static final int MEMTABLE_LIMIT = 4096;
+
+    /** Number of runs after which all runs are merged into one. */
+    static final int MAX_RUNS = 4;
+
+    /** Number of run entries between sparse index entries. */
+    private static final int INDEX_INTERVAL = 32;
+
+    /** Value recording that a key has been deleted. */
+    private static final String TOMBSTONE = "\u0000";
+
+    private final Path folder;
+    private final Path walFile;
+    private final TreeMap<Long, String> memtable = new TreeMap<>();
+
+    /** Sorted runs, oldest first. */
+    private final ArrayList<SortedRun> runs = new ArrayList<>();
+
+    private BufferedWriter wal;
+    private int nextRunNumber;
+
+    /**
+     * Opens the store in the given folder, creating it if needed and replaying its write-ahead log.
+     *
+     * @param folder the folder holding the store's files.
+     * @throws IOException if the store cannot be opened.
+     */
+    LsmStore(Path folder) throws IOException {
+        this.folder = folder;
+        this.walFile = folder.resolve("wal.log");
+        Files.createDirectories(folder);
+
+        List<Path> runFiles;
+        try (Stream<Path> files = Files.list(folder)) {
+            runFiles = files.filter(path -> path.getFileName().toString().matches("run-\\d+\\.sst"))
+                    .sorted(Comparator.comparingInt(LsmStore::runNumber))
+                    .collect(Collectors.toList());
+        }
+        for (Path runFile : runFiles) {
+            runs.add(new SortedRun(runFile));
+            nextRunNumber = runNumber(runFile) + 1;
+        }
+
+        if (Files.exists(walFile)) {
+            for (String record : Files.readAllLines(walFile, StandardCharsets.UTF_8)) {
+                replayWal(record);
+            }
+        }
+        this.wal = openWal();
+    }
+
+    private static int runNumber(Path runFile) {
+        String name = runFile.getFileName().toString();
+        return Integer.parseInt(name.substring("run-".length(), name.length() - ".sst".length()));
+    }
+
+    private BufferedWriter openWal() throws IOException {
+        return Files.newBufferedWriter(walFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void replayWal(String record) {
+        String[] parts = record.split("\t", 3);
+        try {
+            long key = Long.parseLong(parts[1]);
+            if (parts[0].equals("P")) {
+                memtable.put(key, parts[2]);
+            } else if (parts[0].equals("D")) {
+                memtable.put(key, TOMBSTONE);
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            // A torn write at the end of the log; everything before it has been applied
+            System.out.println("Skipping invalid store log record: " + record);
+        }
+    }
+
+    /**
+     * Stores a value under the given key, replacing any previous value.
+     *
+     * @param key   the key.
+     * @param value the value, which must not contain line breaks.
+     * @throws IOException if the write cannot be logged.
+     */
+    void put(long key, String value) throws IOException {
+        wal.write("P\t" + key + "\t" + value);
+        wal.newLine();
+        wal.flush();
+        memtable.put(key, value);
+        flushMemtableIfFull();
+    }
+
+    /**
+     * Deletes the value stored under the given key, if any.
+     *
+     * @param key the key.
+     * @throws IOException if the delete cannot be logged.
+     */
+    void delete(long key) throws IOException {
+        wal.write("D\t" + key);
+        wal.newLine();
+        wal.flush();
+        memtable.put(key, TOMBSTONE);
+        flushMemtableIfFull();
+    }
+
+    /**
+     * Returns the value stored under the given key.
+     *
+     * @param key the key.
+     * @return the value, or {@code null} if there is none.
+     * @throws IOException if a run cannot be read.
+     */
+    String get(long key) throws IOException {
+        String value = memtable.get(key);
+        for (int i = runs.size() - 1; value == null && i >= 0; i--) {
+            value = runs.get(i).get(key);
+        }
+        return TOMBSTONE.equals(value) ? null : value;
+    }
+
+    /**
+     * Returns every live entry in key order.
+     *
+     * @return the entries, sorted by key.
+     * @throws IOException if a run cannot be read.
+     */
+    TreeMap<Long, String> scan() throws IOException {
+        TreeMap<Long, String> entries = new TreeMap<>();
+        for (SortedRun run : runs) {
+            run.readInto(entries);
+        }
+        entries.putAll(memtable);
+        entries.values().removeIf(TOMBSTONE::equals);
+        return entries;
+    }
+
+    @Override
+    public void close() throws IOException {
+        wal.close();
+    }
+
+    private void flushMemtableIfFull() throws IOException {
+        if (memtable.size() < MEMTABLE_LIMIT) {
+            return;
+        }
+        runs.add(SortedRun.write(folder.resolve("run-" + nextRunNumber++ + ".sst"), memtable));
+        memtable.clear();
+        wal.close();
+        Files.deleteIfExists(walFile);
+        wal = openWal();
+
+        if (runs.size() > MAX_RUNS) {
+            mergeRuns();
+        }
+    }
+
+    /**
+     * Merges every run into a single run that takes the place of the oldest one. Deleted keys are
+     * dropped since no older run remains.
+     * <p>
+     * The merged run is moved over the oldest run, and the other runs are then deleted oldest
+     * first. A crash part way through leaves the merged run followed by the newest of the old
+     * runs, whose values and tombstones still win over the merged run and agree with it, so no
+     * deleted key comes back.
+     * </p>
+     */
+    private void mergeRuns() throws IOException {
+        TreeMap<Long, String> merged = new TreeMap<>();
+        for (SortedRun run : runs) {
+            run.readInto(merged);
+        }
+        merged.values().removeIf(TOMBSTONE::equals);
+
+        SortedRun mergedRun = SortedRun.write(runs.get(0).path, merged);
+        for (int i = 1; i < runs.size(); i++) {
+            Files.deleteIfExists(runs.get(i).path);
+        }
+        runs.clear();
+        runs.add(mergedRun);
+    }
+
+    /**
+     * An immutable file of entries sorted by key, one {@code key<TAB>value} line per entry.
+     */
+    private static class SortedRun {
+        private final Path path;
+
+        /** Byte offset of every {@link #INDEX_INTERVAL}-th entry, by key. */
+        private final TreeMap<Long, Long> sparseIndex = new TreeMap<>();
+
+        private SortedRun(Path path) throws IOException {
+            this.path = path;
+            try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+                long offset = 0;
+                int entry = 0;
+                String line;
+                while ((line = file.readLine()) != null) {
+                    if (entry++ % INDEX_INTERVAL == 0) {
+                        sparseIndex.put(parseKey(line), offset);
+                    }
+                    offset = file.getFilePointer();
+                }
+            }
+        }
+
+        static SortedRun write(Path path, Map<Long, String> entries) throws IOException {
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<Long, String> entry : entries.entrySet()) {
+                    writer.write(entry.getKey() + "\t" + entry.getValue());
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new SortedRun(path);
+        }
+
+        String get(long key) throws IOException {
+            Map.Entry<Long, Long> start = sparseIndex.floorEntry(key);
+            if (start == null) {
+                return null;
+            }
+            try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+                file.seek(start.getValue());
+                for (int i = 0; i < INDEX_INTERVAL; i++) {
+                    String line = file.readLine();
+                    if (line == null) {
+                        return null;
+                    }
+                    long lineKey = parseKey(line);
+                    if (lineKey == key) {
+                        return decode(line.substring(line.indexOf('\t') + 1));
+                    } else if (lineKey > key) {
+                        return null;
+                    }
+                }
+            }
+            return null;
+        }
+
+        void readInto(Map<Long, String> entries) throws IOException {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int tab = line.indexOf('\t');
+                    entries.put(Long.parseLong(line.substring(0, tab)), line.substring(tab + 1));
+                }
+            }
+        }
+
+        private static long parseKey(String line) {
+            return Long.parseLong(line.substring(0, line.indexOf('\t')));
+        }
+
+        /**
+         * {@link RandomAccessFile#readLine()} reads one char per byte; turn that back into UTF-8.
+         */
+        private static String decode(String rawValue) {
+            return new String(rawValue.getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.UTF_8);
+        }
+    }
+}
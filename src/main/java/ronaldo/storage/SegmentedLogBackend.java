@@ -0,0 +1,545 @@
+package ronaldo.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import ronaldo.exceptions.RonaldoException;
+import ronaldo.task.Task;
+import ronaldo.task.TaskList;
+
+/**
+ * A {@link StorageBackend} that keeps every change as a checksummed record in a log split into
+ * fixed-size segment files ({@code log/segment-<n>.log}).
+ * <p>
+ * Each record is stored as {@code length(4) crc32c(4) payload}, where the payload is a journal
+ * record such as {@code ADD | <line>} or {@code DELETE | <id>}. A segment is closed once the next
+ * record would take it past {@link #SEGMENT_BYTES}, and a new one is started. Records are never
+ * empty, so a zero length, as in a tail the file system filled with zeros, marks the end of the log.
+ * </p>
+ * <p>
+ * On {@link #load()} every segment is read and validated in parallel, so recovery time grows with
+ * the size of a segment rather than the whole log; only folding the decoded records together is
+ * sequential. A bad record in the tail segment is treated as a torn write: the segment is cut off
+ * there and loading carries on with everything before it. A bad record in an earlier segment is
+ * reported and the rest of that segment skipped.
+ * </p>
+ * <p>
+ * When the log holds much more than the live tasks, loading rewrites the live tasks into a fresh
+ * log, and {@link #replaceAll(TaskList)} does the same with the given tasks. The fresh log is
+ * written to {@code log.new} and then swapped in for {@code log} by renaming the folders, so a
+ * crash leaves either the old log or the new one, and opening the backend finishes or discards an
+ * interrupted swap.
+ * </p>
+ * <p>
+ * Records are written through a {@link WriteBehindQueue}, like the journal of {@link Storage}.
+ * </p>
+ */
+public class SegmentedLogBackend implements StorageBackend {
+
+    /** Size after which a segment is closed and a new one started. */
+    public static final int SEGMENT_BYTES = 1024 * 1024;
+
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    /** Folder holding the segments. */
+    private final Path folder;
+
+    /** Folder a fresh log is written to before it is swapped in. */
+    private final Path newFolder;
+
+    /** Folder the replaced log is moved to while a fresh log is swapped in. */
+    private final Path oldFolder;
+
+    /** Queue through which records are written in the background. */
+    private final WriteBehindQueue writeQueue;
+
+    /** The kind of task list the stored tasks are loaded into. */
+    private final StorageConfig.ListType listType;
+
+    /** Number of the segment being appended to. Guarded by {@code this}. */
+    private long tailNumber;
+
+    /** Open handle on the tail segment, used only by the writer thread. Guarded by {@code this}. */
+    private FileChannel tailChannel;
+
+    /** Current size of the tail segment in bytes. Guarded by {@code this}. */
+    private long tailBytes;
+
+    /**
+     * Constructs a {@code SegmentedLogBackend} storing its segments in the given folder and
+     * loading tasks into a plain task list.
+     *
+     * @param folder the data folder; the segments live in its {@code log} subfolder.
+     * @param policy the policy deciding when queued records are forced to disk.
+     * @throws RonaldoException if the folder cannot be created.
+     */
+    public SegmentedLogBackend(Path folder, DurabilityPolicy policy) throws RonaldoException {
+        this(folder, policy, StorageConfig.ListType.PLAIN);
+    }
+
+    /**
+     * Constructs a {@code SegmentedLogBackend} storing its segments in the given folder.
+     *
+     * @param folder   the data folder; the segments live in its {@code log} subfolder.
+     * @param policy   the policy deciding when queued records are forced to disk.
+     * @param listType the kind of task list to load tasks into.
+     * @throws RonaldoException if the folder cannot be created.
+     */
+    public SegmentedLogBackend(Path folder, DurabilityPolicy policy, StorageConfig.ListType listType)
+            throws RonaldoException {
+        this.listType = listType;
+        this.folder = folder.resolve("log");
+        this.newFolder = folder.resolve("log.new");
+        this.oldFolder = folder.resolve("log.old");
+        try {
+            recoverSwap();
+            Files.createDirectories(this.folder);
+            List<Path> segments = listSegments();
+            this.tailNumber = segments.isEmpty() ? 0 : segmentNumber(segments.get(segments.size() - 1));
+        } catch (IOException e) {
+            throw new RonaldoException("Error opening task log: " + e.getMessage());
+        }
+        this.writeQueue = new WriteBehindQueue(new SegmentWriter(), policy);
+    }
+
+    @Override
+    public void writeTask(String line) throws RonaldoException {
+        appendRecord("ADD" + TaskCodec.SEPARATOR + line, "Error writing task to files.");
+    }
+
+    @Override
+    public void deleteTask(long id) throws RonaldoException {
+        appendRecord("DELETE" + TaskCodec.SEPARATOR + id, "Error deleting task from files.");
+    }
+
+    @Override
+    public void markTask(long id) throws RonaldoException {
+        appendRecord("MARK" + TaskCodec.SEPARATOR + id, "Error marking task in file.");
+    }
+
+    @Override
+    public void unmarkTask(long id) throws RonaldoException {
+        appendRecord("UNMARK" + TaskCodec.SEPARATOR + id, "Error unmarking task in file.");
+    }
+
+    /**
+     * Recovers the tasks from the log, validating and decoding the segments in parallel.
+     *
+     * @return the stored tasks, in ID order.
+     */
+    @Override
+    public ArrayList<Task> load() {
+        try {
+            writeQueue.flush();
+            synchronized (this) {
+                closeTail();
+                List<Path> segments = listSegments();
+                List<Segment> recovered = IntStream.range(0, segments.size())
+                        .parallel()
+                        .mapToObj(i -> Segment.read(segments.get(i), i == segments.size() - 1))
+                        .collect(Collectors.toList());
+
+                TreeMap<Long, String> lines = new TreeMap<>();
+                long logBytes = 0;
+                for (Segment segment : recovered) {
+                    segment.reportDamage();
+                    for (String record : segment.records) {
+                        apply(lines, record);
+                    }
+                    logBytes += segment.validBytes;
+                }
+                if (!recovered.isEmpty()) {
+                    recovered.get(recovered.size() - 1).truncateToValid();
+                }
+
+                // Roughly what the live tasks would take up as ADD records in a fresh log
+                long liveBytes = lines.values().stream()
+                        .mapToLong(line -> RECORD_HEADER_BYTES + "ADD | ".length() + line.length())
+                        .sum();
+                if (logBytes > SEGMENT_BYTES && logBytes > 2 * liveBytes) {
+                    try {
+                        swapInFreshLog(lines.values());
+                    } catch (IOException e) {
+                        // The old log is left in place, so the tasks recovered from it are still the stored ones
+                        System.out.println("Unable to compact task log: " + e.getMessage());
+                    }
+                }
+
+                return lines.values().parallelStream()
+                        .map(TaskCodec::parseTask)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toCollection(ArrayList::new));
+            }
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public TaskList loadTaskList() {
+        return listType.create(load());
+    }
+
+    /**
+     * Replaces the stored tasks by writing them into a fresh log and swapping it in for the old one.
+     * Records still queued are written to the old log first.
+     *
+     * @param tasks the tasks to store, in increasing ID order.
+     * @throws RonaldoException if the fresh log cannot be written or swapped in.
+     */
+    @Override
+    public void replaceAll(TaskList tasks) throws RonaldoException {
+        List<String> lines = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            lines.add(TaskCodec.formatTask(tasks.getTask(i)));
+        }
+        try {
+            writeQueue.flush();
+            synchronized (this) {
+                swapInFreshLog(lines);
+            }
+        } catch (IOException e) {
+            throw new RonaldoException("Error saving tasks to files: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void flush() throws RonaldoException {
+        try {
+            writeQueue.flush();
+        } catch (IOException e) {
+            throw new RonaldoException("Error saving tasks to files: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws RonaldoException {
+        try {
+            writeQueue.close();
+            synchronized (this) {
+                closeTail();
+            }
+        } catch (IOException e) {
+            throw new RonaldoException("Error saving tasks to files: " + e.getMessage());
+        }
+    }
+
+    private void appendRecord(String record, String errorMessage) throws RonaldoException {
+        try {
+            writeQueue.enqueue(record);
+        } catch (IOException e) {
+            throw new RonaldoException(errorMessage);
+        }
+    }
+
+    /**
+     * Applies one decoded record to the stored lines, keyed by task ID.
+     * Records that are malformed or refer to a missing task are reported and skipped.
+     */
+    private static void apply(TreeMap<Long, String> lines, String record) {
+        String[] opAndPayload = record.split(" \\| ", 2);
+        try {
+            String op = opAndPayload[0];
+            String payload = opAndPayload[1];
+            if (op.equals("ADD")) {
+                lines.put(TaskCodec.parseId(payload), payload);
+                return;
+            }
+            long id = Long.parseLong(payload.trim());
+            String line = lines.get(id);
+            if (line == null) {
+                throw new IllegalArgumentException("No task with ID " + id);
+            }
+            switch (op) {
+            case "MARK":
+                lines.put(id, TaskCodec.withStatus(line, true));
+                break;
+            case "UNMARK":
+                lines.put(id, TaskCodec.withStatus(line, false));
+                break;
+            case "DELETE":
+                lines.remove(id);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown log operation: " + op);
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            System.out.println("Skipping invalid log record: " + record);
+        }
+    }
+
+    /**
+     * Writes the given lines as {@code ADD} records into a fresh log in {@link #newFolder}, then
+     * swaps it in for the current log. The current log is only moved aside once the fresh one is
+     * complete and synced, and it is deleted after the fresh one is in place.
+     * <p>
+     * If the swap fails, the current log is left in place and the fresh one is deleted. The tail
+     * is put back on the last segment of the current log, so later records are still appended
+     * after every earlier one rather than into the fresh log or an earlier segment.
+     * </p>
+     *
+     * @param lines the task lines to keep.
+     * @throws IOException if the fresh log cannot be written or moved into place.
+     */
+    private void swapInFreshLog(Collection<String> lines) throws IOException {
+        closeTail();
+        long liveTailNumber = tailNumber;
+        long liveTailBytes = tailBytes;
+        try {
+            deleteFolder(newFolder);
+            Files.createDirectories(newFolder);
+            tailNumber = 0;
+            tailBytes = 0;
+            ArrayList<String> batch = new ArrayList<>();
+            for (String line : lines) {
+                batch.add("ADD" + TaskCodec.SEPARATOR + line);
+                if (batch.size() == 1024) {
+                    writeRecords(newFolder, batch);
+                    batch.clear();
+                }
+            }
+            writeRecords(newFolder, batch);
+            if (tailChannel != null) {
+                tailChannel.force(false);
+            }
+            closeTail();
+
+            Files.move(folder, oldFolder, StandardCopyOption.ATOMIC_MOVE);
+            try {
+                Files.move(newFolder, folder, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                try {
+                    Files.move(oldFolder, folder, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            abandonSwap(e, liveTailNumber, liveTailBytes);
+            throw e;
+        }
+
+        try {
+            deleteFolder(oldFolder);
+        } catch (IOException e) {
+            // The fresh log is in place; what is left of the old one is deleted on the next start
+            System.out.println("Unable to delete old task log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cleans up after a swap that failed before the fresh log was moved into place, putting the
+     * tail back on the current log. The fresh log is only deleted while the current log is in
+     * place; otherwise it is the complete copy that the next start moves into place.
+     * Errors while cleaning up are added to the failure.
+     */
+    private void abandonSwap(Exception failure, long liveTailNumber, long liveTailBytes) {
+        try {
+            closeTail();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+            tailChannel = null;
+        }
+        tailNumber = liveTailNumber;
+        tailBytes = liveTailBytes;
+        try {
+            if (Files.exists(folder)) {
+                deleteFolder(newFolder);
+            }
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Finishes or discards a swap interrupted by a crash. A fresh log that was not yet swapped in
+     * may be incomplete and is deleted; one that was, but not yet renamed to {@code log}, is.
+     */
+    private void recoverSwap() throws IOException {
+        if (Files.exists(newFolder)) {
+            if (Files.exists(folder)) {
+                deleteFolder(newFolder);
+            } else {
+                Files.move(newFolder, folder, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        deleteFolder(oldFolder);
+    }
+
+    private static void deleteFolder(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(path)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(path);
+    }
+
+    /**
+     * Appends records to the tail segment in the given folder, starting a new segment whenever one is full.
+     */
+    private void writeRecords(Path directory, List<String> records) throws IOException {
+        for (String record : records) {
+            byte[] payload = record.getBytes(StandardCharsets.UTF_8);
+            if (tailChannel != null && tailBytes + RECORD_HEADER_BYTES + payload.length > SEGMENT_BYTES) {
+                tailChannel.force(false);
+                closeTail();
+                tailNumber++;
+            }
+            if (tailChannel == null) {
+                Path segment = directory.resolve(String.format("segment-%08d.log", tailNumber));
+                tailChannel = FileChannel.open(segment, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                tailBytes = tailChannel.size();
+            }
+
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.length);
+            buffer.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+            while (buffer.hasRemaining()) {
+                tailChannel.write(buffer);
+            }
+            tailBytes += RECORD_HEADER_BYTES + payload.length;
+        }
+    }
+
+    private void closeTail() throws IOException {
+        if (tailChannel != null) {
+            tailChannel.close();
+            tailChannel = null;
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.filter(path -> path.getFileName().toString().matches("segment-\\d+\\.log"))
+                    .sorted(Comparator.comparingLong(SegmentedLogBackend::segmentNumber))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring("segment-".length(), name.length() - ".log".length()));
+    }
+
+    /**
+     * The records recovered from one segment file.
+     */
+    private static class Segment {
+        private final Path path;
+        private final List<String> records = new ArrayList<>();
+        private final boolean isTail;
+
+        /** Length of the segment up to the end of its last good record. */
+        private long validBytes;
+
+        /** Length of the segment file. */
+        private long fileBytes;
+
+        private Segment(Path path, boolean isTail) {
+            this.path = path;
+            this.isTail = isTail;
+        }
+
+        /**
+         * Reads and validates every record of a segment, stopping at the first bad one
+         * or at a zero length, which only a zero-filled tail can hold.
+         */
+        static Segment read(Path path, boolean isTail) {
+            Segment segment = new Segment(path, isTail);
+            try {
+                ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path));
+                segment.fileBytes = bytes.capacity();
+                CRC32C crc = new CRC32C();
+                while (bytes.remaining() >= RECORD_HEADER_BYTES) {
+                    int length = bytes.getInt();
+                    int checksum = bytes.getInt();
+                    if (length <= 0 || length > bytes.remaining()) {
+                        break;
+                    }
+                    crc.reset();
+                    crc.update(bytes.array(), bytes.position(), length);
+                    if ((int) crc.getValue() != checksum) {
+                        break;
+                    }
+                    segment.records.add(new String(bytes.array(), bytes.position(), length, StandardCharsets.UTF_8));
+                    bytes.position(bytes.position() + length);
+                    segment.validBytes = bytes.position();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return segment;
+        }
+
+        void reportDamage() {
+            if (validBytes == fileBytes) {
+                return;
+            }
+            if (isTail) {
+                System.out.println("Discarding incomplete records at the end of " + path.getFileName()
+                        + " after byte " + validBytes);
+            } else {
+                System.out.println("Skipping corrupt records in " + path.getFileName() + " after byte " + validBytes);
+            }
+        }
+
+        /**
+         * Cuts a damaged tail segment back to its last good record, so new records follow it directly.
+         */
+        void truncateToValid() throws IOException {
+            if (validBytes == fileBytes) {
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+            }
+        }
+    }
+
+    /**
+     * Writes batches of records on behalf of the {@link WriteBehindQueue}.
+     */
+    private class SegmentWriter implements WriteBehindQueue.JournalSink {
+
+        @Override
+        public void append(List<String> records) throws IOException {
+            synchronized (SegmentedLogBackend.this) {
+                writeRecords(folder, records);
+            }
+        }
+
+        @Override
+        public void sync() throws IOException {
+            synchronized (SegmentedLogBackend.this) {
+                if (tailChannel != null) {
+                    tailChannel.force(false);
+                }
+            }
+        }
+    }
+}
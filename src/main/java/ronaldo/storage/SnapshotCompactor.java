@@ -0,0 +1,151 @@
+package ronaldo.storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import ronaldo.task.Task;
+
+/**
+ * Folds journal records into a text snapshot without holding the snapshot in memory.
+ * <p>
+ * Journal records refer to tasks by ID, so the compactor only needs to remember which IDs were
+ * deleted, the new status of snapshot tasks that were marked or unmarked, and the added lines.
+ * The old snapshot is then streamed through once, writing out the surviving lines with the added
+ * ones merged in by ID. Deleted tasks are only physically removed here; until then their
+ * {@code DELETE} record acts as a tombstone.
+ * </p>
+ * <p>
+ * An added line whose ID is already in the snapshot replaces the snapshot's line, so folding a
+ * journal that was already folded (after a crash before the journal was emptied) writes each
+ * task once.
+ * </p>
+ * <p>
+ * Snapshot lines written before tasks had IDs are numbered after the line before them,
+ * and written back with their ID.
+ * </p>
+ */
+class SnapshotCompactor {
+
+    private final Path snapshot;
+
+    /** IDs of snapshot tasks deleted by the journal. */
+    private final HashSet<Long> deleted = new HashSet<>();
+
+    /** New status of snapshot tasks marked or unmarked by the journal, keyed by ID. */
+    private final HashMap<Long, Boolean> statusChanges = new HashMap<>();
+
+    /** Lines added by the journal and not deleted since, keyed by ID. */
+    private final TreeMap<Long, String> addedLines = new TreeMap<>();
+
+    /**
+     * Constructs a compactor for the given snapshot.
+     *
+     * @param snapshot the text snapshot to fold records into.
+     */
+    SnapshotCompactor(Path snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Writes the snapshot with the given journal records applied to {@code target}.
+     *
+     * @param records the journal records, oldest first.
+     * @param target  the file to write the folded snapshot to.
+     * @throws IOException if either file cannot be accessed.
+     */
+    void fold(List<String> records, Path target) throws IOException {
+        for (String record : records) {
+            apply(record);
+        }
+        write(target);
+    }
+
+    private void apply(String record) {
+        if (record.isBlank()) {
+            return;
+        }
+        String[] opAndPayload = record.split(" \\| ", 2);
+        try {
+            String op = opAndPayload[0];
+            String payload = opAndPayload[1];
+            if (op.equals("ADD")) {
+                long id = TaskCodec.parseId(payload);
+                if (id == Task.NO_ID) {
+                    throw new IllegalArgumentException("Added task has no ID");
+                }
+                addedLines.put(id, payload);
+                return;
+            }
+
+            long id = Long.parseLong(payload.trim());
+            String added = addedLines.get(id);
+            switch (op) {
+            case "MARK":
+            case "UNMARK":
+                boolean isDone = op.equals("MARK");
+                if (added != null) {
+                    addedLines.put(id, TaskCodec.withStatus(added, isDone));
+                } else {
+                    statusChanges.put(id, isDone);
+                }
+                break;
+            case "DELETE":
+                addedLines.remove(id);
+                deleted.add(id);
+                statusChanges.remove(id);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown journal operation: " + op);
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            System.out.println("Skipping invalid journal record: " + record);
+        }
+    }
+
+    private void write(Path target) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(snapshot, StandardCharsets.UTF_8);
+                BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            Iterator<Map.Entry<Long, String>> added = addedLines.entrySet().iterator();
+            Map.Entry<Long, String> nextAdded = added.hasNext() ? added.next() : null;
+            String line;
+            long previousId = Task.NO_ID;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                long id = TaskCodec.parseId(line);
+                if (id == Task.NO_ID) {
+                    id = previousId + 1;
+                    line = id + TaskCodec.SEPARATOR + line;
+                }
+                previousId = id;
+                while (nextAdded != null && nextAdded.getKey() <= id) {
+                    writer.write(nextAdded.getValue());
+                    writer.newLine();
+                    nextAdded = added.hasNext() ? added.next() : null;
+                }
+                if (deleted.contains(id) || addedLines.containsKey(id)) {
+                    continue;
+                }
+                Boolean isDone = statusChanges.get(id);
+                writer.write(isDone == null ? line : TaskCodec.withStatus(line, isDone));
+                writer.newLine();
+            }
+            while (nextAdded != null) {
+                writer.write(nextAdded.getValue());
+                writer.newLine();
+                nextAdded = added.hasNext() ? added.next() : null;
+            }
+        }
+    }
+}
@@ -1,25 +1,75 @@
 package ronaldo.storage;
 
-import java.io.FileWriter;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import ronaldo.exceptions.RonaldoException;
-import ronaldo.task.Deadline;
-import ronaldo.task.Event;
-import ronaldo.task.Priority;
+import ronaldo.task.ColumnarTaskList;
+import ronaldo.task.LazyTaskList;
+import ronaldo.task.PagedTaskList;
 import ronaldo.task.Task;
-import ronaldo.task.ToDo;
+import ronaldo.task.TaskList;
 
 /**
  * Handles persistent storage of tasks for the Ronaldo task manager.
- * Creates and manages the storage file, and provides methods
- * to write, delete, and load tasks.
+ * <p>
+ * Tasks are kept in two files: a snapshot ({@code ronaldo.txt}) holding one task per line,
+ * and an append-only journal ({@code ronaldo.journal}) holding the changes made since the
+ * snapshot was last written. Adding, marking, unmarking and deleting a task each append a
+ * single small record to the journal instead of rewriting the whole snapshot. Records refer to
+ * tasks by ID, so a delete leaves the snapshot untouched: its record is a tombstone for the
+ * task's line. {@link #load()} replays the journal on top of the snapshot, and once the journal
+ * grows past {@link #COMPACTION_THRESHOLD_BYTES} the writer thread vacuums it, folding it into
+ * a fresh snapshot that leaves the deleted lines out.
+ * </p>
+ * <p>
+ * Journal records are written behind the caller's back by a {@link WriteBehindQueue}: the
+ * mutating methods return as soon as the record is queued, and a single writer thread appends
+ * queued records in batches, syncing them according to a {@link DurabilityPolicy}.
+ * Call {@link #flush()} to wait for everything queued so far, and {@link #close()} on exit.
+ * </p>
+ * <p>
+ * {@link #loadTaskList()} loads the tasks into the {@link StorageConfig.ListType} given when the
+ * storage is constructed. For {@link StorageConfig.ListType#LAZY}, every snapshot is also written
+ * as a {@link BinarySnapshot} ({@code ronaldo.bin}), which is mapped instead of parsing the text
+ * file, building tasks only as they are used. For {@link StorageConfig.ListType#PAGED}, the
+ * returned {@link PagedTaskList} reads tasks from the text snapshot through a line-offset index.
+ * </p>
+ * <p>
+ * When the {@value #COLD_STORAGE_PROPERTY} system property is {@code true}, closing the storage
+ * moves completed tasks at least {@link #COLD_AGE_TASKS} tasks older than the newest one into a
+ * compressed {@link ColdStore} archive ({@code ronaldo.cold}). Archived tasks are not loaded at
+ * start up; {@link #findArchivedTasks(String)} searches them instead. Tasks are only archived
+ * while no task list holds them, at close or before a paged list is opened, so a task the user
+ * can still unmark or delete never leaves the snapshot.
+ * </p>
  */
-public class Storage {
+public class Storage implements StorageBackend {
+
+    /** Journal size (in bytes) after which the journal is compacted into the snapshot. */
+    public static final long COMPACTION_THRESHOLD_BYTES = 64 * 1024;
+
+    /** System property that enables archiving old completed tasks into cold storage. */
+    public static final String COLD_STORAGE_PROPERTY = "ronaldo.storage.cold";
+
+    /**
+     * How many tasks must have been added after a completed task before it is archived.
+     * Tasks carry no timestamps, so a task's age is measured in the IDs given out since.
+     */
+    public static final long COLD_AGE_TASKS = 1000;
 
     /** Path to the folder containing the storage file. */
     protected final Path folder;
@@ -27,13 +77,90 @@ public class Storage {
     /** Path to the storage file where tasks are saved. */
     protected final Path file;
 
+    /** Path to the journal file holding changes not yet folded into {@link #file}. */
+    protected final Path journal;
+
+    /** Path to the binary copy of the snapshot. */
+    protected final Path binaryFile;
+
+    /** Path to the archive of old completed tasks. */
+    protected final Path coldFile;
+
+    /** The kind of task list the stored tasks are loaded into. */
+    private final StorageConfig.ListType listType;
+
+    /** Whether a binary copy of the snapshot is kept alongside the text snapshot. */
+    private final boolean isBinaryEnabled;
+
+    /** Whether closing the storage moves old completed tasks into the archive. */
+    private final boolean isColdEnabled;
+
+    /** The archive, opened when first needed. Guarded by {@code this}. */
+    private ColdStore coldStore;
+
+    /** Current size of the journal in bytes, tracked to avoid querying the file system. */
+    private long journalBytes;
+
+    /** Open handle on the journal, used only by the writer thread. Guarded by {@code this}. */
+    private FileChannel journalChannel;
+
+    /**
+     * The source of the paged list loaded last, held open until the list is loaded again or the
+     * storage is closed. Guarded by {@code this}.
+     */
+    private LineIndexedSource pagedSource;
+
+    /** Queue through which journal records are written in the background. */
+    private final WriteBehindQueue writeQueue;
+
     /**
-     * Constructs a {@code Storage} object.
+     * Constructs a {@code Storage} object using the durability policy chosen
+     * through the {@value DurabilityPolicy#PROPERTY} system property.
      * Ensures that the storage folder and file are created if they do not exist.
      */
     public Storage() {
-        this.folder = Path.of("./data");
+        this(DurabilityPolicy.fromSystemProperties());
+    }
+
+    /**
+     * Constructs a {@code Storage} object that syncs journal writes according to the given policy.
+     * Ensures that the storage folder and file are created if they do not exist.
+     *
+     * @param policy the policy deciding when queued writes are forced to disk.
+     */
+    public Storage(DurabilityPolicy policy) {
+        this(Path.of("./data"), policy);
+    }
+
+    /**
+     * Constructs a {@code Storage} object keeping its files in the given folder and loading
+     * tasks into a plain task list.
+     * Ensures that the storage folder and file are created if they do not exist.
+     *
+     * @param folder the folder holding the snapshot and journal.
+     * @param policy the policy deciding when queued writes are forced to disk.
+     */
+    public Storage(Path folder, DurabilityPolicy policy) {
+        this(folder, policy, StorageConfig.ListType.PLAIN);
+    }
+
+    /**
+     * Constructs a {@code Storage} object keeping its files in the given folder.
+     * Ensures that the storage folder and file are created if they do not exist.
+     *
+     * @param folder   the folder holding the snapshot and journal.
+     * @param policy   the policy deciding when queued writes are forced to disk.
+     * @param listType the kind of task list to load tasks into.
+     */
+    public Storage(Path folder, DurabilityPolicy policy, StorageConfig.ListType listType) {
+        this.folder = folder;
         this.file = folder.resolve("ronaldo.txt");
+        this.journal = folder.resolve("ronaldo.journal");
+        this.binaryFile = folder.resolve("ronaldo.bin");
+        this.coldFile = folder.resolve("ronaldo.cold");
+        this.listType = listType;
+        this.isBinaryEnabled = listType == StorageConfig.ListType.LAZY;
+        this.isColdEnabled = Boolean.getBoolean(COLD_STORAGE_PROPERTY);
 
         try {
             if (!Files.exists(folder)) {
@@ -44,9 +171,12 @@ public class Storage {
                 System.out.println("file not found");
                 Files.createFile(file);
             }
+            this.journalBytes = Files.exists(journal) ? Files.size(journal) : 0;
         } catch (IOException e) {
             e.printStackTrace();
         }
+
+        this.writeQueue = new WriteBehindQueue(new JournalWriter(), policy);
     }
 
     /**
@@ -54,170 +184,591 @@ public class Storage {
      *
      * @param line the string representation of the task to be stored.
      */
+    @Override
     public void writeTask(String line) throws RonaldoException {
-        try (FileWriter writer = new FileWriter(this.file.toFile(), true)) {
-            writer.write(line + System.lineSeparator());
+        appendRecord(JournalOp.ADD, line, "Error writing task to files.");
+    }
+
+    /**
+     * Deletes a task from the storage file by recording a tombstone for its ID.
+     *
+     * @param id the ID of the task to delete.
+     * @throws RonaldoException if the ID is invalid or an I/O error occurs.
+     */
+    @Override
+    public void deleteTask(long id) throws RonaldoException {
+        checkId(id);
+        appendRecord(JournalOp.DELETE, String.valueOf(id), "Error deleting task from files.");
+    }
+
+    /**
+     * Marks a task as done in the storage file by its ID.
+     *
+     * @param id the ID of the task to mark as done.
+     * @throws RonaldoException if the ID is invalid or an I/O error occurs.
+     */
+    @Override
+    public void markTask(long id) throws RonaldoException {
+        checkId(id);
+        appendRecord(JournalOp.MARK, String.valueOf(id), "Error marking task in file.");
+    }
+
+    /**
+     * Unmarks a task (sets it as not done) in the storage file by its ID.
+     *
+     * @param id the ID of the task to unmark.
+     * @throws RonaldoException if the ID is invalid or an I/O error occurs.
+     */
+    @Override
+    public void unmarkTask(long id) throws RonaldoException {
+        checkId(id);
+        appendRecord(JournalOp.UNMARK, String.valueOf(id), "Error unmarking task in file.");
+    }
+
+    /**
+     * Deletes several tasks by recording a tombstone for each, all in one write to the journal.
+     *
+     * @param ids the IDs of the tasks to delete.
+     * @throws RonaldoException if an ID is invalid or an I/O error occurs.
+     */
+    @Override
+    public void deleteTasks(long[] ids) throws RonaldoException {
+        appendRecords(JournalOp.DELETE, ids, "Error deleting tasks from files.");
+    }
+
+    /**
+     * Marks several tasks as done, recording them all in one write to the journal.
+     *
+     * @param ids the IDs of the tasks to mark as done.
+     * @throws RonaldoException if an ID is invalid or an I/O error occurs.
+     */
+    @Override
+    public void markTasks(long[] ids) throws RonaldoException {
+        appendRecords(JournalOp.MARK, ids, "Error marking tasks in file.");
+    }
+
+    /**
+     * Marks several tasks as not done, recording them all in one write to the journal.
+     *
+     * @param ids the IDs of the tasks to unmark.
+     * @throws RonaldoException if an ID is invalid or an I/O error occurs.
+     */
+    @Override
+    public void unmarkTasks(long[] ids) throws RonaldoException {
+        appendRecords(JournalOp.UNMARK, ids, "Error unmarking tasks in file.");
+    }
+
+    /**
+     * Loads tasks from the storage file into memory.
+     * Reconstructs task objects (ToDos, Deadlines, Events) from their stored string representations,
+     * after replaying any journal records on top of the snapshot.
+     * Large snapshots are parsed in parallel by a {@link ChunkedTextLoader}.
+     * Snapshot lines written before tasks had IDs are numbered in order and rewritten with their IDs.
+     *
+     * @return an Arraylist of tasks loaded from the file. Returns an empty list if the file is empty.
+     */
+    @Override
+    public ArrayList<Task> load() {
+        try {
+            writeQueue.flush();
+            synchronized (this) {
+                ChunkedTextLoader loader = new ChunkedTextLoader(TaskCodec::parseTask);
+                ArrayList<Task> tasks = loader.load(file);
+                boolean hasLegacyLines = false;
+                long previousId = Task.NO_ID;
+                for (Task task : tasks) {
+                    if (task.getId() == Task.NO_ID) {
+                        task.setId(previousId + 1);
+                        hasLegacyLines = true;
+                    }
+                    previousId = task.getId();
+                }
+                if (Files.exists(journal)) {
+                    TreeMap<Long, Task> byId = new TreeMap<>();
+                    for (Task task : tasks) {
+                        byId.put(task.getId(), task);
+                    }
+                    for (String record : Files.readAllLines(journal)) {
+                        replay(byId, record);
+                    }
+                    tasks = new ArrayList<>(byId.values());
+                }
+
+                if (journalBytes > COMPACTION_THRESHOLD_BYTES || loader.getSkippedLines() > 0 || hasLegacyLines) {
+                    writeSnapshot(tasks.stream()
+                            .map(TaskCodec::formatTask)
+                            .collect(Collectors.toList()));
+                }
+                return tasks;
+            }
         } catch (IOException e) {
-            throw new RonaldoException("Error writing task to files.");
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Loads the stored tasks into the kind of {@link TaskList} this storage was constructed with.
+     * <p>
+     * For a lazy list, if the binary snapshot is up to date and there are no journal records to
+     * replay, the returned list reads tasks from the mapped binary snapshot as they are needed.
+     * For a paged list, the journal is folded into the snapshot and the returned list pages tasks
+     * in from the text snapshot; loading again or closing the storage closes the file the list
+     * before it read from. For a columnar list, the journal is folded into the snapshot and each
+     * task is copied into the columns as it is parsed, so the tasks are never all held as objects.
+     * If any of these cannot be read, and for every other kind of list, every task is parsed up
+     * front through {@link #load()}.
+     * Archived tasks are never loaded, but their IDs are kept from being given out again.
+     * </p>
+     *
+     * @return the list of stored tasks.
+     */
+    @Override
+    public TaskList loadTaskList() {
+        TaskList taskList = loadSnapshotTaskList();
+        if (Files.exists(coldFile)) {
+            try {
+                synchronized (this) {
+                    taskList.reserveIds(openColdStore().getLastId());
+                }
+            } catch (IOException e) {
+                System.out.println("Unable to read task archive: " + e.getMessage());
+            }
         }
+        return taskList;
+    }
+
+    private TaskList loadSnapshotTaskList() {
+        if (listType == StorageConfig.ListType.LAZY) {
+            try {
+                writeQueue.flush();
+                synchronized (this) {
+                    BinarySnapshot snapshot = journalBytes == 0 ? BinarySnapshot.open(binaryFile, file) : null;
+                    if (snapshot != null) {
+                        return new LazyTaskList(snapshot);
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println("Unable to read binary snapshot, falling back to text: " + e.getMessage());
+            }
+        }
+        if (listType == StorageConfig.ListType.PAGED) {
+            try {
+                writeQueue.flush();
+                synchronized (this) {
+                    // Release the snapshot the list before read from, so it can be replaced
+                    closePagedSource();
+                    if (journalBytes > 0 || hasLegacySnapshot() || isColdEnabled) {
+                        // No task list holds the tasks yet, so old completed ones can be archived
+                        foldJournal(isColdEnabled);
+                    }
+                    pagedSource = LineIndexedSource.open(file);
+                    return new PagedTaskList(pagedSource);
+                }
+            } catch (IOException e) {
+                System.out.println("Unable to page tasks from file, loading them all: " + e.getMessage());
+            }
+        }
+        if (listType == StorageConfig.ListType.COLUMNAR) {
+            try {
+                writeQueue.flush();
+                synchronized (this) {
+                    if (journalBytes > 0 || hasLegacySnapshot()) {
+                        // Fold the journal on disk, so the snapshot holds every task with its ID
+                        foldJournal(false);
+                    }
+                    ColumnarTaskList taskList = new ColumnarTaskList(new ArrayList<>());
+                    new ChunkedTextLoader(TaskCodec::parseTask).forEach(file, taskList::addTask);
+                    return taskList;
+                }
+            } catch (IOException e) {
+                System.out.println("Unable to read tasks into columns, loading them all: " + e.getMessage());
+            }
+        }
+        return listType.create(load());
     }
 
     /**
-     * Deletes a task from the storage file by its index.
+     * Replaces the stored tasks by writing the given list as a new snapshot and emptying the journal.
+     * Changes still queued for the journal are written first, and the snapshot is moved into place
+     * in one step. Archived tasks are left as they are.
      *
-     * @param index the zero-based index of the task to delete.
+     * @param tasks the tasks to store, in increasing ID order.
+     * @throws RonaldoException if the snapshot cannot be written.
      */
-    public void deleteTask(int index) throws RonaldoException {
+    @Override
+    public void replaceAll(TaskList tasks) throws RonaldoException {
+        List<String> lines = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            lines.add(TaskCodec.formatTask(tasks.getTask(i)));
+        }
         try {
-            ArrayList<String> lines = new ArrayList<>(Files.readAllLines(file));
-            lines.remove(index);
-            Files.write(file, lines);
+            writeQueue.flush();
+            synchronized (this) {
+                writeSnapshot(lines);
+            }
         } catch (IOException e) {
-            throw new RonaldoException("Error deleting task from files.");
+            throw new RonaldoException("Error saving tasks to files: " + e.getMessage());
         }
     }
 
     /**
-     * Marks a task as done in the storage file by its index.
-     * Updates the boolean value in the second column from false to true.
+     * Returns archived tasks whose description contains the given keyword.
+     * Only the archive blocks that may hold a match are decompressed.
      *
-     * @param index the zero-based index of the task to mark as done.
-     * @throws RonaldoException if the index is invalid or an I/O error occurs.
+     * @param keyword the keyword to search for.
+     * @return the matching archived tasks.
+     * @throws RonaldoException if the archive cannot be read.
      */
-    public void markTask(int index) throws RonaldoException {
+    @Override
+    public synchronized ArrayList<Task> findArchivedTasks(String keyword) throws RonaldoException {
+        if (!Files.exists(coldFile)) {
+            return new ArrayList<>();
+        }
         try {
-            // Read all lines from the file
-            ArrayList<String> lines = new ArrayList<>(Files.readAllLines(file));
+            return openColdStore().find(keyword);
+        } catch (IOException e) {
+            throw new RonaldoException("Error reading task archive: " + e.getMessage());
+        }
+    }
 
-            // Check if index is valid
-            if (index < 0 || index >= lines.size()) {
-                throw new RonaldoException("Invalid task index: " + index);
+    /**
+     * Folds the journal into the snapshot file and empties the journal.
+     *
+     * @throws RonaldoException if the snapshot cannot be rewritten.
+     */
+    public void compact() throws RonaldoException {
+        try {
+            writeQueue.flush();
+            synchronized (this) {
+                foldJournal(false);
             }
+        } catch (IOException e) {
+            throw new RonaldoException("Error compacting task file: " + e.getMessage());
+        }
+    }
 
-            // Get the specific line to modify
-            String line = lines.get(index);
-            String[] parts = line.split(" \\| ");
+    /**
+     * Blocks until every change made so far has been written and synced to disk.
+     *
+     * @throws RonaldoException if a queued change could not be written.
+     */
+    @Override
+    public void flush() throws RonaldoException {
+        try {
+            writeQueue.flush();
+        } catch (IOException e) {
+            throw new RonaldoException("Error saving tasks to files: " + e.getMessage());
+        }
+    }
 
-            // Check if the line has the expected format
-            if (parts.length < 3) {
-                throw new RonaldoException("Invalid task format at index: " + index);
+    /**
+     * Flushes outstanding changes and releases the journal.
+     * Further changes cannot be recorded once the storage is closed.
+     *
+     * @throws RonaldoException if a queued change could not be written.
+     */
+    @Override
+    public void close() throws RonaldoException {
+        try {
+            writeQueue.close();
+            synchronized (this) {
+                closeJournalChannel();
+                closePagedSource();
+                if (isBinaryEnabled || isColdEnabled) {
+                    // Leave an up to date binary snapshot, or a snapshot without old completed tasks,
+                    // behind for the next start up
+                    foldJournal(isColdEnabled);
+                }
             }
+        } catch (IOException e) {
+            throw new RonaldoException("Error saving tasks to files: " + e.getMessage());
+        }
+    }
 
-            // Update the status from false to true
-            parts[1] = "true";
+    /**
+     * Queues a single record for the journal. The record is written by the writer thread.
+     *
+     * @param op           the kind of change being recorded.
+     * @param payload      the task line or ID the change applies to.
+     * @param errorMessage the message to report if the record cannot be queued.
+     * @throws RonaldoException if an earlier write failed or the storage is closed.
+     */
+    private void appendRecord(JournalOp op, String payload, String errorMessage) throws RonaldoException {
+        try {
+            writeQueue.enqueue(op.name() + TaskCodec.SEPARATOR + payload);
+        } catch (IOException e) {
+            throw new RonaldoException(errorMessage);
+        }
+    }
 
-            // Reconstruct the line
-            String updatedLine = String.join(" | ", parts);
+    /**
+     * Queues a record for each of several tasks. The records are queued together, so the writer
+     * thread appends them to the journal in the same batch.
+     *
+     * @param op           the kind of change being recorded.
+     * @param ids          the IDs of the tasks the change applies to.
+     * @param errorMessage the message to report if the records cannot be queued.
+     * @throws RonaldoException if an ID is invalid, an earlier write failed or the storage is closed.
+     */
+    private void appendRecords(JournalOp op, long[] ids, String errorMessage) throws RonaldoException {
+        if (ids.length == 0) {
+            return;
+        }
+        List<String> records = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            checkId(id);
+            records.add(op.name() + TaskCodec.SEPARATOR + id);
+        }
+        try {
+            writeQueue.enqueue(records);
+        } catch (IOException e) {
+            throw new RonaldoException(errorMessage);
+        }
+    }
 
-            // Replace the old line with the updated one
-            lines.set(index, updatedLine);
+    private static void checkId(long id) throws RonaldoException {
+        if (id <= Task.NO_ID) {
+            throw new RonaldoException("Invalid task ID: " + id);
+        }
+    }
 
-            // Write all lines back to the file
-            Files.write(file, lines);
+    private void closeJournalChannel() throws IOException {
+        if (journalChannel != null) {
+            journalChannel.close();
+            journalChannel = null;
+        }
+    }
 
-        } catch (IOException e) {
-            throw new RonaldoException("Error marking task in file: " + e.getMessage());
+    /**
+     * Closes the source of the paged list loaded last. That list can no longer read its tasks.
+     */
+    private void closePagedSource() throws IOException {
+        if (pagedSource != null) {
+            pagedSource.close();
+            pagedSource = null;
         }
     }
 
     /**
-     * Unmarks a task (sets it as not done) in the storage file by its index.
-     * Updates the boolean value in the second column from true to false.
+     * Returns whether the snapshot was written before tasks had IDs.
+     * Snapshots are always written whole, so checking the first line is enough.
+     */
+    private boolean hasLegacySnapshot() throws IOException {
+        try (Stream<String> lines = Files.lines(file)) {
+            return lines.filter(line -> !line.isBlank())
+                    .findFirst()
+                    .map(line -> TaskCodec.parseId(line) == Task.NO_ID)
+                    .orElse(false);
+        }
+    }
+
+    /**
+     * Applies one journal record to the given loaded tasks.
+     * Records that are malformed or refer to a missing task are reported and skipped.
+     * <p>
+     * Applying a journal twice gives the same tasks as applying it once: an added task that is
+     * already loaded is left as it is, and the other records set a task's state rather than
+     * change it relative to before. A journal left behind by a crash just after its records were
+     * folded into the snapshot is therefore harmless.
+     * </p>
      *
-     * @param index the zero-based index of the task to unmark.
-     * @throws RonaldoException if the index is invalid or an I/O error occurs.
+     * @param tasks  the loaded tasks to update, keyed by ID.
+     * @param record the journal record to apply.
      */
-    public void unmarkTask(int index) throws RonaldoException {
+    private static void replay(TreeMap<Long, Task> tasks, String record) {
+        if (record.trim().isEmpty()) {
+            return;
+        }
+        String[] opAndPayload = record.split(" \\| ", 2);
         try {
-            // Read all lines from the file
-            ArrayList<String> lines = new ArrayList<>(Files.readAllLines(file));
-
-            // Check if index is valid
-            if (index < 0 || index >= lines.size()) {
-                throw new RonaldoException("Invalid task index: " + index);
+            JournalOp op = JournalOp.valueOf(opAndPayload[0]);
+            String payload = opAndPayload[1];
+            if (op == JournalOp.ADD) {
+                Task task = TaskCodec.parseTask(payload);
+                if (task != null) {
+                    if (task.getId() == Task.NO_ID) {
+                        task.setId(tasks.isEmpty() ? 1 : tasks.lastKey() + 1);
+                    }
+                    tasks.putIfAbsent(task.getId(), task);
+                }
+                return;
             }
 
-            // Get the specific line to modify
-            String line = lines.get(index);
-            String[] parts = line.split(" \\| ");
-
-            // Check if the line has the expected format
-            if (parts.length < 3) {
-                throw new RonaldoException("Invalid task format at index: " + index);
+            long id = Long.parseLong(payload.trim());
+            Task task = tasks.get(id);
+            if (task == null) {
+                throw new IndexOutOfBoundsException("No task with ID " + id);
             }
+            switch (op) {
+            case MARK:
+                task.markAsDone();
+                break;
+            case UNMARK:
+                task.unmark();
+                break;
+            case DELETE:
+                tasks.remove(id);
+                break;
+            default:
+                break;
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            System.out.println("Skipping invalid journal record: " + record);
+        }
+    }
 
-            // Update the status from true to false
-            parts[1] = "false";
+    /**
+     * Replaces the snapshot with the given lines and empties the journal.
+     * The snapshot is written to a temporary file first so a crash never leaves it half written.
+     *
+     * @param lines the task lines to store.
+     * @throws IOException if the snapshot cannot be written.
+     */
+    private void writeSnapshot(List<String> lines) throws IOException {
+        Path temp = folder.resolve("ronaldo.txt.tmp");
+        Files.write(temp, lines);
+        replaceSnapshot(temp);
+    }
 
-            // Reconstruct the line
-            String updatedLine = String.join(" | ", parts);
+    /**
+     * Folds the journal into the snapshot without loading the snapshot into memory,
+     * then empties the journal.
+     * <p>
+     * Old completed tasks must only be archived while no task list holds them. Otherwise a later
+     * unmark or delete of an archived task would be journalled against a task the snapshot no
+     * longer has, and silently lost.
+     * </p>
+     *
+     * @param shouldArchive whether old completed tasks are moved into the archive.
+     * @throws IOException if the snapshot cannot be rewritten.
+     */
+    private void foldJournal(boolean shouldArchive) throws IOException {
+        List<String> records = Files.exists(journal) ? Files.readAllLines(journal) : List.of();
+        Path temp = folder.resolve("ronaldo.txt.tmp");
+        new SnapshotCompactor(file).fold(records, temp);
+        if (shouldArchive) {
+            temp = archiveColdTasks(temp);
+        }
+        replaceSnapshot(temp);
+    }
 
-            // Replace the old line with the updated one
-            lines.set(index, updatedLine);
+    /**
+     * Moves the old completed tasks of a freshly written snapshot into the archive.
+     * The archive is synced before the snapshot without them is returned, so a crash in between
+     * can only leave a task in both places, never in neither.
+     *
+     * @param snapshot the new snapshot.
+     * @return the new snapshot without the archived tasks.
+     * @throws IOException if either file cannot be written.
+     */
+    private Path archiveColdTasks(Path snapshot) throws IOException {
+        long lastId;
+        try (Stream<String> lines = Files.lines(snapshot)) {
+            lastId = lines.mapToLong(TaskCodec::parseId).max().orElse(Task.NO_ID);
+        }
+        long coldBefore = lastId - COLD_AGE_TASKS;
+        if (coldBefore <= Task.NO_ID) {
+            return snapshot;
+        }
 
-            // Write all lines back to the file
-            Files.write(file, lines);
+        Path hot = folder.resolve("ronaldo.txt.hot.tmp");
+        try (BufferedReader reader = Files.newBufferedReader(snapshot, StandardCharsets.UTF_8);
+                BufferedWriter writer = Files.newBufferedWriter(hot, StandardCharsets.UTF_8);
+                ColdStore.BlockWriter cold = openColdStore().append()) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Task task = TaskCodec.parseTask(line);
+                if (task != null && task.isDone() && task.getId() <= coldBefore) {
+                    cold.add(line);
+                } else if (!line.isBlank()) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+        }
+        Files.delete(snapshot);
+        return hot;
+    }
 
-        } catch (IOException e) {
-            throw new RonaldoException("Error unmarking task in file: " + e.getMessage());
+    private ColdStore openColdStore() throws IOException {
+        if (coldStore == null) {
+            coldStore = ColdStore.open(coldFile);
         }
+        return coldStore;
     }
 
     /**
-     * Loads tasks from the storage file into memory.
-     * Reconstructs task objects (ToDos, Deadlines, Events) from their stored string representations.
+     * Moves a freshly written snapshot into place, empties the journal and,
+     * if enabled, refreshes the binary copy.
+     * A crash between the move and emptying the journal leaves records that are already in the
+     * new snapshot; they are replayed again on the next load, which leaves the tasks unchanged.
      *
-     * @return an Arraylist of tasks loaded from the file. Returns an empty list if the file is empty.
+     * @param temp the new snapshot.
+     * @throws IOException if the snapshot cannot be moved into place.
      */
-    public ArrayList<Task> load() {
-        try {
-            return Files.readAllLines(file).stream()
-                    .map(line -> {
-                        if (line.trim().isEmpty()) {
-                            return null; // skip blank lines
-                        }
-                        String[] parts = line.split(" \\| ");
-                        String type = parts[0];
-                        boolean isDone = Boolean.parseBoolean(parts[1]);
-                        Task task = null;
-
-                        try {
-                            Priority priority = Priority.fromString(parts[2]);
-
-                            switch (type) {
-                            case "T":
-                                task = new ToDo(parts[3]);
-                                task.setPriority(priority);
-                                break;
-                            case "D":
-                                task = new Deadline(parts[3], parts[4]);
-                                task.setPriority(priority);
-                                break;
-                            case "E":
-                                String[] time = parts[4].split(" - ");
-                                task = new Event(parts[3], time[0], time[1]);
-                                task.setPriority(priority);
-                                break;
-                            default:
-                                System.out.println("Unknown task type: " + type);
-                            }
-
-                            if (task != null && isDone) {
-                                task.markAsDone();
-                            }
-                        } catch (IllegalArgumentException e) {
-                            System.out.println("Invalid priority in saved task: " + parts[2]);
-                        }
-
-                        return task;
-                    })
-                    .filter(task -> task != null) // drop unknown types
-                    .collect(Collectors.toCollection(ArrayList::new));
-        } catch (IOException e) {
-            e.printStackTrace();
-            return new ArrayList<>();
+    private void replaceSnapshot(Path temp) throws IOException {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        closeJournalChannel();
+        Files.deleteIfExists(journal);
+        journalBytes = 0;
+
+        if (isBinaryEnabled) {
+            try {
+                BinarySnapshot.write(binaryFile, Files.readAllLines(file), file);
+            } catch (IOException e) {
+                // The text snapshot is authoritative; a missing binary copy only costs start up time
+                System.out.println("Unable to write binary snapshot: " + e.getMessage());
+            }
         }
     }
 
+    /**
+     * Writes batches of journal records on behalf of the {@link WriteBehindQueue}.
+     * Folds the journal into the snapshot once it passes the compaction threshold.
+     */
+    private class JournalWriter implements WriteBehindQueue.JournalSink {
+
+        @Override
+        public void append(List<String> records) throws IOException {
+            StringBuilder batch = new StringBuilder();
+            for (String record : records) {
+                batch.append(record).append(System.lineSeparator());
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8));
+
+            synchronized (Storage.this) {
+                if (journalChannel == null) {
+                    journalChannel = FileChannel.open(journal, StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                }
+                journalBytes += buffer.remaining();
+                while (buffer.hasRemaining()) {
+                    journalChannel.write(buffer);
+                }
+                if (journalBytes > COMPACTION_THRESHOLD_BYTES) {
+                    foldJournal(false);
+                }
+            }
+        }
+
+        @Override
+        public void sync() throws IOException {
+            synchronized (Storage.this) {
+                if (journalChannel != null) {
+                    journalChannel.force(false);
+                }
+            }
+        }
+    }
 
+    /**
+     * The kinds of change recorded in the journal.
+     */
+    private enum JournalOp {
+        ADD,
+        MARK,
+        UNMARK,
+        DELETE
+    }
 }
@@ -0,0 +1,167 @@
+package ronaldo.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ronaldo.exceptions.RonaldoException;
+import ronaldo.task.Task;
+import ronaldo.task.TaskList;
+
+/**
+ * Persists the tasks of the Ronaldo task manager.
+ * <p>
+ * Commands record their changes through this interface, so the way tasks are persisted can be
+ * chosen per deployment through {@link StorageConfig}. Tasks are addressed by their persistent
+ * ID ({@link Task#getId()}) rather than their position in the list, so a change never depends on
+ * the tasks before it. Added tasks are passed in the stored line format, which includes the ID.
+ * </p>
+ */
+public interface StorageBackend {
+
+    /**
+     * Stores a task. A newly added task has an ID greater than that of every stored task, but a
+     * task brought back by undo keeps its old ID; either way, loading returns tasks in ID order.
+     *
+     * @param line the stored line representing the task.
+     * @throws RonaldoException if the task cannot be stored.
+     */
+    void writeTask(String line) throws RonaldoException;
+
+    /**
+     * Deletes a stored task.
+     *
+     * @param id the ID of the task to delete.
+     * @throws RonaldoException if the task cannot be deleted.
+     */
+    void deleteTask(long id) throws RonaldoException;
+
+    /**
+     * Marks a stored task as done.
+     *
+     * @param id the ID of the task to mark.
+     * @throws RonaldoException if the task cannot be updated.
+     */
+    void markTask(long id) throws RonaldoException;
+
+    /**
+     * Marks a stored task as not done.
+     *
+     * @param id the ID of the task to unmark.
+     * @throws RonaldoException if the task cannot be updated.
+     */
+    void unmarkTask(long id) throws RonaldoException;
+
+    /**
+     * Deletes several stored tasks. By default they are deleted one at a time.
+     *
+     * @param ids the IDs of the tasks to delete.
+     * @throws RonaldoException if a task cannot be deleted.
+     */
+    default void deleteTasks(long[] ids) throws RonaldoException {
+        for (long id : ids) {
+            deleteTask(id);
+        }
+    }
+
+    /**
+     * Marks several stored tasks as done. By default they are marked one at a time.
+     *
+     * @param ids the IDs of the tasks to mark.
+     * @throws RonaldoException if a task cannot be updated.
+     */
+    default void markTasks(long[] ids) throws RonaldoException {
+        for (long id : ids) {
+            markTask(id);
+        }
+    }
+
+    /**
+     * Marks several stored tasks as not done. By default they are unmarked one at a time.
+     *
+     * @param ids the IDs of the tasks to unmark.
+     * @throws RonaldoException if a task cannot be updated.
+     */
+    default void unmarkTasks(long[] ids) throws RonaldoException {
+        for (long id : ids) {
+            unmarkTask(id);
+        }
+    }
+
+    /**
+     * Stores tasks that were deleted and have been brought back, such as by undo, under their
+     * old IDs. By default they are written one at a time.
+     *
+     * @param tasks the tasks to store.
+     * @throws RonaldoException if a task cannot be stored.
+     */
+    default void restoreTasks(List<Task> tasks) throws RonaldoException {
+        for (Task task : tasks) {
+            writeTask(TaskCodec.formatTask(task));
+        }
+    }
+
+    /**
+     * Loads every stored task, in increasing ID order.
+     *
+     * @return the stored tasks. Returns an empty list if nothing is stored.
+     */
+    ArrayList<Task> load();
+
+    /**
+     * Loads the stored tasks into a {@link TaskList}.
+     * Backends that can avoid building every task up front may return a specialised list.
+     *
+     * @return the list of stored tasks.
+     */
+    default TaskList loadTaskList() {
+        return new TaskList(load());
+    }
+
+    /**
+     * Replaces every stored task with the tasks in the given list.
+     * <p>
+     * Backends that write a whole new file replace the stored tasks in one step, so a crash
+     * leaves either all of the old tasks or all of the new ones. By default, the stored tasks are
+     * deleted and the listed ones written one at a time, which is not atomic.
+     * </p>
+     *
+     * @param tasks the tasks to store, in increasing ID order.
+     * @throws RonaldoException if the tasks cannot be stored.
+     */
+    default void replaceAll(TaskList tasks) throws RonaldoException {
+        for (Task task : load()) {
+            deleteTask(task.getId());
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            writeTask(TaskCodec.formatTask(tasks.getTask(i)));
+        }
+    }
+
+    /**
+     * Returns archived tasks whose description contains the given keyword.
+     * Archived tasks are kept by the backend but not loaded into the task list.
+     *
+     * @param keyword the keyword to search for.
+     * @return the matching archived tasks. Backends without an archive return an empty list.
+     * @throws RonaldoException if the archive cannot be read.
+     */
+    default ArrayList<Task> findArchivedTasks(String keyword) throws RonaldoException {
+        return new ArrayList<>();
+    }
+
+    /**
+     * Blocks until every change made so far is durable.
+     *
+     * @throws RonaldoException if a change could not be persisted.
+     */
+    default void flush() throws RonaldoException {
+    }
+
+    /**
+     * Persists any outstanding changes and releases the backend's resources.
+     *
+     * @throws RonaldoException if a change could not be persisted.
+     */
+    default void close() throws RonaldoException {
+    }
+}
@@ -0,0 +1,286 @@
+package ronaldo.storage;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import ronaldo.exceptions.RonaldoException;
+import ronaldo.task.ColumnarTaskList;
+import ronaldo.task.ConcurrentTaskList;
+import ronaldo.task.LazyTaskList;
+import ronaldo.task.PagedTaskList;
+import ronaldo.task.Task;
+import ronaldo.task.TaskList;
+import ronaldo.task.VersionedTaskList;
+
+/**
+ * Chooses the {@link StorageBackend}, data folder and kind of {@link TaskList} used by the application.
+ * <p>
+ * Settings are read from an optional {@code ronaldo.properties} file in the working directory,
+ * and can be overridden by system properties of the same name:
+ * </p>
+ * <ul>
+ *     <li>{@value #BACKEND_PROPERTY}: {@code journal} (default), {@code text}, {@code log}, {@code kv}
+ *     or {@code memory}</li>
+ *     <li>{@value #DATA_DIR_PROPERTY}: the data folder, {@code ./data} by default</li>
+ *     <li>{@value #LIST_PROPERTY}: the task list the stored tasks are loaded into, one of the
+ *     {@link ListType}s, {@code versioned} by default so that the undo and redo commands work</li>
+ *     <li>{@value DurabilityPolicy#PROPERTY}: how often writes are forced to disk, as parsed by
+ *     {@link DurabilityPolicy#fromString(String)}</li>
+ * </ul>
+ * <p>
+ * Only one task list can be chosen. The older {@code true}/{@code false} settings for each list,
+ * such as {@code ronaldo.tasklist.paged}, are still read, but choosing two different lists is
+ * rejected rather than one silently winning.
+ * </p>
+ */
+public class StorageConfig {
+
+    /** Name of the optional configuration file in the working directory. */
+    public static final String CONFIG_FILE = "ronaldo.properties";
+
+    /** Setting that chooses the backend. */
+    public static final String BACKEND_PROPERTY = "ronaldo.storage.backend";
+
+    /** Setting that chooses the data folder. */
+    public static final String DATA_DIR_PROPERTY = "ronaldo.storage.dir";
+
+    /** Setting that chooses the kind of task list. */
+    public static final String LIST_PROPERTY = "ronaldo.tasklist";
+
+    /** Older settings that each turned one kind of task list on. */
+    private static final Map<String, ListType> LEGACY_LIST_PROPERTIES = Map.of(
+            "ronaldo.snapshot.binary", ListType.LAZY,
+            "ronaldo.tasklist.paged", ListType.PAGED,
+            "ronaldo.tasklist.columnar", ListType.COLUMNAR,
+            "ronaldo.tasklist.versioned", ListType.VERSIONED,
+            "ronaldo.tasklist.concurrent", ListType.CONCURRENT);
+
+    /**
+     * The available storage backends.
+     */
+    public enum BackendType {
+        /** {@link InMemoryBackend}: no I/O, nothing persisted. */
+        MEMORY,
+
+        /** {@link TextFileBackend}: a text file with one line per task, where deletes append
+         * tombstones that a background vacuum later removes. */
+        TEXT,
+
+        /** {@link Storage}: a text snapshot plus an append-only journal. */
+        JOURNAL,
+
+        /** {@link SegmentedLogBackend}: a checksummed log split into fixed-size segments. */
+        LOG,
+
+        /** {@link KeyValueBackend}: an embedded log-structured key-value store. */
+        KV
+    }
+
+    /**
+     * The kinds of task list the stored tasks can be loaded into.
+     */
+    public enum ListType {
+        /** {@link TaskList}: every task parsed up front and kept as an object. */
+        PLAIN,
+
+        /** {@link VersionedTaskList}: keeps earlier versions of the list for the undo and redo commands. */
+        VERSIONED,
+
+        /** {@link ConcurrentTaskList}: other threads can read it while a command changes it. */
+        CONCURRENT,
+
+        /** {@link ColumnarTaskList}: keeps the tasks in primitive arrays rather than as objects. */
+        COLUMNAR,
+
+        /** {@link LazyTaskList}: builds tasks from a binary copy of the snapshot as they are used.
+         * Journal backend only. */
+        LAZY,
+
+        /** {@link PagedTaskList}: pages tasks in from the text snapshot. Journal backend only. */
+        PAGED;
+
+        /** The list used when none is chosen, which can undo changes. */
+        public static final ListType DEFAULT = VERSIONED;
+
+        /**
+         * Returns whether this list reads the files of the journal backend, so no other backend can load it.
+         *
+         * @return {@code true} for {@link #LAZY} and {@link #PAGED}.
+         */
+        public boolean isJournalOnly() {
+            return this == LAZY || this == PAGED;
+        }
+
+        /**
+         * Creates a list of this kind holding tasks that have already been loaded.
+         * Lists that read the journal backend's files hold them in a plain list instead.
+         *
+         * @param tasks the tasks, in increasing ID order.
+         * @return the list.
+         */
+        public TaskList create(ArrayList<Task> tasks) {
+            switch (this) {
+            case VERSIONED:
+                return new VersionedTaskList(tasks);
+            case CONCURRENT:
+                return new ConcurrentTaskList(tasks);
+            case COLUMNAR:
+                return new ColumnarTaskList(tasks);
+            default:
+                return new TaskList(tasks);
+            }
+        }
+    }
+
+    private final BackendType backendType;
+    private final Path dataDir;
+    private final ListType listType;
+    private final DurabilityPolicy policy;
+
+    /**
+     * Constructs a {@code StorageConfig} with the given backend and data folder, loading tasks
+     * into the default list and syncing writes as chosen through system properties.
+     *
+     * @param backendType the backend to use.
+     * @param dataDir     the folder the backend stores its files in.
+     */
+    public StorageConfig(BackendType backendType, Path dataDir) {
+        this.backendType = backendType;
+        this.dataDir = dataDir;
+        this.listType = ListType.DEFAULT;
+        this.policy = DurabilityPolicy.fromSystemProperties();
+    }
+
+    /**
+     * Constructs a {@code StorageConfig} with the given settings.
+     *
+     * @param backendType the backend to use.
+     * @param dataDir     the folder the backend stores its files in.
+     * @param listType    the task list to load the stored tasks into.
+     * @param policy      the policy deciding when writes are forced to disk.
+     * @throws RonaldoException if the task list cannot be loaded from the backend.
+     */
+    public StorageConfig(BackendType backendType, Path dataDir, ListType listType, DurabilityPolicy policy)
+            throws RonaldoException {
+        if (listType.isJournalOnly() && backendType != BackendType.JOURNAL) {
+            throw new RonaldoException("The " + listType.name().toLowerCase() + " task list reads the journal "
+                    + "backend's files. Please use it with " + BACKEND_PROPERTY + "=journal.");
+        }
+        this.backendType = backendType;
+        this.dataDir = dataDir;
+        this.listType = listType;
+        this.policy = policy;
+    }
+
+    /**
+     * Reads the configuration from {@value #CONFIG_FILE} and system properties.
+     *
+     * @return the configuration.
+     * @throws RonaldoException if a setting is invalid.
+     */
+    public static StorageConfig load() throws RonaldoException {
+        Properties properties = new Properties();
+        Path configFile = Path.of(CONFIG_FILE);
+        if (Files.exists(configFile)) {
+            try (Reader reader = Files.newBufferedReader(configFile)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new RonaldoException("Error reading " + CONFIG_FILE + ": " + e.getMessage());
+            }
+        }
+
+        String backend = setting(properties, BACKEND_PROPERTY, "journal");
+        String dataDir = setting(properties, DATA_DIR_PROPERTY, "./data");
+        BackendType backendType;
+        try {
+            backendType = BackendType.valueOf(backend.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RonaldoException("Unknown storage backend: " + backend
+                    + ". Please use journal, text, log, kv or memory.");
+        }
+        String durability = setting(properties, DurabilityPolicy.PROPERTY, "ms:50");
+        DurabilityPolicy policy;
+        try {
+            policy = DurabilityPolicy.fromString(durability);
+        } catch (IllegalArgumentException e) {
+            throw new RonaldoException("Invalid durability policy: " + durability
+                    + ". Please use op, ops:<n> or ms:<n>.");
+        }
+        return new StorageConfig(backendType, Path.of(dataDir.trim()), readListType(properties), policy);
+    }
+
+    /**
+     * Reads the task list chosen through {@value #LIST_PROPERTY} or one of the older settings.
+     *
+     * @throws RonaldoException if the list is unknown, or different lists are chosen.
+     */
+    private static ListType readListType(Properties properties) throws RonaldoException {
+        Map<String, ListType> choices = new LinkedHashMap<>();
+        String list = setting(properties, LIST_PROPERTY, null);
+        if (list != null && !list.isBlank()) {
+            try {
+                choices.put(LIST_PROPERTY + "=" + list.trim(), ListType.valueOf(list.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new RonaldoException("Unknown task list: " + list
+                        + ". Please use plain, versioned, concurrent, columnar, lazy or paged.");
+            }
+        }
+        for (Map.Entry<String, ListType> legacy : LEGACY_LIST_PROPERTIES.entrySet()) {
+            if (Boolean.parseBoolean(setting(properties, legacy.getKey(), "false").trim())) {
+                choices.put(legacy.getKey() + "=true", legacy.getValue());
+            }
+        }
+        if (choices.values().stream().distinct().count() > 1) {
+            throw new RonaldoException("Only one task list can be used at a time, but "
+                    + String.join(", ", choices.keySet()) + " choose different ones. "
+                    + "Please set " + LIST_PROPERTY + " alone.");
+        }
+        return choices.values().stream().findFirst().orElse(ListType.DEFAULT);
+    }
+
+    /**
+     * Returns a setting from the system properties, or else from the configuration file.
+     */
+    private static String setting(Properties properties, String name, String defaultValue) {
+        return System.getProperty(name, properties.getProperty(name, defaultValue));
+    }
+
+    public BackendType getBackendType() {
+        return backendType;
+    }
+
+    public Path getDataDir() {
+        return dataDir;
+    }
+
+    public ListType getListType() {
+        return listType;
+    }
+
+    /**
+     * Creates the configured backend, which loads the stored tasks into the configured task list.
+     *
+     * @return the backend.
+     * @throws RonaldoException if the backend cannot be opened.
+     */
+    public StorageBackend createBackend() throws RonaldoException {
+        switch (backendType) {
+        case MEMORY:
+            return new InMemoryBackend(listType);
+        case TEXT:
+            return new TextFileBackend(dataDir, listType);
+        case LOG:
+            return new SegmentedLogBackend(dataDir, policy, listType);
+        case KV:
+            return new KeyValueBackend(dataDir, listType);
+        default:
+            return new Storage(dataDir, policy, listType);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package ronaldo.storage;
+
+import ronaldo.task.Deadline;
+import ronaldo.task.DescriptionPool;
+import ronaldo.task.Event;
+import ronaldo.task.Priority;
+import ronaldo.task.Task;
+import ronaldo.task.ToDo;
+
+/**
+ * Converts tasks to and from the line format used by the text storage files.
+ * <p>
+ * Each task is stored on one line as {@code id | type | done | priority | description}, followed by
+ * {@code | by} for a deadline or {@code | from - to} for an event.
+ * </p>
+ * <p>
+ * Lines written before tasks had IDs start directly with the type. They are still read, and are
+ * parsed with {@link Task#NO_ID}; the loader then numbers them after the task before them.
+ * </p>
+ */
+final class TaskCodec {
+
+    /** Separator used between the fields of a stored line. */
+    static final String SEPARATOR = " | ";
+
+    private TaskCodec() {
+    }
+
+    /**
+     * Reconstructs a task from its stored line.
+     *
+     * @param line the stored task line.
+     * @return the task, or {@code null} if the line is blank or cannot be parsed.
+     */
+    static Task parseTask(String line) {
+        if (line.trim().isEmpty()) {
+            return null; // skip blank lines
+        }
+        String[] parts = line.split(" \\| ");
+        int first = hasId(parts) ? 1 : 0;
+        if (parts.length < first + 4) {
+            System.out.println("Invalid saved task: " + line);
+            return null;
+        }
+        Priority priority;
+        try {
+            priority = Priority.fromString(parts[first + 2]);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid priority in saved task: " + parts[first + 2]);
+            return null;
+        }
+
+        try {
+            return createTask(first == 1 ? Long.parseLong(parts[0]) : Task.NO_ID, parts[first],
+                    Boolean.parseBoolean(parts[first + 1]), priority, parts[first + 3],
+                    parts.length > first + 4 ? parts[first + 4] : null);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid saved task: " + line);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the ID at the start of a stored line without parsing the rest of it.
+     *
+     * @param line the stored task line.
+     * @return the task's ID, or {@link Task#NO_ID} if the line has none.
+     */
+    static long parseId(String line) {
+        int end = line.indexOf(SEPARATOR);
+        if (end <= 0) {
+            return Task.NO_ID;
+        }
+        for (int i = 0; i < end; i++) {
+            if (!Character.isDigit(line.charAt(i))) {
+                return Task.NO_ID;
+            }
+        }
+        return Long.parseLong(line.substring(0, end));
+    }
+
+    private static boolean hasId(String[] parts) {
+        return !parts[0].isEmpty() && parts[0].chars().allMatch(Character::isDigit);
+    }
+
+    /**
+     * Returns the stored line representing the given task.
+     *
+     * @param task the task to store.
+     * @return the task's line in the snapshot format.
+     */
+    static String formatTask(Task task) {
+        if (task instanceof Deadline) {
+            return String.format("%d | D | %s | %s | %s | %s", task.getId(),
+                    task.isDone(), task.getPriority(), task.getDescription(), ((Deadline) task).getBy());
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            return String.format("%d | E | %s | %s | %s | %s - %s", task.getId(),
+                    task.isDone(), task.getPriority(), task.getDescription(), event.getFrom(), event.getTo());
+        }
+        return String.format("%d | T | %s | %s | %s",
+                task.getId(), task.isDone(), task.getPriority(), task.getDescription());
+    }
+
+    /**
+     * Builds a task from its stored fields.
+     *
+     * @param id          the ID of the task, or {@link Task#NO_ID}.
+     * @param type        the task type code ({@code T}, {@code D} or {@code E}).
+     * @param isDone      whether the task is done.
+     * @param priority    the priority of the task.
+     * @param description the description of the task.
+     * @param extra       the deadline of a {@code D} task, or the {@code from - to} range of an {@code E} task.
+     * @return the task, or {@code null} if the type is unknown.
+     * @throws IllegalArgumentException if the extra field is malformed.
+     */
+    static Task createTask(long id, String type, boolean isDone, Priority priority, String description, String extra) {
+        // Recurring tasks share one description string
+        description = DescriptionPool.intern(description);
+        Task task;
+        switch (type) {
+        case "T":
+            task = new ToDo(description);
+            break;
+        case "D":
+            task = new Deadline(description, extra);
+            break;
+        case "E":
+            String[] time = extra == null ? new String[0] : extra.split(" - ");
+            if (time.length < 2) {
+                throw new IllegalArgumentException("Invalid event time: " + extra);
+            }
+            task = new Event(description, time[0], time[1]);
+            break;
+        default:
+            System.out.println("Unknown task type: " + type);
+            return null;
+        }
+
+        task.setId(id);
+        task.setPriority(priority);
+        if (isDone) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    /**
+     * Returns a copy of a stored task line with its completion status replaced.
+     *
+     * @param line   the stored task line.
+     * @param isDone the new completion status.
+     * @return the updated line.
+     */
+    static String withStatus(String line, boolean isDone) {
+        String[] parts = line.split(" \\| ");
+        int status = hasId(parts) ? 2 : 1;
+        if (parts.length < status + 2) {
+            throw new IllegalArgumentException("Invalid task format: " + line);
+        }
+        parts[status] = String.valueOf(isDone);
+        return String.join(SEPARATOR, parts);
+    }
+}
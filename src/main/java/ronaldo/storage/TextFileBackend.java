@@ -0,0 +1,360 @@
+package ronaldo.storage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import ronaldo.exceptions.RonaldoException;
+import ronaldo.task.Task;
+import ronaldo.task.TaskList;
+
+/**
+ * A {@link StorageBackend} that keeps every task in a single text file ({@code ronaldo.txt}),
+ * one line per task.
+ * <p>
+ * This is the simplest format to inspect and edit by hand. Lines are never moved when a task
+ * changes: deleting a task overwrites its line with spaces in place (a tombstone), and marking
+ * or unmarking a task appends the updated line and blanks the old one, so each change writes
+ * only a single line. The tasks are put back in ID order when loaded. Once the tombstones take
+ * up more than {@link #VACUUM_THRESHOLD_BYTES}, a background vacuum rewrites the file without them.
+ * </p>
+ */
+public class TextFileBackend implements StorageBackend {
+
+    /** Bytes of tombstoned lines after which the file is vacuumed. */
+    public static final long VACUUM_THRESHOLD_BYTES = 64 * 1024;
+
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    /** Path to the storage file where tasks are saved. */
+    private final Path file;
+
+    /** The kind of task list the stored tasks are loaded into. */
+    private final StorageConfig.ListType listType;
+
+    /** Where the line of each stored task is in the file, keyed by task ID. */
+    private final HashMap<Long, LineSpan> spans = new HashMap<>();
+
+    /** Runs vacuums off the caller's thread. */
+    private final ExecutorService vacuumExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ronaldo-storage-vacuum");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Whether {@link #spans} has been built from the file. */
+    private boolean isIndexed;
+
+    /** Bytes taken up by tombstoned and unreadable lines. */
+    private long deadBytes;
+
+    private boolean isVacuumScheduled;
+
+    /**
+     * Constructs a {@code TextFileBackend} storing tasks in the given folder and loading them
+     * into a plain task list. Ensures that the folder and file are created if they do not exist.
+     *
+     * @param folder the folder holding {@code ronaldo.txt}.
+     */
+    public TextFileBackend(Path folder) {
+        this(folder, StorageConfig.ListType.PLAIN);
+    }
+
+    /**
+     * Constructs a {@code TextFileBackend} storing tasks in the given folder.
+     * Ensures that the folder and file are created if they do not exist.
+     *
+     * @param folder   the folder holding {@code ronaldo.txt}.
+     * @param listType the kind of task list to load tasks into.
+     */
+    public TextFileBackend(Path folder, StorageConfig.ListType listType) {
+        this.file = folder.resolve("ronaldo.txt");
+        this.listType = listType;
+        try {
+            Files.createDirectories(folder);
+            if (!Files.exists(file)) {
+                Files.createFile(file);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized void writeTask(String line) throws RonaldoException {
+        try {
+            ensureIndexed();
+            spans.put(TaskCodec.parseId(line), appendLine(line));
+        } catch (IOException e) {
+            throw new RonaldoException("Error writing task to files.");
+        }
+    }
+
+    @Override
+    public synchronized void deleteTask(long id) throws RonaldoException {
+        try {
+            ensureIndexed();
+            LineSpan span = spans.remove(id);
+            if (span == null) {
+                throw new RonaldoException("Invalid task ID: " + id);
+            }
+            blankLine(span);
+        } catch (IOException e) {
+            throw new RonaldoException("Error deleting task from files.");
+        }
+    }
+
+    @Override
+    public void markTask(long id) throws RonaldoException {
+        setStatus(id, true, "Error marking task in file.");
+    }
+
+    @Override
+    public void unmarkTask(long id) throws RonaldoException {
+        setStatus(id, false, "Error unmarking task in file.");
+    }
+
+    /**
+     * Loads every stored task in ID order. Lines written before tasks had IDs are numbered
+     * after the task before them, and the file is then rewritten so the IDs are kept.
+     */
+    @Override
+    public synchronized ArrayList<Task> load() {
+        try {
+            TreeMap<Long, Task> tasks = new TreeMap<>();
+            boolean hasLegacyLines = index(tasks);
+            if (hasLegacyLines) {
+                vacuum();
+            }
+            return new ArrayList<>(tasks.values());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public TaskList loadTaskList() {
+        return listType.create(load());
+    }
+
+    /**
+     * Replaces the stored tasks by writing the given list to a new file and moving it into place.
+     */
+    @Override
+    public synchronized void replaceAll(TaskList tasks) throws RonaldoException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (int i = 0; i < tasks.size(); i++) {
+                    writer.write(TaskCodec.formatTask(tasks.getTask(i)));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            index(new TreeMap<>());
+        } catch (IOException e) {
+            throw new RonaldoException("Error saving tasks to files: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Waits for a running vacuum to finish and stops the vacuum thread.
+     */
+    @Override
+    public void close() {
+        vacuumExecutor.shutdown();
+        try {
+            vacuumExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void setStatus(long id, boolean isDone, String errorMessage) throws RonaldoException {
+        try {
+            ensureIndexed();
+            LineSpan span = spans.get(id);
+            if (span == null) {
+                throw new RonaldoException("Invalid task ID: " + id);
+            }
+            String line = TaskCodec.withStatus(readLine(span), isDone);
+            // Append first so a crash in between leaves both lines, and loading keeps the later one
+            spans.put(id, appendLine(line));
+            blankLine(span);
+        } catch (IllegalArgumentException e) {
+            throw new RonaldoException("Invalid task format for task ID: " + id);
+        } catch (IOException e) {
+            throw new RonaldoException(errorMessage);
+        }
+    }
+
+    private void ensureIndexed() throws IOException {
+        if (!isIndexed) {
+            index(new TreeMap<>());
+        }
+    }
+
+    /**
+     * Scans the file, recording where each task's line is and collecting the parsed tasks.
+     *
+     * @param tasks the map to put the parsed tasks in, keyed by ID.
+     * @return whether any line was written before tasks had IDs.
+     */
+    private boolean index(TreeMap<Long, Task> tasks) throws IOException {
+        spans.clear();
+        deadBytes = 0;
+        boolean hasLegacyLines = false;
+        long previousId = Task.NO_ID;
+
+        byte[] bytes = Files.readAllBytes(file);
+        int lineStart = 0;
+        while (lineStart < bytes.length) {
+            int lineEnd = lineStart;
+            while (lineEnd < bytes.length && bytes[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            int contentEnd = lineEnd > lineStart && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            String line = new String(bytes, lineStart, contentEnd - lineStart, StandardCharsets.UTF_8);
+            LineSpan span = new LineSpan(lineStart, contentEnd - lineStart);
+            lineStart = lineEnd + 1;
+
+            if (line.isBlank()) {
+                deadBytes += span.length;
+                continue;
+            }
+            Task task = TaskCodec.parseTask(line);
+            if (task == null) {
+                deadBytes += span.length;
+                continue;
+            }
+            if (task.getId() == Task.NO_ID) {
+                task.setId(previousId + 1);
+                hasLegacyLines = true;
+            }
+            previousId = task.getId();
+
+            LineSpan replaced = spans.put(task.getId(), span);
+            if (replaced != null) {
+                deadBytes += replaced.length;
+            }
+            tasks.put(task.getId(), task);
+        }
+        isIndexed = true;
+        return hasLegacyLines;
+    }
+
+    private LineSpan appendLine(String line) throws IOException {
+        byte[] content = line.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(content.length + LINE_SEPARATOR.length);
+        buffer.put(content).put(LINE_SEPARATOR).flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            long offset = channel.size();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+            return new LineSpan(offset, content.length);
+        }
+    }
+
+    /**
+     * Overwrites a line with spaces in place, leaving a tombstone that loading skips.
+     */
+    private void blankLine(LineSpan span) throws IOException {
+        byte[] spaces = new byte[span.length];
+        Arrays.fill(spaces, (byte) ' ');
+        ByteBuffer buffer = ByteBuffer.wrap(spaces);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, span.offset + buffer.position());
+            }
+        }
+        deadBytes += span.length;
+        if (deadBytes > VACUUM_THRESHOLD_BYTES && !isVacuumScheduled) {
+            isVacuumScheduled = true;
+            vacuumExecutor.execute(this::runVacuum);
+        }
+    }
+
+    private String readLine(LineSpan span) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readLine(channel, span);
+        }
+    }
+
+    private static String readLine(FileChannel channel, LineSpan span) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(span.length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, span.offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of task file");
+            }
+        }
+        return new String(buffer.array(), StandardCharsets.UTF_8);
+    }
+
+    private synchronized void runVacuum() {
+        isVacuumScheduled = false;
+        try {
+            vacuum();
+        } catch (IOException e) {
+            // The tombstoned file is still valid; the next vacuum will try again
+            System.out.println("Unable to vacuum task file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rewrites the file with only the live lines, in ID order, and re-records their positions.
+     */
+    private void vacuum() throws IOException {
+        TreeMap<Long, LineSpan> live = new TreeMap<>(spans);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        HashMap<Long, LineSpan> moved = new HashMap<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            long offset = 0;
+            for (Map.Entry<Long, LineSpan> entry : live.entrySet()) {
+                LineSpan span = entry.getValue();
+                String line = readLine(channel, span);
+                if (TaskCodec.parseId(line) == Task.NO_ID) {
+                    line = entry.getKey() + TaskCodec.SEPARATOR + line;
+                }
+                writer.write(line);
+                writer.newLine();
+                int length = line.getBytes(StandardCharsets.UTF_8).length;
+                moved.put(entry.getKey(), new LineSpan(offset, length));
+                offset += length + LINE_SEPARATOR.length;
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        spans.clear();
+        spans.putAll(moved);
+        deadBytes = 0;
+    }
+
+    /**
+     * The position of a stored line in the file, not counting its line separator.
+     */
+    private static class LineSpan {
+        private final long offset;
+        private final int length;
+
+        private LineSpan(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
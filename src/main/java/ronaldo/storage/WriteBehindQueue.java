@@ -0,0 +1,245 @@
+package ronaldo.storage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists journal records in the background so that commands do not wait on disk I/O.
+ * <p>
+ * Records are placed on a queue and a single writer thread drains them in batches,
+ * appending each batch to a {@link JournalSink} in one write. The sink is synced according to a
+ * {@link DurabilityPolicy}, so several commands issued close together share one fsync
+ * (group commit). {@link #flush()} blocks until everything queued so far is durable.
+ * </p>
+ * <p>
+ * Any error the writer hits, checked or not, is kept and reported to every later caller, so a
+ * failed write never leaves {@link #flush()} waiting for records that will not be written.
+ * </p>
+ */
+class WriteBehindQueue {
+
+    /** How long the writer waits for new records when the policy is not time based. */
+    private static final long IDLE_POLL_MILLIS = 1000;
+
+    private final BlockingQueue<Entry> pending = new LinkedBlockingQueue<>();
+    private final JournalSink sink;
+    private final DurabilityPolicy policy;
+    private final Thread writer;
+
+    /** Number of records handed to {@link #enqueue(String)}. Guarded by {@code this}. */
+    private long enqueuedCount;
+
+    /** Number of records known to be synced to disk. Guarded by {@code this}. */
+    private long durableCount;
+
+    /** The first error hit by the writer thread, reported to later callers. Guarded by {@code this}. */
+    private IOException failure;
+
+    private volatile boolean isClosed;
+
+    /**
+     * Constructs a queue writing to the given sink and starts its writer thread.
+     *
+     * @param sink   the destination of the records.
+     * @param policy the policy deciding when the sink is synced.
+     */
+    WriteBehindQueue(JournalSink sink, DurabilityPolicy policy) {
+        this.sink = sink;
+        this.policy = policy;
+        this.writer = new Thread(this::runWriter, "ronaldo-storage-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a record to be written. Returns without waiting for the write.
+     *
+     * @param record the record to write, without a trailing line separator.
+     * @throws IOException if an earlier write failed or the queue has been closed.
+     */
+    void enqueue(String record) throws IOException {
+        enqueue(List.of(record));
+    }
+
+    /**
+     * Queues several records to be written together, in the same batch. Returns without waiting
+     * for the write. Each record counts as one operation towards the {@link DurabilityPolicy}.
+     *
+     * @param records the records to write, each without a trailing line separator.
+     * @throws IOException if an earlier write failed or the queue has been closed.
+     */
+    synchronized void enqueue(List<String> records) throws IOException {
+        checkHealthy();
+        if (isClosed) {
+            throw new IOException("Storage has already been closed.");
+        }
+        if (records.isEmpty()) {
+            return;
+        }
+        enqueuedCount += records.size();
+        pending.add(new Entry(records, false));
+    }
+
+    /**
+     * Blocks until every record queued so far has been written and synced.
+     *
+     * @throws IOException if a write failed.
+     */
+    synchronized void flush() throws IOException {
+        long target = enqueuedCount;
+        if (durableCount >= target) {
+            checkHealthy();
+            return;
+        }
+        pending.add(Entry.FLUSH);
+        while (durableCount < target && failure == null) {
+            if (!writer.isAlive()) {
+                failure = new IOException("Storage writer stopped before saving every change.");
+                break;
+            }
+            try {
+                wait(IDLE_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while flushing storage.", e);
+            }
+        }
+        checkHealthy();
+    }
+
+    /**
+     * Flushes outstanding records and stops the writer thread.
+     *
+     * @throws IOException if a write failed.
+     */
+    void close() throws IOException {
+        if (isClosed) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            isClosed = true;
+            pending.add(Entry.FLUSH);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void checkHealthy() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Body of the writer thread: drains batches, writes them and syncs when the policy says so.
+     */
+    private void runWriter() {
+        List<Entry> entries = new ArrayList<>();
+        List<String> batch = new ArrayList<>();
+        long waitMillis = policy.getMode() == DurabilityPolicy.Mode.EVERY_N_MILLIS
+                ? policy.getInterval()
+                : IDLE_POLL_MILLIS;
+        int unsyncedOps = 0;
+        long lastSync = System.currentTimeMillis();
+        long writtenCount = 0;
+
+        while (!isClosed || !pending.isEmpty()) {
+            entries.clear();
+            batch.clear();
+            try {
+                Entry first = pending.poll(waitMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    entries.add(first);
+                    pending.drainTo(entries);
+                }
+            } catch (InterruptedException e) {
+                // Keep draining until closed; the queue is the only way to stop this thread.
+                continue;
+            }
+
+            boolean isFlushRequested = false;
+            for (Entry entry : entries) {
+                isFlushRequested |= entry.isFlush;
+                batch.addAll(entry.records);
+            }
+            try {
+                if (!batch.isEmpty()) {
+                    sink.append(batch);
+                    writtenCount += batch.size();
+                    unsyncedOps += batch.size();
+                }
+                long now = System.currentTimeMillis();
+                if (unsyncedOps > 0 && (isFlushRequested || policy.isSyncDue(unsyncedOps, now - lastSync))) {
+                    sink.sync();
+                    unsyncedOps = 0;
+                    lastSync = now;
+                }
+                if (unsyncedOps == 0) {
+                    markDurable(writtenCount);
+                }
+            } catch (IOException e) {
+                fail(e);
+            } catch (RuntimeException e) {
+                fail(new IOException("Unexpected error writing storage: " + e, e));
+            }
+        }
+    }
+
+    private synchronized void markDurable(long count) {
+        durableCount = count;
+        notifyAll();
+    }
+
+    private synchronized void fail(IOException e) {
+        if (failure == null) {
+            failure = e;
+        }
+        notifyAll();
+    }
+
+    /**
+     * One item on the queue: the records of one call to {@link #enqueue(List)}, or a request to sync.
+     */
+    private static final class Entry {
+        /** Wakes the writer and asks it to sync what it has written. */
+        private static final Entry FLUSH = new Entry(List.of(), true);
+
+        private final List<String> records;
+        private final boolean isFlush;
+
+        private Entry(List<String> records, boolean isFlush) {
+            this.records = records;
+            this.isFlush = isFlush;
+        }
+    }
+
+    /**
+     * The destination of the records written by a {@link WriteBehindQueue}.
+     */
+    interface JournalSink {
+
+        /**
+         * Appends a batch of records, each followed by a line separator.
+         *
+         * @param records the records to append.
+         * @throws IOException if the records cannot be written.
+         */
+        void append(List<String> records) throws IOException;
+
+        /**
+         * Forces previously appended records to disk.
+         *
+         * @throws IOException if the sync fails.
+         */
+        void sync() throws IOException;
+    }
+}
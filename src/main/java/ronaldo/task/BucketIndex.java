@@ -0,0 +1,101 @@
+package ronaldo.task;
+
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * Buckets of task IDs by priority and by completion status.
+ * <p>
+ * Each bucket is a {@link PostingList}, so the tasks with a given priority or status are read
+ * off directly, and a filter on both intersects two buckets instead of scanning the list.
+ * Tasks without a priority are only kept in the status buckets.
+ * </p>
+ */
+class BucketIndex {
+
+    private final EnumMap<Priority, PostingList> byPriority = new EnumMap<>(Priority.class);
+    private final PostingList done = new PostingList();
+    private final PostingList undone = new PostingList();
+
+    BucketIndex() {
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, new PostingList());
+        }
+    }
+
+    /**
+     * Adds a task to the buckets for its priority and status.
+     *
+     * @param task the task, which must have an ID.
+     */
+    void add(Task task) {
+        if (task.getPriorityLevel() != null) {
+            byPriority.get(task.getPriorityLevel()).add(task.getId());
+        }
+        statusBucket(task.isDone()).add(task.getId());
+    }
+
+    /**
+     * Removes a task from the buckets.
+     *
+     * @param task the task previously added.
+     */
+    void remove(Task task) {
+        if (task.getPriorityLevel() != null) {
+            byPriority.get(task.getPriorityLevel()).remove(task.getId());
+        }
+        statusBucket(task.isDone()).remove(task.getId());
+    }
+
+    /**
+     * Removes several tasks from the buckets, passing over each bucket once.
+     *
+     * @param tasks the tasks previously added, in increasing ID order.
+     */
+    void removeAll(List<Task> tasks) {
+        PostingList removed = new PostingList();
+        for (Task task : tasks) {
+            removed.add(task.getId());
+        }
+        for (PostingList bucket : byPriority.values()) {
+            bucket.removeAll(removed);
+        }
+        done.removeAll(removed);
+        undone.removeAll(removed);
+    }
+
+    /**
+     * Moves a task to the bucket for its current status.
+     *
+     * @param task the task, whose status may have just changed.
+     */
+    void updateStatus(Task task) {
+        statusBucket(!task.isDone()).remove(task.getId());
+        statusBucket(task.isDone()).add(task.getId());
+    }
+
+    /**
+     * Returns the IDs of the tasks with the given priority and status.
+     *
+     * @param priority the priority to match, or {@code null} to match any.
+     * @param isDone   the status to match, or {@code null} to match any.
+     * @return the matching IDs in increasing order, or {@code null} if neither is given.
+     */
+    long[] search(Priority priority, Boolean isDone) {
+        PostingList byLevel = priority == null ? null : byPriority.get(priority);
+        PostingList byStatus = isDone == null ? null : statusBucket(isDone);
+        if (byLevel == null) {
+            return byStatus == null ? null : byStatus.toArray();
+        }
+        if (byStatus == null) {
+            return byLevel.toArray();
+        }
+        return byLevel.size() <= byStatus.size()
+                ? byStatus.intersect(byLevel.toArray())
+                : byLevel.intersect(byStatus.toArray());
+    }
+
+    private PostingList statusBucket(boolean isDone) {
+        return isDone ? done : undone;
+    }
+}
@@ -0,0 +1,471 @@
+package ronaldo.task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A {@link TaskList} that stores its tasks column by column in parallel primitive arrays
+ * instead of as {@link Task} objects.
+ * <p>
+ * Each task is a row: its ID, a type byte, a done bit, a priority byte, its due or start and end
+ * times as epoch minutes, and offsets into one shared character arena holding its description and
+ * the text of its times. This takes far less heap than an object per task at millions of tasks,
+ * and searches and filters ({@code find}, {@code list /p}, {@code due}, {@code overlaps}) scan the
+ * arrays directly without building any {@code Task}.
+ * </p>
+ * <p>
+ * {@link #getTask(int)} builds a new, short-lived {@code Task} from its row each time it is called,
+ * so changes to the task must go through {@link #markTask(int)} and {@link #unmarkTask(int)},
+ * and {@link #getAllTasks()} returns a copy rather than the backing list.
+ * </p>
+ */
+public class ColumnarTaskList extends TaskList {
+
+    private static final byte TODO = 'T';
+    private static final byte DEADLINE = 'D';
+    private static final byte EVENT = 'E';
+
+    /** Priority byte of a task without a priority. */
+    private static final byte NO_PRIORITY = -1;
+
+    /** Time column value of a task without that time. */
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private long[] ids;
+    private byte[] types;
+    private long[] doneBits;
+    private byte[] priorities;
+
+    /** Due time of a deadline, or start time of a scheduled event, in epoch minutes. */
+    private long[] startMinutes;
+
+    /** End time of a scheduled event, in epoch minutes. */
+    private long[] endMinutes;
+
+    /**
+     * Offsets into {@link #arena} of each row's text: the description runs from {@code textStarts}
+     * to {@code descriptionEnds}, then a deadline's due time or an event's start time runs to
+     * {@code extraEnds}, then an event's end time runs to {@code textEnds}.
+     */
+    private int[] textStarts;
+    private int[] descriptionEnds;
+    private int[] extraEnds;
+    private int[] textEnds;
+
+    private char[] arena = new char[1024];
+
+    /** Characters of {@link #arena} in use, including those of deleted rows. */
+    private int arenaLength;
+
+    /** Characters of {@link #arena} still used by live rows. */
+    private int liveChars;
+
+    private int size;
+
+    /**
+     * Constructs a {@code ColumnarTaskList} holding the given tasks.
+     * The tasks are copied into columns and are not kept.
+     *
+     * @param tasks the initial tasks, in increasing ID order.
+     */
+    public ColumnarTaskList(List<Task> tasks) {
+        super(new ArrayList<>());
+        int capacity = Math.max(tasks.size(), 16);
+        ids = new long[capacity];
+        types = new byte[capacity];
+        doneBits = new long[(capacity + 63) >>> 6];
+        priorities = new byte[capacity];
+        startMinutes = new long[capacity];
+        endMinutes = new long[capacity];
+        textStarts = new int[capacity];
+        descriptionEnds = new int[capacity];
+        extraEnds = new int[capacity];
+        textEnds = new int[capacity];
+        for (Task task : tasks) {
+            addTask(task);
+        }
+        arena = Arrays.copyOf(arena, Math.max(arenaLength, 1024));
+    }
+
+    @Override
+    public void addTask(Task task) {
+        assignId(task);
+        if (size == ids.length) {
+            grow();
+        }
+        int row = size++;
+        ids[row] = task.getId();
+        setDone(row, task.isDone());
+        priorities[row] = task.getPriorityLevel() == null ? NO_PRIORITY : (byte) task.getPriorityLevel().ordinal();
+        startMinutes[row] = NO_TIME;
+        endMinutes[row] = NO_TIME;
+
+        textStarts[row] = arenaLength;
+        append(task.getDescription());
+        descriptionEnds[row] = arenaLength;
+        if (task instanceof Deadline) {
+            Deadline deadline = (Deadline) task;
+            types[row] = DEADLINE;
+            startMinutes[row] = toMinute(deadline.getDueDateTime());
+            append(deadline.getBy());
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            types[row] = EVENT;
+            if (event.isScheduled()) {
+                startMinutes[row] = toMinute(event.getStartDateTime());
+                endMinutes[row] = toMinute(event.getEndDateTime());
+            }
+            append(event.getFrom());
+        } else {
+            types[row] = TODO;
+        }
+        extraEnds[row] = arenaLength;
+        if (task instanceof Event) {
+            append(((Event) task).getTo());
+        }
+        textEnds[row] = arenaLength;
+        liveChars += textEnds[row] - textStarts[row];
+    }
+
+    @Override
+    public Task deleteTask(int index) {
+        Task task = getTask(index);
+        liveChars -= textEnds[index] - textStarts[index];
+        int moved = size - index - 1;
+        System.arraycopy(ids, index + 1, ids, index, moved);
+        System.arraycopy(types, index + 1, types, index, moved);
+        System.arraycopy(priorities, index + 1, priorities, index, moved);
+        System.arraycopy(startMinutes, index + 1, startMinutes, index, moved);
+        System.arraycopy(endMinutes, index + 1, endMinutes, index, moved);
+        System.arraycopy(textStarts, index + 1, textStarts, index, moved);
+        System.arraycopy(descriptionEnds, index + 1, descriptionEnds, index, moved);
+        System.arraycopy(extraEnds, index + 1, extraEnds, index, moved);
+        System.arraycopy(textEnds, index + 1, textEnds, index, moved);
+        removeDoneBit(index);
+        size--;
+        if (arenaLength > 2 * liveChars + 1024) {
+            compactArena();
+        }
+        return task;
+    }
+
+    /**
+     * Deletes the rows at several positions, moving each remaining row once.
+     */
+    @Override
+    public ArrayList<Task> deleteTasks(int[] indexes) {
+        ArrayList<Task> deleted = new ArrayList<>(indexes.length);
+        if (indexes.length == 0) {
+            return deleted;
+        }
+        checkIndex(indexes[indexes.length - 1]);
+        int kept = indexes[0];
+        int next = 0;
+        for (int i = kept; i < size; i++) {
+            if (next < indexes.length && indexes[next] == i) {
+                next++;
+                deleted.add(getTask(i));
+                liveChars -= textEnds[i] - textStarts[i];
+            } else {
+                moveRow(i, kept++);
+            }
+        }
+        size = kept;
+        if (arenaLength > 2 * liveChars + 1024) {
+            compactArena();
+        }
+        return deleted;
+    }
+
+    @Override
+    public Task getTask(int index) {
+        checkIndex(index);
+        String description = text(textStarts[index], descriptionEnds[index]);
+        Task task;
+        switch (types[index]) {
+        case DEADLINE:
+            // The due time is kept to the minute, so it need not be parsed from the text again
+            task = new Deadline(description, text(descriptionEnds[index], extraEnds[index]),
+                    LocalDateTime.ofEpochSecond(startMinutes[index] * 60, 0, ZoneOffset.UTC));
+            break;
+        case EVENT:
+            task = new Event(description, text(descriptionEnds[index], extraEnds[index]),
+                    text(extraEnds[index], textEnds[index]));
+            break;
+        default:
+            task = new ToDo(description);
+            break;
+        }
+        task.setId(ids[index]);
+        if (priorities[index] != NO_PRIORITY) {
+            task.setPriority(PRIORITIES[priorities[index]]);
+        }
+        if (isDone(index)) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public ArrayList<Task> getAllTasks() {
+        ArrayList<Task> all = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            all.add(getTask(i));
+        }
+        return all;
+    }
+
+    @Override
+    public int indexOf(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        return index >= 0 ? index : -1;
+    }
+
+    @Override
+    public int indexAfter(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    @Override
+    public void markTask(int index) {
+        checkIndex(index);
+        setDone(index, true);
+    }
+
+    @Override
+    public void unmarkTask(int index) {
+        checkIndex(index);
+        setDone(index, false);
+    }
+
+    /**
+     * Returns the tasks whose description contains the keyword,
+     * comparing the keyword against the arena in place.
+     */
+    @Override
+    public ArrayList<Task> findTasks(String keyword) {
+        char[] target = keyword.toCharArray();
+        ArrayList<Task> matches = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (contains(textStarts[i], descriptionEnds[i], target)) {
+                matches.add(getTask(i));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain every word of the query.
+     * Words are split exactly as {@link TokenIndex} splits them, from each row's description.
+     */
+    @Override
+    public ArrayList<Task> findTasksByWords(String query) {
+        List<String> words = TokenIndex.tokenize(query);
+        ArrayList<Task> matches = new ArrayList<>();
+        if (words.isEmpty()) {
+            return matches;
+        }
+        for (int i = 0; i < size; i++) {
+            if (TokenIndex.tokenize(text(textStarts[i], descriptionEnds[i])).containsAll(words)) {
+                matches.add(getTask(i));
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public int[] findTasksFuzzy(String query, int limit) {
+        return TaskScan.findTasksFuzzy(i -> text(textStarts[i], descriptionEnds[i]), size, query, limit);
+    }
+
+    @Override
+    public int[] filterTasks(Priority priority, Boolean isDone) {
+        int[] positions = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if ((priority == null || priorities[i] == priority.ordinal())
+                    && (isDone == null || isDone == isDone(i))) {
+                positions[count++] = i;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+    @Override
+    public int[] findDue(LocalDateTime from, LocalDateTime to) {
+        long fromMinute = from == null ? Long.MIN_VALUE : toMinute(from);
+        long toMinute = to == null ? Long.MAX_VALUE : toMinute(to);
+        int count = 0;
+        int[] positions = new int[16];
+        for (int i = 0; i < size; i++) {
+            if (types[i] == DEADLINE && startMinutes[i] >= fromMinute && startMinutes[i] < toMinute) {
+                if (count == positions.length) {
+                    positions = Arrays.copyOf(positions, count * 2);
+                }
+                positions[count++] = i;
+            }
+        }
+        return sortByStart(positions, count);
+    }
+
+    @Override
+    public int[] findOverlapping(LocalDateTime from, LocalDateTime to) {
+        long fromMinute = toMinute(from);
+        long toMinute = toMinute(to);
+        int count = 0;
+        int[] positions = new int[16];
+        for (int i = 0; i < size; i++) {
+            if (endMinutes[i] != NO_TIME && startMinutes[i] < toMinute && endMinutes[i] > fromMinute) {
+                if (count == positions.length) {
+                    positions = Arrays.copyOf(positions, count * 2);
+                }
+                positions[count++] = i;
+            }
+        }
+        return sortByStart(positions, count);
+    }
+
+    /**
+     * Returns the first {@code count} positions ordered by their start time, then by position.
+     */
+    private int[] sortByStart(int[] positions, int count) {
+        return Arrays.stream(positions, 0, count)
+                .boxed()
+                .sorted(Comparator.comparingLong(position -> startMinutes[position]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private boolean contains(int from, int to, char[] target) {
+        if (target.length == 0) {
+            return true;
+        }
+        char first = target[0];
+        int last = to - target.length;
+        for (int i = from; i <= last; i++) {
+            if (arena[i] != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < target.length && arena[i + j] == target[j]) {
+                j++;
+            }
+            if (j == target.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isDone(int row) {
+        return (doneBits[row >>> 6] & (1L << row)) != 0;
+    }
+
+    private void setDone(int row, boolean isDone) {
+        if (isDone) {
+            doneBits[row >>> 6] |= 1L << row;
+        } else {
+            doneBits[row >>> 6] &= ~(1L << row);
+        }
+    }
+
+    /**
+     * Copies a row to an earlier position, over the row there.
+     */
+    private void moveRow(int from, int to) {
+        ids[to] = ids[from];
+        types[to] = types[from];
+        priorities[to] = priorities[from];
+        startMinutes[to] = startMinutes[from];
+        endMinutes[to] = endMinutes[from];
+        textStarts[to] = textStarts[from];
+        descriptionEnds[to] = descriptionEnds[from];
+        extraEnds[to] = extraEnds[from];
+        textEnds[to] = textEnds[from];
+        setDone(to, isDone(from));
+    }
+
+    /**
+     * Removes a row's done bit, moving the bits of every later row down by one.
+     */
+    private void removeDoneBit(int row) {
+        int word = row >>> 6;
+        long below = doneBits[word] & ((1L << row) - 1);
+        long above = (doneBits[word] >>> 1) & ~((1L << row) - 1);
+        doneBits[word] = below | above;
+        int lastWord = (size - 1) >>> 6;
+        for (int i = word + 1; i <= lastWord; i++) {
+            doneBits[i - 1] |= (doneBits[i] & 1L) << 63;
+            doneBits[i] >>>= 1;
+        }
+    }
+
+    private String text(int from, int to) {
+        return new String(arena, from, to - from);
+    }
+
+    private void append(String text) {
+        if (arenaLength + text.length() > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaLength + text.length()));
+        }
+        text.getChars(0, text.length(), arena, arenaLength);
+        arenaLength += text.length();
+    }
+
+    /**
+     * Copies the text of live rows to a new arena, dropping the text of deleted rows.
+     */
+    private void compactArena() {
+        char[] compacted = new char[Math.max(liveChars * 2, 1024)];
+        int length = 0;
+        for (int i = 0; i < size; i++) {
+            int start = textStarts[i];
+            int rowLength = textEnds[i] - start;
+            System.arraycopy(arena, start, compacted, length, rowLength);
+            int shift = start - length;
+            textStarts[i] -= shift;
+            descriptionEnds[i] -= shift;
+            extraEnds[i] -= shift;
+            textEnds[i] -= shift;
+            length += rowLength;
+        }
+        arena = compacted;
+        arenaLength = length;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        types = Arrays.copyOf(types, capacity);
+        doneBits = Arrays.copyOf(doneBits, (capacity + 63) >>> 6);
+        priorities = Arrays.copyOf(priorities, capacity);
+        startMinutes = Arrays.copyOf(startMinutes, capacity);
+        endMinutes = Arrays.copyOf(endMinutes, capacity);
+        textStarts = Arrays.copyOf(textStarts, capacity);
+        descriptionEnds = Arrays.copyOf(descriptionEnds, capacity);
+        extraEnds = Arrays.copyOf(extraEnds, capacity);
+        textEnds = Arrays.copyOf(textEnds, capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+    }
+
+    private static long toMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+}
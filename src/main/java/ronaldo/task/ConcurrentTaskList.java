@@ -0,0 +1,273 @@
+package ronaldo.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link TaskList} that can be read from any number of threads while another thread changes it.
+ * <p>
+ * The tasks are kept in an array that is never changed once published, and so are the tasks in
+ * it. Every change (adding, deleting, marking or unmarking a task) is made while holding a lock,
+ * copies the array, and publishes the copy; marking or unmarking puts a copy of the task with the
+ * new status in the new array. Every read takes the current array and works on it without locking. A
+ * reader therefore never waits for a writer, and a query such as {@link #listTasks()} sees the
+ * list as it was at one moment rather than part-way through a change. Writers wait for each
+ * other, and each one copies the array, so adding or deleting a task costs {@code O(n)}.
+ * </p>
+ * <p>
+ * The indexes of {@link TaskList} cannot be shared with readers that do not lock, so searches
+ * scan the tasks as {@link PagedTaskList} does. {@link #getAllTasks()} returns a copy rather
+ * than the backing list. A caller that reads several positions in turn, such as with
+ * {@link #size()} and then {@link #getTask(int)}, may see a change made between the calls.
+ * </p>
+ * <p>
+ * Every storage backend loads tasks into this list when the
+ * {@value ronaldo.storage.StorageConfig#LIST_PROPERTY} setting is {@code concurrent}.
+ * </p>
+ */
+public class ConcurrentTaskList extends TaskList {
+
+    /** Held while the list is changed, so that changes are made one at a time. */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /** The tasks in the list. The array is replaced rather than changed. */
+    private volatile Task[] snapshot;
+
+    /**
+     * Constructs a {@code ConcurrentTaskList} holding the given tasks.
+     *
+     * @param tasks the initial tasks, in increasing ID order.
+     */
+    public ConcurrentTaskList(List<Task> tasks) {
+        super(new ArrayList<>());
+        for (Task task : tasks) {
+            assignId(task);
+        }
+        this.snapshot = tasks.toArray(new Task[0]);
+    }
+
+    @Override
+    public void addTask(Task task) {
+        writeLock.lock();
+        try {
+            assignId(task);
+            Task[] current = snapshot;
+            Task[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = task;
+            snapshot = next;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Task deleteTask(int index) {
+        writeLock.lock();
+        try {
+            Task[] current = snapshot;
+            Task task = current[index];
+            Task[] next = new Task[current.length - 1];
+            System.arraycopy(current, 0, next, 0, index);
+            System.arraycopy(current, index + 1, next, index, next.length - index);
+            snapshot = next;
+            return task;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public ArrayList<Task> deleteTasks(int[] indexes) {
+        writeLock.lock();
+        try {
+            Task[] current = snapshot;
+            ArrayList<Task> deleted = new ArrayList<>(indexes.length);
+            if (indexes.length == 0) {
+                return deleted;
+            }
+            Objects.checkIndex(indexes[indexes.length - 1], current.length);
+            Task[] next = new Task[current.length - indexes.length];
+            int kept = 0;
+            int skipped = 0;
+            for (int i = 0; i < current.length; i++) {
+                if (skipped < indexes.length && indexes[skipped] == i) {
+                    skipped++;
+                    deleted.add(current[i]);
+                } else {
+                    next[kept++] = current[i];
+                }
+            }
+            snapshot = next;
+            return deleted;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Task getTask(int index) {
+        return snapshot[index];
+    }
+
+    @Override
+    public int size() {
+        return snapshot.length;
+    }
+
+    /**
+     * Returns a copy of every task in the list.
+     * Unlike {@link TaskList#getAllTasks()}, changes to the returned list are not reflected here.
+     *
+     * @return a new list holding every task.
+     */
+    @Override
+    public ArrayList<Task> getAllTasks() {
+        return new ArrayList<>(Arrays.asList(snapshot));
+    }
+
+    @Override
+    public int indexAfter(long id) {
+        Task[] tasks = snapshot;
+        int low = 0;
+        int high = tasks.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tasks[mid].getId() <= id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public int indexOf(long id) {
+        Task[] tasks = snapshot;
+        int low = 0;
+        int high = tasks.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = tasks[mid].getId();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void markTask(int index) {
+        setStatuses(new int[] {index}, true);
+    }
+
+    @Override
+    public void unmarkTask(int index) {
+        setStatuses(new int[] {index}, false);
+    }
+
+    @Override
+    public void markTasks(int[] indexes) {
+        setStatuses(indexes, true);
+    }
+
+    @Override
+    public void unmarkTasks(int[] indexes) {
+        setStatuses(indexes, false);
+    }
+
+    @Override
+    public String listTasks() {
+        Task[] tasks = snapshot;
+        if (tasks.length == 0) {
+            return "Your task list is empty!";
+        }
+        return append(new StringBuilder(), tasks, 0, tasks.length).toString();
+    }
+
+    @Override
+    public StringBuilder appendTasks(StringBuilder out, int from, int to) {
+        return append(out, snapshot, from, to);
+    }
+
+    @Override
+    public ArrayList<Task> findTasks(String keyword) {
+        Task[] tasks = snapshot;
+        return TaskScan.findTasks(i -> tasks[i], tasks.length, keyword);
+    }
+
+    @Override
+    public ArrayList<Task> findTasksByWords(String query) {
+        Task[] tasks = snapshot;
+        return TaskScan.findTasksByWords(i -> tasks[i], tasks.length, query);
+    }
+
+    @Override
+    public int[] findTasksFuzzy(String query, int limit) {
+        Task[] tasks = snapshot;
+        return TaskScan.findTasksFuzzy(i -> tasks[i].getDescription(), tasks.length, query, limit);
+    }
+
+    @Override
+    public int[] filterTasks(Priority priority, Boolean isDone) {
+        Task[] tasks = snapshot;
+        return TaskScan.filterTasks(i -> tasks[i], tasks.length, priority, isDone);
+    }
+
+    @Override
+    public int[] findDue(LocalDateTime from, LocalDateTime to) {
+        Task[] tasks = snapshot;
+        return TaskScan.findDue(i -> tasks[i], tasks.length, from, to);
+    }
+
+    @Override
+    public int[] findOverlapping(LocalDateTime from, LocalDateTime to) {
+        Task[] tasks = snapshot;
+        return TaskScan.findOverlapping(i -> tasks[i], tasks.length, from, to);
+    }
+
+    @Override
+    public void reserveIds(long id) {
+        writeLock.lock();
+        try {
+            super.reserveIds(id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Publishes a copy of the array in which the tasks at the given positions are replaced by
+     * copies with the new status. The tasks themselves are left alone, since readers may hold them.
+     */
+    private void setStatuses(int[] indexes, boolean isDone) {
+        writeLock.lock();
+        try {
+            Task[] next = snapshot.clone();
+            for (int index : indexes) {
+                next[index] = Task.withStatus(next[index], isDone);
+            }
+            snapshot = next;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static StringBuilder append(StringBuilder out, Task[] tasks, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                out.append('\n');
+            }
+            out.append(i + 1).append(". ").append(tasks[i]);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,110 @@
+package ronaldo.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The formats used to read and show the dates and times of tasks, shared by every task.
+ * <p>
+ * A {@link DateTimeFormatter} is immutable and thread-safe, but costly to build from a pattern,
+ * so each format is built once here rather than for every task parsed or shown. The text shown
+ * for a due time is also cached, since many deadlines fall on the same few minutes: the most
+ * recently used {@value #DISPLAY_CACHE_SIZE} are kept, keyed by minute.
+ * </p>
+ */
+public final class DateTimeService {
+
+    /** Format of a date and time typed by the user, such as {@code 2025-08-28 2359}. */
+    public static final DateTimeFormatter INPUT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+
+    /** Format of the date part of {@link #INPUT_FORMAT}. */
+    public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    /** Format of the time part of {@link #INPUT_FORMAT}. */
+    public static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HHmm");
+
+    /** Format of a due time shown to the user, such as {@code 28 August 2025 11:59 pm}. */
+    public static final DateTimeFormatter DISPLAY_FORMAT =
+            DateTimeFormatter.ofPattern("d MMMM yyyy h:mm a", Locale.UK);
+
+    /** Number of rendered due times kept in the cache. */
+    private static final int DISPLAY_CACHE_SIZE = 4096;
+
+    private static final LinkedHashMap<Long, String> DISPLAY_CACHE =
+            new LinkedHashMap<>(DISPLAY_CACHE_SIZE * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+                    return size() > DISPLAY_CACHE_SIZE;
+                }
+            };
+
+    private DateTimeService() {
+    }
+
+    /**
+     * Parses a date and time written in {@link #INPUT_FORMAT}.
+     *
+     * @param text the text to parse, which must match the format exactly.
+     * @return the date and time.
+     * @throws DateTimeParseException if the text does not match the format.
+     */
+    public static LocalDateTime parseDateTime(String text) {
+        return LocalDateTime.parse(text, INPUT_FORMAT);
+    }
+
+    /**
+     * Parses the due time of a deadline: a date in {@link #DATE_FORMAT} before the first space,
+     * and a time in {@link #TIME_FORMAT} after it. Anything after a second space is ignored,
+     * and a time of {@code 2400} is midnight at the start of the given date.
+     *
+     * @param by the due time as written.
+     * @return the due date and time.
+     * @throws DateTimeParseException if the date or time does not match its format.
+     */
+    public static LocalDateTime parseDue(String by) {
+        int space = by.indexOf(' ');
+        if (space < 0) {
+            throw new DateTimeParseException("Missing time in " + by, by, by.length());
+        }
+        int timeEnd = by.indexOf(' ', space + 1);
+        LocalDate date = LocalDate.parse(by.substring(0, space), DATE_FORMAT);
+        LocalTime time = LocalTime.parse(by.substring(space + 1, timeEnd < 0 ? by.length() : timeEnd), TIME_FORMAT);
+        return date.atTime(time);
+    }
+
+    /**
+     * Returns whether a due time parsed by {@link #parseDue(String)} was written exactly in
+     * {@link #INPUT_FORMAT}, with nothing after the time.
+     *
+     * @param by a due time that {@link #parseDue(String)} accepts.
+     * @return {@code true} if there is no second space.
+     */
+    public static boolean isExactDue(String by) {
+        return by.indexOf(' ', by.indexOf(' ') + 1) < 0;
+    }
+
+    /**
+     * Returns a due time as shown to the user, in {@link #DISPLAY_FORMAT}.
+     *
+     * @param dateTime the due time.
+     * @return the text, shared with other tasks due at the same minute while it is cached.
+     */
+    public static String formatDue(LocalDateTime dateTime) {
+        long minute = Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+        synchronized (DISPLAY_CACHE) {
+            String text = DISPLAY_CACHE.get(minute);
+            if (text == null) {
+                text = dateTime.withSecond(0).withNano(0).format(DISPLAY_FORMAT);
+                DISPLAY_CACHE.put(minute, text);
+            }
+            return text;
+        }
+    }
+}
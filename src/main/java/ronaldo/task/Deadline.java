@@ -1,9 +1,6 @@
 package ronaldo.task;
 
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
+import java.time.LocalDateTime;
 
 /**
  * Represents a task with a deadline.
@@ -20,14 +17,8 @@ public class Deadline extends Task {
     /** The raw deadline string in the format {@code yyyy-MM-dd HHmm}. */
     private final String by;
 
-    /** The date component of the deadline. */
-    private final LocalDate date;
-
-    /** The time component of the deadline. */
-    private final LocalTime time;
-
-    /** The deadline formatted as {@code MM-dd-yyyy}. */
-    private final String formattedBy;
+    /** When the task is due, parsed from {@link #by}. */
+    private final LocalDateTime due;
 
     /**
      * Constructs a {@code Deadline} task with the given description and deadline string.
@@ -41,13 +32,7 @@ public class Deadline extends Task {
         this.by = by;
 
         try {
-            String[] dateTime = by.split(" ");
-            this.date = LocalDate.parse(dateTime[0], DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-            this.time = LocalTime.parse(dateTime[1], DateTimeFormatter.ofPattern("HHmm"));
-
-            this.formattedBy = this.date.format(DateTimeFormatter.ofPattern("d MMMM yyyy", Locale.UK))
-                    + " "
-                    + this.time.format(DateTimeFormatter.ofPattern("h:mm a", Locale.UK));
+            this.due = DateTimeService.parseDue(by);
         } catch (Exception e) {
             throw new IllegalArgumentException(
                     "Invalid deadline format. Expected format: yyyy-MM-dd HHmm", e
@@ -55,6 +40,20 @@ public class Deadline extends Task {
         }
     }
 
+    /**
+     * Constructs a {@code Deadline} task whose deadline string has already been parsed,
+     * so it is not parsed again.
+     *
+     * @param description The description of the task.
+     * @param by The deadline in {@code yyyy-MM-dd HHmm} format.
+     * @param due The due time {@code by} stands for, as returned by {@link DateTimeService#parseDue(String)}.
+     */
+    public Deadline(String description, String by, LocalDateTime due) {
+        super(description);
+        this.by = by;
+        this.due = due;
+    }
+
     /**
      * Returns the raw deadline string (e.g., {@code "2025-08-28 2359"}).
      *
@@ -64,14 +63,23 @@ public class Deadline extends Task {
         return by;
     }
 
+    /**
+     * Returns when the task is due.
+     *
+     * @return the due date and time.
+     */
+    public LocalDateTime getDueDateTime() {
+        return due;
+    }
+
     /**
      * Returns a string representation of the deadline task.
      *
      * @return A formatted string in the format:
-     *         {@code [D]<TaskString>(by: dd-MM-yyyy HHmm)}.
+     *         {@code [D]<TaskString>(by: d MMMM yyyy h:mm a)}.
      */
     @Override
     public String toString() {
-        return "[D]" + super.toString() + " (by: " + formattedBy + ")";
+        return "[D]" + super.toString() + " (by: " + DateTimeService.formatDue(due) + ")";
     }
 }
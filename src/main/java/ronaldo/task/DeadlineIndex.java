@@ -0,0 +1,89 @@
+package ronaldo.task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An index of {@link Deadline} tasks ordered by when they are due.
+ * <p>
+ * Due times are kept to the minute, as epoch minutes of the local date and time, in a
+ * {@link TreeMap} from each minute to the IDs of the deadlines due then. A range query walks
+ * only the part of the map inside the range, so it costs a logarithmic search plus the
+ * number of deadlines returned.
+ * </p>
+ */
+class DeadlineIndex {
+
+    private final TreeMap<Long, PostingList> byDueMinute = new TreeMap<>();
+
+    /**
+     * Adds a task to the index if it is a deadline.
+     *
+     * @param task the task, which must have an ID.
+     */
+    void add(Task task) {
+        if (task instanceof Deadline) {
+            byDueMinute.computeIfAbsent(dueMinuteOf((Deadline) task), key -> new PostingList()).add(task.getId());
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task the task previously added.
+     */
+    void remove(Task task) {
+        if (!(task instanceof Deadline)) {
+            return;
+        }
+        long minute = dueMinuteOf((Deadline) task);
+        PostingList ids = byDueMinute.get(minute);
+        if (ids != null) {
+            ids.remove(task.getId());
+            if (ids.isEmpty()) {
+                byDueMinute.remove(minute);
+            }
+        }
+    }
+
+    /**
+     * Returns the IDs of the deadlines due in the given range.
+     *
+     * @param from the earliest due time to include, or {@code null} for no lower bound.
+     * @param to   the due time to stop before, or {@code null} for no upper bound.
+     * @return the IDs, ordered by due time and then by ID.
+     */
+    long[] search(LocalDateTime from, LocalDateTime to) {
+        Map<Long, PostingList> range = byDueMinute;
+        if (from != null && to != null) {
+            range = byDueMinute.subMap(toMinute(from), true, toMinute(to), false);
+        } else if (from != null) {
+            range = byDueMinute.tailMap(toMinute(from), true);
+        } else if (to != null) {
+            range = byDueMinute.headMap(toMinute(to), false);
+        }
+
+        long[] ids = new long[16];
+        int size = 0;
+        for (PostingList list : range.values()) {
+            long[] due = list.toArray();
+            if (size + due.length > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(ids.length * 2, size + due.length));
+            }
+            System.arraycopy(due, 0, ids, size, due.length);
+            size += due.length;
+        }
+        return Arrays.copyOf(ids, size);
+    }
+
+    private static long dueMinuteOf(Deadline deadline) {
+        return toMinute(deadline.getDueDateTime());
+    }
+
+    private static long toMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+}
@@ -0,0 +1,133 @@
+package ronaldo.task;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A pool of task descriptions, so that tasks with the same description share one {@code String}.
+ * <p>
+ * Descriptions are interned as tasks are loaded and as they are typed in, so a recurring task
+ * such as "standup" costs one string however many times it appears. The pool holds its strings
+ * weakly: once no task uses a description, it can be garbage collected.
+ * </p>
+ * <p>
+ * The pool is split into {@link #STRIPES} stripes by hash code, each with its own lock, so the
+ * threads of a parallel load rarely wait for one another.
+ * </p>
+ * <p>
+ * The JDK already stores a string whose characters all fit in one byte (LATIN1) as one byte per
+ * character, so the pool keeps plain strings rather than encoding them again.
+ * Sizes reported by {@link #describeUsage(TaskList)} are estimates for a 64-bit JVM with compressed
+ * references.
+ * </p>
+ */
+public final class DescriptionPool {
+
+    /** Number of independently locked parts of the pool. Must be a power of two. */
+    private static final int STRIPES = 64;
+
+    /** Estimated bytes of a {@code String} object, excluding its character array. */
+    private static final int STRING_OVERHEAD = 24;
+
+    /** Estimated bytes of an array header. */
+    private static final int ARRAY_OVERHEAD = 16;
+
+    /** Estimated bytes of a pool entry, including its weak reference. */
+    private static final int ENTRY_OVERHEAD = 72;
+
+    private static final List<WeakHashMap<String, WeakReference<String>>> POOL = new ArrayList<>(STRIPES);
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            POOL.add(new WeakHashMap<>());
+        }
+    }
+
+    private DescriptionPool() {
+    }
+
+    /**
+     * Returns the pooled string equal to the given description, adding it to the pool if needed.
+     * Only the stripe the description falls in is locked.
+     *
+     * @param description the description.
+     * @return a string equal to {@code description}, shared with every other task using it.
+     */
+    public static String intern(String description) {
+        if (description == null) {
+            return null;
+        }
+        WeakHashMap<String, WeakReference<String>> stripe = stripeOf(description);
+        synchronized (stripe) {
+            WeakReference<String> reference = stripe.get(description);
+            String pooled = reference == null ? null : reference.get();
+            if (pooled != null) {
+                return pooled;
+            }
+            stripe.put(description, new WeakReference<>(description));
+            return description;
+        }
+    }
+
+    /**
+     * Returns a summary of the pool's contents and of how much the given tasks share their
+     * descriptions right now. Every task is visited, so a list that pages tasks in reads them all.
+     *
+     * @param taskList the tasks whose descriptions are counted.
+     * @return lines describing the number of pooled descriptions and the estimated memory they hold,
+     *         and how many distinct description strings the tasks refer to and the memory that saves.
+     */
+    public static String describeUsage(TaskList taskList) {
+        long held = 0;
+        int count = 0;
+        for (WeakHashMap<String, WeakReference<String>> stripe : POOL) {
+            synchronized (stripe) {
+                for (String description : stripe.keySet()) {
+                    held += sizeOf(description) + ENTRY_OVERHEAD;
+                    count++;
+                }
+            }
+        }
+
+        // Count by identity: equal descriptions that are separate strings are not shared
+        IdentityHashMap<String, Integer> uses = new IdentityHashMap<>();
+        for (Task task : taskList.getAllTasks()) {
+            uses.merge(task.getDescription(), 1, Integer::sum);
+        }
+        long saved = 0;
+        for (Map.Entry<String, Integer> entry : uses.entrySet()) {
+            saved += (entry.getValue() - 1) * sizeOf(entry.getKey());
+        }
+        return String.format("Description pool: %d distinct descriptions, about %s held.\n"
+                + "Your %d tasks refer to %d description strings, saving about %s.",
+                count, formatBytes(held), taskList.size(), uses.size(), formatBytes(saved));
+    }
+
+    private static WeakHashMap<String, WeakReference<String>> stripeOf(String description) {
+        int hash = description.hashCode();
+        return POOL.get((hash ^ (hash >>> 16)) & (STRIPES - 1));
+    }
+    /**
+     * Returns the estimated heap size of a string, counting one byte per character
+     * if every character fits in LATIN1 and two otherwise.
+     */
+    private static long sizeOf(String text) {
+        boolean isLatin1 = text.chars().allMatch(c -> c <= 0xFF);
+        long arrayBytes = ARRAY_OVERHEAD + (long) text.length() * (isLatin1 ? 1 : 2);
+        return STRING_OVERHEAD + ((arrayBytes + 7) & ~7L);
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024));
+    }
+}
@@ -1,8 +1,17 @@
 package ronaldo.task;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
 /**
  * Represents an Event task.
  * An Event is a type of Task that has a start time and an end time.
+ * <p>
+ * Start and end times written as {@code yyyy-MM-dd HHmm}, like a deadline, are also parsed,
+ * so the event can be placed on a calendar. Times in any other form are kept only as text.
+ * The parser rejects an event whose end is not after its start, but task files saved before it
+ * did may still hold one; such an event is taken to last one minute.
+ * </p>
  */
 public class Event extends Task {
 
@@ -12,6 +21,12 @@ public class Event extends Task {
     /** The ending time of the event. */
     protected String to;
 
+    /** The parsed start time, or {@code null} if {@link #from} is not a date and time. */
+    private final LocalDateTime start;
+
+    /** The parsed end time, or {@code null} if {@link #to} is not a date and time. */
+    private final LocalDateTime end;
+
     /**
      * Constructs an Event task with a description, start time, and end time.
      *
@@ -23,6 +38,10 @@ public class Event extends Task {
         super(description);
         this.from = from;
         this.to = to;
+        this.start = parseDateTime(from);
+        LocalDateTime parsedEnd = parseDateTime(to);
+        this.end = start != null && parsedEnd != null && !parsedEnd.isAfter(start)
+                ? start.plusMinutes(1) : parsedEnd;
     }
 
     public String getFrom() {
@@ -33,6 +52,41 @@ public class Event extends Task {
         return this.to;
     }
 
+    /**
+     * Returns when the event starts.
+     *
+     * @return the start time, or {@code null} if it was not given as {@code yyyy-MM-dd HHmm}.
+     */
+    public LocalDateTime getStartDateTime() {
+        return this.start;
+    }
+
+    /**
+     * Returns when the event ends, which is always after it starts.
+     *
+     * @return the end time, or {@code null} if it was not given as {@code yyyy-MM-dd HHmm}.
+     */
+    public LocalDateTime getEndDateTime() {
+        return this.end;
+    }
+
+    /**
+     * Returns whether both the start and end times were parsed.
+     *
+     * @return {@code true} if the event can be placed on a calendar.
+     */
+    public boolean isScheduled() {
+        return this.start != null && this.end != null;
+    }
+
+    private static LocalDateTime parseDateTime(String text) {
+        try {
+            return DateTimeService.parseDateTime(text.trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
     /**
      * Returns the string representation of the Event task.
      * This includes a "[E]" prefix and shows the time range of the event.
@@ -0,0 +1,208 @@
+package ronaldo.task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * An interval tree over the scheduled {@link Event} tasks, for finding events that overlap
+ * a span of time.
+ * <p>
+ * Events are kept in a treap ordered by start time (then ID), where every node also records the
+ * latest end time in its subtree. A query skips any subtree that ends before the span starts,
+ * and everything to the right of a node that starts after the span ends. Random heap priorities
+ * keep the tree balanced in expectation, so a query costs {@code O(log n)} when nothing overlaps
+ * and at most {@code O(log n)} for each of the {@code k} overlapping events found, rather than
+ * a scan of every event.
+ * </p>
+ * <p>
+ * Times are kept to the minute. An event covers the half-open span from its start to its end,
+ * so one ending at 14:00 does not overlap one starting at 14:00.
+ * </p>
+ */
+class EventIndex {
+
+    private final Random random = new Random();
+    private Node root;
+
+    /**
+     * Adds a task to the index if it is a scheduled event.
+     *
+     * @param task the task, which must have an ID.
+     */
+    void add(Task task) {
+        if (task instanceof Event && ((Event) task).isScheduled()) {
+            Event event = (Event) task;
+            long start = toMinute(event.getStartDateTime());
+            long end = toMinute(event.getEndDateTime());
+            root = insert(root, new Node(start, end, event.getId(), random.nextInt()));
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task the task previously added.
+     */
+    void remove(Task task) {
+        if (task instanceof Event && ((Event) task).isScheduled()) {
+            root = delete(root, toMinute(((Event) task).getStartDateTime()), task.getId());
+        }
+    }
+
+    /**
+     * Returns the IDs of the events that overlap the given span.
+     *
+     * @param from the start of the span.
+     * @param to   the end of the span, which is not included.
+     * @return the IDs, ordered by start time and then by ID.
+     */
+    long[] search(LocalDateTime from, LocalDateTime to) {
+        Matches matches = new Matches();
+        collect(root, toMinute(from), toMinute(to), matches);
+        return Arrays.copyOf(matches.ids, matches.size);
+    }
+
+    private static void collect(Node node, long from, long to, Matches matches) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collect(node.left, from, to, matches);
+        if (node.start >= to) {
+            return;
+        }
+        if (node.end > from) {
+            matches.add(node.id);
+        }
+        collect(node.right, from, to, matches);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (isBefore(added.start, added.id, node.start, node.id)) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node delete(Node node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        if (node.start == start && node.id == id) {
+            return merge(node.left, node.right);
+        }
+        if (isBefore(start, id, node.start, node.id)) {
+            node.left = delete(node.left, start, id);
+        } else {
+            node.right = delete(node.right, start, id);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Joins two treaps where every node of {@code left} comes before every node of {@code right}.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        return right;
+    }
+
+    /**
+     * Returns whether an event with the first start and ID is ordered before one with the second.
+     */
+    private static boolean isBefore(long start, long id, long otherStart, long otherId) {
+        return start < otherStart || (start == otherStart && id < otherId);
+    }
+
+    private static long toMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * One event in the treap.
+     */
+    private static class Node {
+        private final long start;
+        private final long end;
+        private final long id;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, long id, int priority) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null) {
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+            }
+            if (right != null) {
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+            }
+        }
+    }
+
+    /**
+     * A growable array of matching IDs.
+     */
+    private static class Matches {
+        private long[] ids = new long[16];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package ronaldo.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+/**
+ * A {@link TaskList} whose tasks are built from a {@link TaskSource} only when first accessed.
+ * <p>
+ * Reading or marking a single task builds just that task. The first operation that needs
+ * the whole list (adding, deleting, listing or searching) builds every remaining task,
+ * after which this list behaves exactly like a plain {@link TaskList}.
+ * </p>
+ */
+public class LazyTaskList extends TaskList {
+
+    /** The source of tasks not yet built, or {@code null} once every task has been built. */
+    private TaskSource source;
+
+    /** Tasks built so far, by position in the source. */
+    private Task[] built;
+
+    /**
+     * Constructs a {@code LazyTaskList} over the given source.
+     *
+     * @param source the source to build tasks from.
+     */
+    public LazyTaskList(TaskSource source) {
+        super(new ArrayList<>());
+        this.source = source;
+        this.built = new Task[source.size()];
+        if (built.length > 0) {
+            // Tasks are stored in ID order, so the last one holds the largest ID
+            assignId(getTask(built.length - 1));
+        }
+    }
+
+    @Override
+    public void addTask(Task task) {
+        materializeAll();
+        super.addTask(task);
+    }
+
+    @Override
+    public Task deleteTask(int index) {
+        materializeAll();
+        return super.deleteTask(index);
+    }
+
+    @Override
+    public ArrayList<Task> deleteTasks(int[] indexes) {
+        materializeAll();
+        return super.deleteTasks(indexes);
+    }
+
+    @Override
+    public Task getTask(int index) {
+        if (source == null) {
+            return super.getTask(index);
+        }
+        if (index < 0 || index >= built.length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + built.length);
+        }
+        if (built[index] == null) {
+            built[index] = source.read(index);
+        }
+        return built[index];
+    }
+
+    @Override
+    public int size() {
+        return source == null ? super.size() : built.length;
+    }
+
+    @Override
+    public ArrayList<Task> getAllTasks() {
+        materializeAll();
+        return super.getAllTasks();
+    }
+
+    @Override
+    public void markTask(int index) {
+        if (source == null) {
+            super.markTask(index);
+            return;
+        }
+        getTask(index).markAsDone();
+    }
+
+    @Override
+    public void unmarkTask(int index) {
+        if (source == null) {
+            super.unmarkTask(index);
+            return;
+        }
+        getTask(index).unmark();
+    }
+
+    @Override
+    public String listTasks() {
+        materializeAll();
+        return super.listTasks();
+    }
+
+    @Override
+    public ArrayList<Task> findTasks(String keyword) {
+        materializeAll();
+        return super.findTasks(keyword);
+    }
+
+    @Override
+    public ArrayList<Task> findTasksByWords(String query) {
+        materializeAll();
+        return super.findTasksByWords(query);
+    }
+
+    @Override
+    public int[] findTasksFuzzy(String query, int limit) {
+        materializeAll();
+        return super.findTasksFuzzy(query, limit);
+    }
+
+    @Override
+    public int[] filterTasks(Priority priority, Boolean isDone) {
+        materializeAll();
+        return super.filterTasks(priority, isDone);
+    }
+
+    @Override
+    public int[] findDue(LocalDateTime from, LocalDateTime to) {
+        materializeAll();
+        return super.findDue(from, to);
+    }
+
+    @Override
+    public int[] findOverlapping(LocalDateTime from, LocalDateTime to) {
+        materializeAll();
+        return super.findOverlapping(from, to);
+    }
+
+    /**
+     * Returns whether every task has been built.
+     *
+     * @return {@code true} if the source is no longer needed.
+     */
+    public boolean isMaterialized() {
+        return source == null;
+    }
+
+    /**
+     * Builds every task not built yet and moves them all into the underlying list.
+     */
+    private void materializeAll() {
+        if (source == null) {
+            return;
+        }
+        for (int i = 0; i < built.length; i++) {
+            super.addTask(getTask(i));
+        }
+        source = null;
+        built = null;
+    }
+}
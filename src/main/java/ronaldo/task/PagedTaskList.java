@@ -0,0 +1,314 @@
+package ronaldo.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A {@link TaskList} that keeps only a bounded window of its tasks in memory.
+ * <p>
+ * Stored tasks are read from a {@link TaskSource} a page at a time and kept in a
+ * least-recently-used page cache holding at most a fixed number of pages. Apart from the cache,
+ * each stored task costs an {@code int} slot here, two bits recording a change to its status,
+ * and whatever the source keeps for it (a {@code long} offset for a line-indexed text file), so
+ * heap use grows by a few bytes per task rather than by the tasks themselves. Tasks added after
+ * loading are kept in memory. The new status of a stored task that is marked or unmarked is kept
+ * in the bits and applied again whenever its page is read back.
+ * </p>
+ * <p>
+ * {@link #getTask(int)} may return a different (but equal) object for the same task once its
+ * page has been evicted, and {@link #getAllTasks()} returns a copy rather than the backing list.
+ * </p>
+ */
+public class PagedTaskList extends TaskList {
+
+    /** Number of consecutive stored tasks read and cached together. */
+    public static final int PAGE_SIZE = 256;
+
+    /** Number of pages kept in the cache unless another limit is given. */
+    public static final int DEFAULT_MAX_PAGES = 64;
+
+    private final TaskSource source;
+
+    /** Cached pages, keyed by page number, in least-recently-used order. */
+    private final LinkedHashMap<Integer, Task[]> pages;
+
+    /** Positions in the source of the stored tasks whose status has changed since loading. */
+    private final BitSet changedStatuses = new BitSet();
+
+    /** For each position in {@link #changedStatuses}, whether the task is now done. */
+    private final BitSet doneStatuses = new BitSet();
+
+    /**
+     * Tasks added after loading. Deleted entries are cleared to {@code null}, and dropped once
+     * they make up half of the list.
+     */
+    private final ArrayList<Task> added = new ArrayList<>();
+
+    /** Number of {@code null} entries in {@link #added}. */
+    private int deletedAddedCount;
+
+    /**
+     * The task at each position: a position in the source if non-negative,
+     * otherwise {@code -(i + 1)} for the {@code i}-th added task.
+     */
+    private int[] slots;
+
+    private int size;
+
+    /**
+     * Constructs a {@code PagedTaskList} over the given source with the default cache size.
+     *
+     * @param source the source of stored tasks.
+     */
+    public PagedTaskList(TaskSource source) {
+        this(source, DEFAULT_MAX_PAGES);
+    }
+
+    /**
+     * Constructs a {@code PagedTaskList} over the given source.
+     *
+     * @param source   the source of stored tasks.
+     * @param maxPages the largest number of pages to keep cached.
+     */
+    public PagedTaskList(TaskSource source, int maxPages) {
+        super(new ArrayList<>());
+        this.source = source;
+        this.size = source.size();
+        this.slots = new int[Math.max(size, 16)];
+        for (int i = 0; i < size; i++) {
+            slots[i] = i;
+        }
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Task[]> eldest) {
+                return size() > maxPages;
+            }
+        };
+        if (size > 0) {
+            // Tasks are stored in ID order, so the last one holds the largest ID
+            assignId(getTask(size - 1));
+        }
+    }
+
+    @Override
+    public void addTask(Task task) {
+        assignId(task);
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+        added.add(task);
+        slots[size++] = -added.size();
+    }
+
+    @Override
+    public Task deleteTask(int index) {
+        Task task = getTask(index);
+        int slot = slots[index];
+        forget(slot);
+        System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+        size--;
+        compactAdded();
+        return task;
+    }
+
+    @Override
+    public ArrayList<Task> deleteTasks(int[] indexes) {
+        ArrayList<Task> deleted = new ArrayList<>(indexes.length);
+        if (indexes.length == 0) {
+            return deleted;
+        }
+        Objects.checkIndex(indexes[indexes.length - 1], size);
+        int kept = indexes[0];
+        int next = 0;
+        for (int i = kept; i < size; i++) {
+            if (next < indexes.length && indexes[next] == i) {
+                next++;
+                deleted.add(getTask(i));
+                forget(slots[i]);
+            } else {
+                slots[kept++] = slots[i];
+            }
+        }
+        size = kept;
+        compactAdded();
+        return deleted;
+    }
+
+    @Override
+    public Task getTask(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        int slot = slots[index];
+        if (slot < 0) {
+            return added.get(-slot - 1);
+        }
+        return pageOf(slot)[slot % PAGE_SIZE];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a copy of every task in the list.
+     * Unlike {@link TaskList#getAllTasks()}, changes to the returned list are not reflected here.
+     *
+     * @return a new list holding every task.
+     */
+    @Override
+    public ArrayList<Task> getAllTasks() {
+        ArrayList<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(getTask(i));
+        }
+        return tasks;
+    }
+
+    @Override
+    public void markTask(int index) {
+        Task task = getTask(index);
+        task.markAsDone();
+        recordStatus(index, true);
+    }
+
+    @Override
+    public void unmarkTask(int index) {
+        Task task = getTask(index);
+        task.unmark();
+        recordStatus(index, false);
+    }
+
+    @Override
+    public ArrayList<Task> findTasks(String keyword) {
+        return TaskScan.findTasks(this::getTask, size, keyword);
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain every word of the query.
+     * Keeping a word index would mean reading every page, so the tasks are scanned instead.
+     */
+    @Override
+    public ArrayList<Task> findTasksByWords(String query) {
+        return TaskScan.findTasksByWords(this::getTask, size, query);
+    }
+
+    /**
+     * Returns the positions of the tasks whose words are closest to those of the query.
+     * Like the word search, this scans the tasks rather than keeping a tree of their words.
+     */
+    @Override
+    public int[] findTasksFuzzy(String query, int limit) {
+        return TaskScan.findTasksFuzzy(i -> getTask(i).getDescription(), size, query, limit);
+    }
+
+    /**
+     * Returns the positions of the tasks with the given priority and status.
+     * As with words, keeping buckets would mean reading every page, so the tasks are scanned instead.
+     */
+    @Override
+    public int[] filterTasks(Priority priority, Boolean isDone) {
+        return TaskScan.filterTasks(this::getTask, size, priority, isDone);
+    }
+
+    /**
+     * Returns the positions of the deadlines due in the given range, soonest first.
+     * The tasks are scanned and the matches sorted, since keeping the deadlines ordered
+     * would mean reading every page.
+     */
+    @Override
+    public int[] findDue(LocalDateTime from, LocalDateTime to) {
+        return TaskScan.findDue(this::getTask, size, from, to);
+    }
+
+    /**
+     * Returns the positions of the scheduled events that overlap the given span, earliest first.
+     * Like deadlines, the events are scanned and the matches sorted.
+     */
+    @Override
+    public int[] findOverlapping(LocalDateTime from, LocalDateTime to) {
+        return TaskScan.findOverlapping(this::getTask, size, from, to);
+    }
+
+    /**
+     * Returns the number of pages currently cached.
+     *
+     * @return the number of cached pages.
+     */
+    public int getCachedPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Drops what is kept in memory for the task in a slot that is being deleted.
+     */
+    private void forget(int slot) {
+        if (slot >= 0) {
+            changedStatuses.clear(slot);
+            doneStatuses.clear(slot);
+        } else {
+            added.set(-slot - 1, null);
+            deletedAddedCount++;
+        }
+    }
+
+    /**
+     * Removes the deleted entries from {@link #added} once they make up half of it, and points
+     * the slots at the entries' new places. Added tasks come after every stored task, in the
+     * order they were added, so their slots are the last ones and keep the same order.
+     */
+    private void compactAdded() {
+        if (deletedAddedCount * 2 <= added.size()) {
+            return;
+        }
+        int liveCount = added.size() - deletedAddedCount;
+        for (int i = 0; i < liveCount; i++) {
+            int index = size - liveCount + i;
+            added.set(i, added.get(-slots[index] - 1));
+            slots[index] = -(i + 1);
+        }
+        added.subList(liveCount, added.size()).clear();
+        deletedAddedCount = 0;
+    }
+
+    /**
+     * Records the new status of the task at a position, if it is a stored task, so the status
+     * is applied again when its page is read back after being evicted.
+     */
+    private void recordStatus(int index, boolean isDone) {
+        int slot = slots[index];
+        if (slot >= 0) {
+            changedStatuses.set(slot);
+            doneStatuses.set(slot, isDone);
+        }
+    }
+
+    /**
+     * Returns the cached page holding a stored task, reading it from the source if needed and
+     * applying the status changes recorded for its tasks.
+     */
+    private Task[] pageOf(int slot) {
+        int pageNumber = slot / PAGE_SIZE;
+        Task[] page = pages.get(pageNumber);
+        if (page == null) {
+            int from = pageNumber * PAGE_SIZE;
+            page = source.readRange(from, Math.min(from + PAGE_SIZE, source.size()));
+            for (int i = changedStatuses.nextSetBit(from); i >= 0 && i < from + page.length;
+                    i = changedStatuses.nextSetBit(i + 1)) {
+                if (doneStatuses.get(i)) {
+                    page[i - from].markAsDone();
+                } else {
+                    page[i - from].unmark();
+                }
+            }
+            pages.put(pageNumber, page);
+        }
+        return page;
+    }
+}
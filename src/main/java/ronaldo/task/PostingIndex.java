@@ -0,0 +1,114 @@
+package ronaldo.task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * An inverted index from keys drawn from task descriptions to the IDs of the tasks they are drawn from.
+ * <p>
+ * The keys of a description are given by a key extractor, such as the words or the trigrams of
+ * the text. Each key has a {@link PostingList} of IDs, and a query is answered by intersecting
+ * the posting lists of its keys, shortest first.
+ * </p>
+ *
+ * @param <K> the type of the keys.
+ */
+class PostingIndex<K> {
+
+    private final HashMap<K, PostingList> postings = new HashMap<>();
+
+    /** Gives the distinct keys of a piece of text. */
+    private final Function<String, ? extends Collection<K>> keysOf;
+
+    /**
+     * Constructs an empty index.
+     *
+     * @param keysOf the function giving the distinct keys of a piece of text.
+     */
+    PostingIndex(Function<String, ? extends Collection<K>> keysOf) {
+        this.keysOf = keysOf;
+    }
+
+    /**
+     * Indexes the keys of a task's description.
+     *
+     * @param task the task, which must have an ID.
+     */
+    void add(Task task) {
+        for (K key : keysOf.apply(task.getDescription())) {
+            postings.computeIfAbsent(key, k -> new PostingList()).add(task.getId());
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task the task previously added.
+     */
+    void remove(Task task) {
+        for (K key : keysOf.apply(task.getDescription())) {
+            PostingList list = postings.get(key);
+            if (list != null) {
+                list.remove(task.getId());
+                if (list.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes several tasks from the index, passing over each posting list they are in once.
+     *
+     * @param tasks the tasks previously added, in increasing ID order.
+     */
+    void removeAll(List<Task> tasks) {
+        HashMap<K, PostingList> removed = new HashMap<>();
+        for (Task task : tasks) {
+            for (K key : keysOf.apply(task.getDescription())) {
+                removed.computeIfAbsent(key, k -> new PostingList()).add(task.getId());
+            }
+        }
+        for (Map.Entry<K, PostingList> entry : removed.entrySet()) {
+            PostingList list = postings.get(entry.getKey());
+            if (list != null) {
+                list.removeAll(entry.getValue());
+                if (list.isEmpty()) {
+                    postings.remove(entry.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the IDs of the tasks whose descriptions have every given key.
+     *
+     * @param keys the keys, as given by the key extractor.
+     * @return the matching IDs in increasing order; empty if no keys are given.
+     */
+    long[] search(Collection<K> keys) {
+        ArrayList<PostingList> lists = new ArrayList<>();
+        for (K key : keys) {
+            PostingList list = postings.get(key);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        if (lists.isEmpty()) {
+            return new long[0];
+        }
+
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        long[] ids = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && ids.length > 0; i++) {
+            ids = lists.get(i).intersect(ids);
+        }
+        return ids;
+    }
+}
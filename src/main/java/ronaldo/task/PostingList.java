@@ -0,0 +1,135 @@
+package ronaldo.task;
+
+import java.util.Arrays;
+
+/**
+ * A sorted set of task IDs, stored as a growable {@code long} array.
+ * <p>
+ * Task IDs are handed out in increasing order, so adding the newest task's ID is an append.
+ * Removing an ID shifts the IDs after it, so several IDs are best removed together with
+ * {@link #removeAll(PostingList)}. Two lists are intersected by walking the shorter one
+ * and galloping through the longer one.
+ * </p>
+ */
+class PostingList {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    /**
+     * Adds an ID to the list, if it is not already there.
+     *
+     * @param id the task ID.
+     */
+    void add(long id) {
+        if (size > 0 && ids[size - 1] >= id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            insertAt(-index - 1, id);
+            return;
+        }
+        insertAt(size, id);
+    }
+
+    /**
+     * Removes an ID from the list, if it is there.
+     *
+     * @param id the task ID.
+     */
+    void remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Removes every ID in another list from this one, moving each remaining ID at most once.
+     *
+     * @param removed the IDs to remove.
+     */
+    void removeAll(PostingList removed) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < removed.size && from < size; i++) {
+            long id = removed.ids[i];
+            int index = gallop(id, from);
+            if (index < size && ids[index] == id) {
+                System.arraycopy(ids, from, ids, kept, index - from);
+                kept += index - from;
+                from = index + 1;
+            }
+        }
+        System.arraycopy(ids, from, ids, kept, size - from);
+        size = kept + size - from;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns a copy of the IDs in the list, in increasing order.
+     *
+     * @return the IDs.
+     */
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Returns the IDs in both this list and the given sorted IDs, in increasing order.
+     *
+     * @param others sorted IDs to intersect with.
+     * @return the IDs present in both.
+     */
+    long[] intersect(long[] others) {
+        long[] result = new long[Math.min(size, others.length)];
+        int count = 0;
+        int from = 0;
+        for (long id : others) {
+            from = gallop(id, from);
+            if (from == size) {
+                break;
+            }
+            if (ids[from] == id) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Returns the first index at or after {@code from} holding an ID not less than {@code id},
+     * probing ahead in doubling steps before binary searching.
+     */
+    private int gallop(long id, int from) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < size && ids[high] < id) {
+            low = high + 1;
+            high = from + step;
+            step <<= 1;
+        }
+        high = Math.min(high, size);
+        int index = Arrays.binarySearch(ids, low, high, id);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private void insertAt(int index, long id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        size++;
+    }
+}
@@ -6,6 +6,15 @@ package ronaldo.task;
  */
 public class Task {
 
+    /** ID of a task that has not been given one yet. */
+    public static final long NO_ID = 0;
+
+    /**
+     * The persistent ID of the task. IDs are given out in increasing order and never reused,
+     * so they identify a task in storage however the tasks before it change.
+     */
+    protected long id = NO_ID;
+
     /** The description of the task. */
     protected String description;
 
@@ -59,6 +68,14 @@ public class Task {
         this.isDone = false;
     }
 
+    public long getId() {
+        return this.id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
     public void setPriority(Priority priority) {
         this.priority = priority;
     }
@@ -67,6 +84,15 @@ public class Task {
         return this.priority.toString();
     }
 
+    /**
+     * Returns the priority of the task.
+     *
+     * @return the priority, or {@code null} if none has been set.
+     */
+    public Priority getPriorityLevel() {
+        return this.priority;
+    }
+
     /**
      * Returns the description of the task.
      *
@@ -86,4 +112,33 @@ public class Task {
     public String toString() {
         return String.format("[%s] %s (priority: %s)", this.getStatusIcon(), this.description, this.getPriority());
     }
+
+    /**
+     * Returns a copy of a task with the given status, leaving the task itself as it is for
+     * the earlier versions or concurrent readers that still hold it.
+     *
+     * @param task   the task to copy.
+     * @param isDone the status of the copy.
+     * @return a new task of the same kind, ID, description and priority.
+     */
+    static Task withStatus(Task task, boolean isDone) {
+        Task copy;
+        if (task instanceof Deadline) {
+            Deadline deadline = (Deadline) task;
+            copy = new Deadline(deadline.getDescription(), deadline.getBy(), deadline.getDueDateTime());
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            copy = new Event(event.getDescription(), event.getFrom(), event.getTo());
+        } else {
+            copy = new ToDo(task.getDescription());
+        }
+        copy.setId(task.getId());
+        if (task.getPriorityLevel() != null) {
+            copy.setPriority(task.getPriorityLevel());
+        }
+        if (isDone) {
+            copy.markAsDone();
+        }
+        return copy;
+    }
 }
@@ -1,32 +1,118 @@
 package ronaldo.task;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Represents a list of tasks and provides operations to manage them.
  * Supports adding, deleting, retrieving, marking, unmarking, and listing tasks.
+ * <p>
+ * Every task in the list has a persistent ID (see {@link Task#getId()}). Tasks added without
+ * one are given the next unused ID, so the list is always in increasing ID order and the
+ * position shown to the user can be found from an ID with {@link #indexOf(long)}.
+ * </p>
+ * <p>
+ * The words of every description are kept in a {@link TokenIndex}, so
+ * {@link #findTasksByWords(String)} does not need to scan the list. Their three-character
+ * substrings are kept in a {@link TrigramIndex}, so {@link #findTasks(String)} only checks the
+ * tasks that share every trigram of the keyword. The distinct words are also kept in a
+ * {@link WordTree}, so {@link #findTasksFuzzy(String, int)} only measures the edit distance to a
+ * few of them. These text indexes take several times the memory of the tasks themselves, so they
+ * are only built by the first search that needs them, and kept up to date from then on; a list
+ * that is never searched does not pay for them.
+ * </p>
+ * <p>
+ * Tasks are also bucketed by priority and status in a {@link BucketIndex}, so
+ * {@link #filterTasks(Priority, Boolean)} takes time proportional to the tasks it returns,
+ * deadlines are ordered by due time in a {@link DeadlineIndex} for
+ * {@link #findDue(LocalDateTime, LocalDateTime)}, and scheduled events are kept in an
+ * {@link EventIndex} for {@link #findOverlapping(LocalDateTime, LocalDateTime)}.
+ * </p>
  */
 public class TaskList {
 
     /** The list of tasks managed by this TaskList. */
     private final ArrayList<Task> tasks;
 
+    /** The ID given to the next task added without one. */
+    private long nextId = 1;
+
+    /** Indexes of the descriptions of {@link #tasks}, or {@code null} until a search needs them. */
+    private TextIndexes textIndexes;
+
+    /** Buckets of the tasks in {@link #tasks} by priority and status. */
+    private final BucketIndex bucketIndex = new BucketIndex();
+
+    /** Due times of the deadlines in {@link #tasks}. */
+    private final DeadlineIndex deadlineIndex = new DeadlineIndex();
+
+    /** Spans of the scheduled events in {@link #tasks}. */
+    private final EventIndex eventIndex = new EventIndex();
+
     /**
      * Constructs a {@code TaskList} with the given tasks.
      *
-     * @param tasks the initial list of tasks.
+     * @param tasks the initial list of tasks, in increasing ID order.
      */
     public TaskList(ArrayList<Task> tasks) {
         this.tasks = tasks;
+        for (Task task : tasks) {
+            assignId(task);
+            indexTask(task);
+        }
     }
 
     public void addTask(Task task) {
+        assignId(task);
         tasks.add(task);
+        indexTask(task);
     }
 
     public Task deleteTask(int index) {
-        return tasks.remove(index);
+        Task task = tasks.remove(index);
+        unindexTask(task);
+        return task;
+    }
+
+    /**
+     * Deletes the tasks at several positions at once.
+     * <p>
+     * The list is compacted in a single pass, so each task after the first deleted one is moved
+     * once rather than once for every deletion before it. The bucket index, and the word and
+     * trigram indexes once built, likewise drop the deleted tasks in one pass over each of their
+     * posting lists.
+     * </p>
+     *
+     * @param indexes the positions of the tasks to delete, in increasing order without repeats.
+     * @return the deleted tasks, in the order they were in the list.
+     * @throws IndexOutOfBoundsException if a position is not in the list.
+     */
+    public ArrayList<Task> deleteTasks(int[] indexes) {
+        ArrayList<Task> deleted = new ArrayList<>(indexes.length);
+        if (indexes.length == 0) {
+            return deleted;
+        }
+        Objects.checkIndex(indexes[indexes.length - 1], tasks.size());
+        int kept = indexes[0];
+        int next = 0;
+        for (int i = kept; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (next < indexes.length && indexes[next] == i) {
+                next++;
+                deleted.add(task);
+            } else {
+                tasks.set(kept++, task);
+            }
+        }
+        tasks.subList(kept, tasks.size()).clear();
+        unindexTasks(deleted);
+        return deleted;
     }
 
     public Task getTask(int index) {
@@ -41,12 +127,71 @@ public class TaskList {
         return tasks;
     }
 
+    /**
+     * Returns the current position of the task with the given ID.
+     *
+     * @param id the ID of the task.
+     * @return the zero-based position of the task, or {@code -1} if no task has that ID.
+     */
+    public int indexOf(long id) {
+        int index = indexAfter(id - 1);
+        return index < size() && getTask(index).getId() == id ? index : -1;
+    }
+
+    /**
+     * Returns the position of the first task with an ID greater than the given ID.
+     * Since a task's ID does not change, this finds where a listing stopped
+     * even after tasks before it were added or deleted.
+     *
+     * @param id the ID to search past.
+     * @return the zero-based position, or {@link #size()} if every task's ID is at most {@code id}.
+     */
+    public int indexAfter(long id) {
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getTask(mid).getId() <= id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     public void markTask(int index) {
-        tasks.get(index).markAsDone();
+        Task task = tasks.get(index);
+        task.markAsDone();
+        reindexStatus(task);
     }
 
     public void unmarkTask(int index) {
-        tasks.get(index).unmark();
+        Task task = tasks.get(index);
+        task.unmark();
+        reindexStatus(task);
+    }
+
+    /**
+     * Marks the tasks at several positions as done.
+     *
+     * @param indexes the positions of the tasks to mark.
+     */
+    public void markTasks(int[] indexes) {
+        for (int index : indexes) {
+            markTask(index);
+        }
+    }
+
+    /**
+     * Marks the tasks at several positions as not done.
+     *
+     * @param indexes the positions of the tasks to unmark.
+     */
+    public void unmarkTasks(int[] indexes) {
+        for (int index : indexes) {
+            unmarkTask(index);
+        }
     }
 
     /**
@@ -56,23 +201,302 @@ public class TaskList {
      * @return a formatted string of tasks, or a message if the list is empty.
      */
     public String listTasks() {
-        if (tasks.isEmpty()) {
+        if (size() == 0) {
             return "Your task list is empty!";
         }
-        return tasks.stream()
-                .map(task -> String.format("%d. %s", tasks.indexOf(task) + 1, task))
-                .collect(Collectors.joining("\n"));
+        return appendTasks(new StringBuilder(), 0, size()).toString();
+    }
+
+    /**
+     * Appends the tasks in a range of positions to a builder, one per line,
+     * each numbered by its position in the whole list starting from 1.
+     *
+     * @param out  the builder to append to.
+     * @param from the position of the first task to append.
+     * @param to   the position after the last task to append.
+     * @return {@code out}.
+     */
+    public StringBuilder appendTasks(StringBuilder out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                out.append('\n');
+            }
+            out.append(i + 1).append(". ").append(getTask(i));
+        }
+        return out;
     }
 
     /**
      * Returns a list of tasks whose description contains the given keyword.
+     * Keywords of three or more characters are looked up in the trigram index;
+     * shorter ones are matched against every task.
      *
      * @param keyword The keyword to search for.
      * @return ArrayList of matching tasks.
      */
     public ArrayList<Task> findTasks(String keyword) {
-        return tasks.stream()
-                .filter(task -> task.getDescription().contains(keyword))
-                .collect(Collectors.toCollection(ArrayList::new));
+        if (keyword.length() < TrigramIndex.GRAM_LENGTH) {
+            return getAllTasks().stream()
+                    .filter(task -> task.getDescription().contains(keyword))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+        ArrayList<Task> matches = new ArrayList<>();
+        for (long id : textIndexes().trigrams.candidates(keyword)) {
+            Task task = getTask(indexOf(id));
+            if (task.getDescription().contains(keyword)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain every word of the query.
+     * Words are matched whole and ignoring case, so {@code "read BOOK"} matches
+     * "Read a book" but not "Read books".
+     *
+     * @param query the words to search for.
+     * @return the matching tasks, in list order.
+     */
+    public ArrayList<Task> findTasksByWords(String query) {
+        ArrayList<Task> matches = new ArrayList<>();
+        for (long id : textIndexes().tokens.search(TokenIndex.tokenize(query))) {
+            matches.add(getTask(indexOf(id)));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the positions of the tasks whose words are closest to those of the query,
+     * allowing for typos.
+     * <p>
+     * Each word of the query matches a word of a description within a small edit distance
+     * (see {@link WordTree#maxDistance(String)}), and a task must match every word of the query.
+     * Tasks are ranked by the total distance of their closest words, so {@code "reprot"} ranks
+     * "Repot plants" (one edit) before "Write report" (two edits).
+     * </p>
+     *
+     * @param query the words to search for.
+     * @param limit the largest number of tasks to return.
+     * @return the zero-based positions of the closest tasks, best first and then by position.
+     */
+    public int[] findTasksFuzzy(String query, int limit) {
+        List<String> words = TokenIndex.tokenize(query);
+        if (words.isEmpty()) {
+            return new int[0];
+        }
+        TextIndexes indexes = textIndexes();
+        HashMap<Long, Integer> scores = null;
+        for (String word : words) {
+            HashMap<Long, Integer> closest = new HashMap<>();
+            for (WordTree.Match match : indexes.words.search(word, WordTree.maxDistance(word))) {
+                for (long id : indexes.tokens.search(List.of(match.word))) {
+                    if (scores == null || scores.containsKey(id)) {
+                        closest.merge(id, match.distance, Math::min);
+                    }
+                }
+            }
+            if (scores != null) {
+                for (Map.Entry<Long, Integer> entry : closest.entrySet()) {
+                    entry.setValue(entry.getValue() + scores.get(entry.getKey()));
+                }
+            }
+            scores = closest;
+        }
+
+        HashMap<Integer, Integer> positionScores = new HashMap<>();
+        scores.forEach((id, score) -> positionScores.put(indexOf(id), score));
+        return rankByScore(positionScores, limit);
+    }
+
+    /**
+     * Returns the positions of the tasks with the given priority and status.
+     *
+     * @param priority the priority to match, or {@code null} to match any.
+     * @param isDone   {@code true} to match only done tasks, {@code false} only tasks not done,
+     *                 or {@code null} to match either.
+     * @return the zero-based positions of the matching tasks, in increasing order.
+     */
+    public int[] filterTasks(Priority priority, Boolean isDone) {
+        long[] ids = bucketIndex.search(priority, isDone);
+        if (ids == null) {
+            return IntStream.range(0, size()).toArray();
+        }
+        int[] positions = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            positions[i] = indexOf(ids[i]);
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the positions of the deadlines due in the given range, soonest first.
+     *
+     * @param from the earliest due time to include, or {@code null} for no lower bound.
+     * @param to   the due time to stop before, or {@code null} for no upper bound.
+     * @return the zero-based positions of the deadlines, ordered by due time and then by position.
+     */
+    public int[] findDue(LocalDateTime from, LocalDateTime to) {
+        long[] ids = deadlineIndex.search(from, to);
+        int[] positions = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            positions[i] = indexOf(ids[i]);
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the positions of the scheduled events that overlap the given span, earliest first.
+     * Events whose times are not dates are never included.
+     *
+     * @param from the start of the span.
+     * @param to   the end of the span, which is not included.
+     * @return the zero-based positions of the events, ordered by start time and then by position.
+     */
+    public int[] findOverlapping(LocalDateTime from, LocalDateTime to) {
+        long[] ids = eventIndex.search(from, to);
+        int[] positions = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            positions[i] = indexOf(ids[i]);
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the positions with the lowest scores, lowest first and then by position.
+     *
+     * @param scores the score of each matching position.
+     * @param limit  the largest number of positions to return.
+     * @return the best positions.
+     */
+    static int[] rankByScore(Map<Integer, Integer> scores, int limit) {
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .mapToInt(Map.Entry::getKey)
+                .toArray();
+    }
+
+    /**
+     * Makes sure IDs given out later are greater than the given ID,
+     * for IDs still in use by tasks stored outside this list.
+     *
+     * @param id the largest ID in use elsewhere.
+     */
+    public void reserveIds(long id) {
+        nextId = Math.max(nextId, id + 1);
+    }
+
+    /**
+     * Adds a task to every index. Subclasses that keep the tasks elsewhere call this for each
+     * task they hold, so the searches of this class work on them through
+     * {@link #getTask(int)} and {@link #indexOf(long)}.
+     *
+     * @param task the task, which must have an ID.
+     */
+    protected void indexTask(Task task) {
+        if (textIndexes != null) {
+            textIndexes.add(task);
+        }
+        bucketIndex.add(task);
+        deadlineIndex.add(task);
+        eventIndex.add(task);
+    }
+
+    /**
+     * Removes a task from every index.
+     *
+     * @param task the task previously indexed.
+     */
+    protected void unindexTask(Task task) {
+        if (textIndexes != null) {
+            textIndexes.remove(task);
+        }
+        bucketIndex.remove(task);
+        deadlineIndex.remove(task);
+        eventIndex.remove(task);
+    }
+
+    /**
+     * Removes several tasks from every index, passing over each posting list once.
+     *
+     * @param removed the tasks previously indexed, in increasing ID order.
+     */
+    protected void unindexTasks(List<Task> removed) {
+        for (Task task : removed) {
+            deadlineIndex.remove(task);
+            eventIndex.remove(task);
+        }
+        if (textIndexes != null) {
+            textIndexes.removeAll(removed);
+        }
+        bucketIndex.removeAll(removed);
+    }
+
+    /**
+     * Moves a task to the status bucket for its current status.
+     *
+     * @param task the task, whose status may have just changed.
+     */
+    protected void reindexStatus(Task task) {
+        bucketIndex.updateStatus(task);
+    }
+
+    /**
+     * Returns the text indexes, building them from every task in the list the first time.
+     */
+    private TextIndexes textIndexes() {
+        if (textIndexes == null) {
+            TextIndexes built = new TextIndexes();
+            for (int i = 0; i < size(); i++) {
+                built.add(getTask(i));
+            }
+            textIndexes = built;
+        }
+        return textIndexes;
+    }
+
+    /**
+     * Gives the task the next unused ID if it has none, and makes sure
+     * IDs given out later are greater than the task's ID.
+     *
+     * @param task the task being added to the list.
+     */
+    protected void assignId(Task task) {
+        if (task.getId() == Task.NO_ID) {
+            task.setId(nextId++);
+        } else {
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+    }
+
+    /**
+     * The indexes of the words and trigrams of the descriptions, which are built together.
+     */
+    private static class TextIndexes {
+        private final TokenIndex tokens = new TokenIndex();
+        private final TrigramIndex trigrams = new TrigramIndex();
+        private final WordTree words = new WordTree();
+
+        private void add(Task task) {
+            tokens.add(task);
+            trigrams.add(task);
+            words.add(task);
+        }
+
+        private void remove(Task task) {
+            tokens.remove(task);
+            trigrams.remove(task);
+            words.remove(task);
+        }
+
+        private void removeAll(List<Task> removed) {
+            for (Task task : removed) {
+                words.remove(task);
+            }
+            tokens.removeAll(removed);
+            trigrams.removeAll(removed);
+        }
     }
 }
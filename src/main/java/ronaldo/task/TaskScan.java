@@ -0,0 +1,167 @@
+package ronaldo.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+/**
+ * The {@link TaskList} queries answered by scanning every task rather than through an index,
+ * for lists that cannot keep the indexes up to date.
+ * <p>
+ * Each query reads the tasks at positions {@code 0} to {@code size - 1} through the given
+ * function, once each and in order.
+ * </p>
+ */
+final class TaskScan {
+
+    private TaskScan() {
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain the given keyword.
+     *
+     * @see TaskList#findTasks(String)
+     */
+    static ArrayList<Task> findTasks(IntFunction<Task> tasks, int size, String keyword) {
+        ArrayList<Task> matches = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Task task = tasks.apply(i);
+            if (task.getDescription().contains(keyword)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain every word of the query.
+     *
+     * @see TaskList#findTasksByWords(String)
+     */
+    static ArrayList<Task> findTasksByWords(IntFunction<Task> tasks, int size, String query) {
+        List<String> words = TokenIndex.tokenize(query);
+        ArrayList<Task> matches = new ArrayList<>();
+        if (words.isEmpty()) {
+            return matches;
+        }
+        for (int i = 0; i < size; i++) {
+            Task task = tasks.apply(i);
+            if (TokenIndex.tokenize(task.getDescription()).containsAll(words)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the positions of the tasks whose words are closest to those of the query.
+     * Only the descriptions are read, through the given function.
+     *
+     * @see TaskList#findTasksFuzzy(String, int)
+     */
+    static int[] findTasksFuzzy(IntFunction<String> descriptions, int size, String query, int limit) {
+        List<String> words = TokenIndex.tokenize(query);
+        if (words.isEmpty()) {
+            return new int[0];
+        }
+        HashMap<Integer, Integer> scores = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            List<String> taskWords = TokenIndex.tokenize(descriptions.apply(i));
+            int score = 0;
+            for (String word : words) {
+                int best = closestDistance(word, taskWords);
+                if (best < 0) {
+                    score = -1;
+                    break;
+                }
+                score += best;
+            }
+            if (score >= 0) {
+                scores.put(i, score);
+            }
+        }
+        return TaskList.rankByScore(scores, limit);
+    }
+
+    /**
+     * Returns the positions of the tasks with the given priority and status.
+     *
+     * @see TaskList#filterTasks(Priority, Boolean)
+     */
+    static int[] filterTasks(IntFunction<Task> tasks, int size, Priority priority, Boolean isDone) {
+        int[] positions = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            Task task = tasks.apply(i);
+            if ((priority == null || priority == task.getPriorityLevel())
+                    && (isDone == null || isDone == task.isDone())) {
+                positions[count++] = i;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+    /**
+     * Returns the positions of the deadlines due in the given range, soonest first.
+     *
+     * @see TaskList#findDue(LocalDateTime, LocalDateTime)
+     */
+    static int[] findDue(IntFunction<Task> tasks, int size, LocalDateTime from, LocalDateTime to) {
+        TreeMap<LocalDateTime, ArrayList<Integer>> matches = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            Task task = tasks.apply(i);
+            if (task instanceof Deadline) {
+                LocalDateTime due = ((Deadline) task).getDueDateTime();
+                if ((from == null || !due.isBefore(from)) && (to == null || due.isBefore(to))) {
+                    matches.computeIfAbsent(due, key -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+        return flatten(matches);
+    }
+
+    /**
+     * Returns the positions of the scheduled events that overlap the given span, earliest first.
+     *
+     * @see TaskList#findOverlapping(LocalDateTime, LocalDateTime)
+     */
+    static int[] findOverlapping(IntFunction<Task> tasks, int size, LocalDateTime from, LocalDateTime to) {
+        TreeMap<LocalDateTime, ArrayList<Integer>> matches = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            Task task = tasks.apply(i);
+            if (task instanceof Event && ((Event) task).isScheduled()) {
+                LocalDateTime start = ((Event) task).getStartDateTime();
+                if (start.isBefore(to) && ((Event) task).getEndDateTime().isAfter(from)) {
+                    matches.computeIfAbsent(start, key -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+        return flatten(matches);
+    }
+
+    /**
+     * Returns the smallest distance from a query word to one of the given words,
+     * or {@code -1} if none is close enough to match.
+     */
+    private static int closestDistance(String word, List<String> taskWords) {
+        int maxDistance = WordTree.maxDistance(word);
+        int best = -1;
+        for (String taskWord : taskWords) {
+            if (Math.abs(taskWord.length() - word.length()) <= maxDistance) {
+                int d = WordTree.distance(word, taskWord);
+                if (d <= maxDistance && (best < 0 || d < best)) {
+                    best = d;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int[] flatten(TreeMap<LocalDateTime, ArrayList<Integer>> matches) {
+        return matches.values().stream().flatMap(List::stream).mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,45 @@
+package ronaldo.task;
+
+/**
+ * A read-only, indexed source of stored tasks that can build each task on demand.
+ * <p>
+ * Implementations let a {@link TaskList} start without constructing every task up front;
+ * a task is only built when it is first needed.
+ * </p>
+ */
+public interface TaskSource {
+
+    /**
+     * Returns the number of tasks in the source.
+     *
+     * @return the number of tasks.
+     */
+    int size();
+
+    /**
+     * Builds the task at the given position.
+     * Each call returns a new {@link Task} object.
+     *
+     * @param index the zero-based position of the task.
+     * @return the task at that position.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    Task read(int index);
+
+    /**
+     * Builds the tasks in the given range of positions.
+     * Sources that can read a range more cheaply than one task at a time should override this.
+     *
+     * @param from the first position, inclusive.
+     * @param to   the last position, exclusive.
+     * @return the tasks in the range, in order.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    default Task[] readRange(int from, int to) {
+        Task[] range = new Task[to - from];
+        for (int i = from; i < to; i++) {
+            range[i - from] = read(i);
+        }
+        return range;
+    }
+}
@@ -0,0 +1,201 @@
+package ronaldo.task;
+
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * An immutable list of tasks whose versions share structure with each other.
+ * <p>
+ * The tasks are kept in a treap ordered by position, where every node also records the size of
+ * its subtree. No node is ever changed: {@link #set(int, Task)}, {@link #append(Task)} and
+ * {@link #remove(int)} copy only the nodes on the path to the position they change, and return
+ * a new vector sharing every other node with this one. Random heap priorities keep the tree
+ * balanced in expectation, so each of these costs {@code O(log n)} time and {@code O(log n)} new
+ * nodes, and keeping many versions of a list costs little more than keeping one.
+ * </p>
+ */
+final class TaskVector {
+
+    /** The vector holding no tasks. */
+    static final TaskVector EMPTY = new TaskVector(null);
+
+    private static final Random RANDOM = new Random();
+
+    private final Node root;
+
+    private TaskVector(Node root) {
+        this.root = root;
+    }
+
+    int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Returns the task at a position.
+     *
+     * @param index the position of the task.
+     * @return the task.
+     * @throws IndexOutOfBoundsException if the position is not in the vector.
+     */
+    Task get(int index) {
+        Objects.checkIndex(index, size());
+        Node node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.task;
+            }
+        }
+    }
+
+    /**
+     * Returns the position of the first task with an ID greater than the given ID, descending the
+     * tree by ID since the tasks are kept in increasing ID order.
+     *
+     * @param id the ID to search past.
+     * @return the position, or {@link #size()} if every task's ID is at most {@code id}.
+     */
+    int indexAfter(long id) {
+        int index = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.task.getId() <= id) {
+                index += sizeOf(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns a vector with the task at a position replaced.
+     *
+     * @param index the position of the task to replace.
+     * @param task  the task to put there.
+     * @return the new vector.
+     * @throws IndexOutOfBoundsException if the position is not in the vector.
+     */
+    TaskVector set(int index, Task task) {
+        Objects.checkIndex(index, size());
+        return new TaskVector(set(root, index, task));
+    }
+
+    /**
+     * Returns a vector with a task added at the end.
+     *
+     * @param task the task to add.
+     * @return the new vector.
+     */
+    TaskVector append(Task task) {
+        return new TaskVector(merge(root, new Node(task, RANDOM.nextInt(), null, null)));
+    }
+
+    /**
+     * Returns a vector without the task at a position.
+     *
+     * @param index the position of the task to remove.
+     * @return the new vector.
+     * @throws IndexOutOfBoundsException if the position is not in the vector.
+     */
+    TaskVector remove(int index) {
+        Objects.checkIndex(index, size());
+        return new TaskVector(remove(root, index));
+    }
+
+    /**
+     * Returns every task in the vector, in order.
+     *
+     * @return a new array holding the tasks.
+     */
+    Task[] toArray() {
+        Task[] tasks = new Task[size()];
+        fill(root, tasks, 0);
+        return tasks;
+    }
+
+    private static Node set(Node node, int index, Task task) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            return node.with(set(node.left, index, task), node.right);
+        }
+        if (index > leftSize) {
+            return node.with(node.left, set(node.right, index - leftSize - 1, task));
+        }
+        return new Node(task, node.priority, node.left, node.right);
+    }
+
+    private static Node remove(Node node, int index) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            return node.with(remove(node.left, index), node.right);
+        }
+        if (index > leftSize) {
+            return node.with(node.left, remove(node.right, index - leftSize - 1));
+        }
+        return merge(node.left, node.right);
+    }
+
+    /**
+     * Joins two treaps where every node of {@code left} comes before every node of {@code right},
+     * copying the nodes along the seam.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            return left.with(left.left, merge(left.right, right));
+        }
+        return right.with(merge(left, right.left), right.right);
+    }
+
+    private static int fill(Node node, Task[] tasks, int from) {
+        if (node == null) {
+            return from;
+        }
+        int index = fill(node.left, tasks, from);
+        tasks[index] = node.task;
+        return fill(node.right, tasks, index + 1);
+    }
+
+    private static int sizeOf(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * One task in the treap. Nodes are never changed once built.
+     */
+    private static class Node {
+        private final Task task;
+        private final int priority;
+        private final int size;
+        private final Node left;
+        private final Node right;
+
+        private Node(Task task, int priority, Node left, Node right) {
+            this.task = task;
+            this.priority = priority;
+            this.size = sizeOf(left) + 1 + sizeOf(right);
+            this.left = left;
+            this.right = right;
+        }
+
+        /**
+         * Returns a copy of this node with different children.
+         */
+        Node with(Node left, Node right) {
+            return new Node(task, priority, left, right);
+        }
+    }
+}
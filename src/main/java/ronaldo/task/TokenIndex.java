@@ -0,0 +1,40 @@
+package ronaldo.task;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * An inverted index from the words of task descriptions to the IDs of the tasks using them.
+ * <p>
+ * Descriptions are split into tokens on anything that is not a letter or digit, and tokens are
+ * lower-cased, so {@code "Read Book!"} is indexed under {@code read} and {@code book}.
+ * A query is answered by intersecting the posting lists of its tokens, shortest first.
+ * </p>
+ */
+class TokenIndex extends PostingIndex<String> {
+
+    /**
+     * Constructs an empty index.
+     */
+    TokenIndex() {
+        super(TokenIndex::tokenize);
+    }
+
+    /**
+     * Splits text into its distinct normalized tokens.
+     *
+     * @param text the text to split.
+     * @return the tokens, in the order they first appear.
+     */
+    static List<String> tokenize(String text) {
+        LinkedHashSet<String> tokens = new LinkedHashSet<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+}
@@ -0,0 +1,49 @@
+package ronaldo.task;
+
+import java.util.LinkedHashSet;
+
+/**
+ * An index from the three-character substrings (trigrams) of task descriptions to the IDs of
+ * the tasks containing them.
+ * <p>
+ * Every substring of three or more characters contains all of its own trigrams, so intersecting
+ * the posting lists of a keyword's trigrams gives every task that may contain the keyword.
+ * The candidates still have to be checked against the description, since the trigrams may
+ * appear apart. Trigrams are case-sensitive, like {@link String#contains(CharSequence)}.
+ * </p>
+ */
+class TrigramIndex extends PostingIndex<Long> {
+
+    /** Length of the substrings indexed; shorter keywords cannot be looked up. */
+    static final int GRAM_LENGTH = 3;
+
+    /**
+     * Constructs an empty index.
+     */
+    TrigramIndex() {
+        super(TrigramIndex::gramsOf);
+    }
+
+    /**
+     * Returns the IDs of the tasks whose descriptions contain every trigram of the keyword.
+     *
+     * @param keyword the keyword, at least {@link #GRAM_LENGTH} characters long.
+     * @return the candidate IDs in increasing order.
+     */
+    long[] candidates(String keyword) {
+        assert keyword.length() >= GRAM_LENGTH : "keyword too short for the trigram index";
+        return search(gramsOf(keyword));
+    }
+
+    /**
+     * Returns the distinct trigrams of the text, each packed into a {@code long}
+     * as three 16-bit characters.
+     */
+    private static LinkedHashSet<Long> gramsOf(String text) {
+        LinkedHashSet<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+}
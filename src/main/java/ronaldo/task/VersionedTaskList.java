@@ -0,0 +1,293 @@
+package ronaldo.task;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link TaskList} that remembers its earlier versions, so changes can be undone and redone.
+ * <p>
+ * The tasks are kept in a {@link TaskVector}, which is never changed: every change (adding,
+ * deleting, marking or unmarking tasks) builds a new version sharing all but {@code O(log n)} of
+ * its nodes with the one before. The last {@value #MAX_VERSIONS} versions are kept for
+ * {@link #undo()}, at a cost of {@code O(log n)} memory each rather than a copy of the list.
+ * Tasks are shared between versions too, so marking or unmarking a task puts a changed copy of it
+ * in the new version instead of changing the task itself.
+ * </p>
+ * <p>
+ * Each call that changes the list makes one version, including {@link #deleteTasks(int[])},
+ * {@link #markTasks(int[])} and {@link #unmarkTasks(int[])}, so a command changing several tasks
+ * is undone as a whole. Every version is kept with a {@link Delta} of the tasks it added, removed
+ * and changed the status of, and the one that undoes it. The indexes of {@link TaskList}, which
+ * are keyed by task ID, are brought up to date from these deltas on every change, undo and redo,
+ * so searches use them as they do for a plain list. {@link #getAllTasks()} returns a copy rather
+ * than the backing list.
+ * </p>
+ */
+public class VersionedTaskList extends TaskList {
+
+    /** How many earlier versions are kept for {@link #undo()}. */
+    public static final int MAX_VERSIONS = 100;
+
+    /** The current version of the list. */
+    private TaskVector current;
+
+    /** Changes that can be undone, most recent first. */
+    private final ArrayDeque<Change> undoChanges = new ArrayDeque<>();
+
+    /** Changes that were undone, most recently undone first. */
+    private final ArrayDeque<Change> redoChanges = new ArrayDeque<>();
+
+    /**
+     * Constructs a {@code VersionedTaskList} holding the given tasks, with nothing to undo.
+     *
+     * @param tasks the initial tasks, in increasing ID order.
+     */
+    public VersionedTaskList(List<Task> tasks) {
+        super(new ArrayList<>());
+        TaskVector vector = TaskVector.EMPTY;
+        for (Task task : tasks) {
+            assignId(task);
+            vector = vector.append(task);
+            indexTask(task);
+        }
+        this.current = vector;
+    }
+
+    /**
+     * Goes back to the version before the last change.
+     *
+     * @return what going back changed, or {@code null} if there is no earlier version to go back to.
+     */
+    public Delta undo() {
+        if (undoChanges.isEmpty()) {
+            return null;
+        }
+        Change change = undoChanges.pop();
+        redoChanges.push(change);
+        current = change.before;
+        reindex(change.undo);
+        return change.undo;
+    }
+
+    /**
+     * Goes forward to the version last left by {@link #undo()}.
+     * Any other change made since then discards the versions that could be redone.
+     *
+     * @return what going forward changed, or {@code null} if there is no undone version to go forward to.
+     */
+    public Delta redo() {
+        if (redoChanges.isEmpty()) {
+            return null;
+        }
+        Change change = redoChanges.pop();
+        undoChanges.push(change);
+        current = change.after;
+        reindex(change.redo);
+        return change.redo;
+    }
+
+    @Override
+    public void addTask(Task task) {
+        assignId(task);
+        List<Task> added = List.of(task);
+        change(current.append(task), Delta.adding(added), Delta.removing(added));
+    }
+
+    @Override
+    public Task deleteTask(int index) {
+        Task task = current.get(index);
+        List<Task> removed = List.of(task);
+        change(current.remove(index), Delta.removing(removed), Delta.adding(removed));
+        return task;
+    }
+
+    @Override
+    public ArrayList<Task> deleteTasks(int[] indexes) {
+        ArrayList<Task> deleted = new ArrayList<>(indexes.length);
+        if (indexes.length == 0) {
+            return deleted;
+        }
+        Objects.checkIndex(indexes[indexes.length - 1], current.size());
+        TaskVector next = current;
+        // Remove from the back so the positions still to be removed do not move
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            deleted.add(next.get(indexes[i]));
+            next = next.remove(indexes[i]);
+        }
+        Collections.reverse(deleted);
+        List<Task> removed = Collections.unmodifiableList(new ArrayList<>(deleted));
+        change(next, Delta.removing(removed), Delta.adding(removed));
+        return deleted;
+    }
+
+    @Override
+    public Task getTask(int index) {
+        return current.get(index);
+    }
+
+    @Override
+    public int size() {
+        return current.size();
+    }
+
+    /**
+     * Returns a copy of every task in the list.
+     * Unlike {@link TaskList#getAllTasks()}, changes to the returned list are not reflected here.
+     *
+     * @return a new list holding every task.
+     */
+    @Override
+    public ArrayList<Task> getAllTasks() {
+        return new ArrayList<>(Arrays.asList(current.toArray()));
+    }
+
+    @Override
+    public int indexAfter(long id) {
+        return current.indexAfter(id);
+    }
+
+    @Override
+    public int indexOf(long id) {
+        int index = current.indexAfter(id) - 1;
+        return index >= 0 && current.get(index).getId() == id ? index : -1;
+    }
+
+    @Override
+    public void markTask(int index) {
+        setStatuses(new int[] {index}, true);
+    }
+
+    @Override
+    public void unmarkTask(int index) {
+        setStatuses(new int[] {index}, false);
+    }
+
+    @Override
+    public void markTasks(int[] indexes) {
+        setStatuses(indexes, true);
+    }
+
+    @Override
+    public void unmarkTasks(int[] indexes) {
+        setStatuses(indexes, false);
+    }
+
+    @Override
+    public String listTasks() {
+        if (current.size() == 0) {
+            return "Your task list is empty!";
+        }
+        return appendTasks(new StringBuilder(), 0, current.size()).toString();
+    }
+
+    @Override
+    public StringBuilder appendTasks(StringBuilder out, int from, int to) {
+        TaskVector tasks = current;
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                out.append('\n');
+            }
+            out.append(i + 1).append(". ").append(tasks.get(i));
+        }
+        return out;
+    }
+
+    /**
+     * Makes the given version current, keeping the one it replaces for {@link #undo()}.
+     *
+     * @param next the new version.
+     * @param redo what the new version changed.
+     * @param undo what going back to the current version would change.
+     */
+    private void change(TaskVector next, Delta redo, Delta undo) {
+        undoChanges.push(new Change(current, next, redo, undo));
+        if (undoChanges.size() > MAX_VERSIONS) {
+            undoChanges.removeLast();
+        }
+        redoChanges.clear();
+        current = next;
+        reindex(redo);
+    }
+
+    /**
+     * Makes a version with the tasks at the given positions replaced by copies with a new status.
+     */
+    private void setStatuses(int[] indexes, boolean isDone) {
+        TaskVector next = current;
+        List<Task> before = new ArrayList<>(indexes.length);
+        List<Task> after = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            Task task = next.get(index);
+            Task copy = Task.withStatus(task, isDone);
+            next = next.set(index, copy);
+            before.add(task);
+            after.add(copy);
+        }
+        change(next, new Delta(List.of(), List.of(), after), new Delta(List.of(), List.of(), before));
+    }
+
+    /**
+     * Brings the indexes up to date with a change that has just been made current.
+     */
+    private void reindex(Delta delta) {
+        if (!delta.removed.isEmpty()) {
+            unindexTasks(delta.removed);
+        }
+        for (Task task : delta.added) {
+            indexTask(task);
+        }
+        for (Task task : delta.changed) {
+            reindexStatus(task);
+        }
+    }
+
+    /**
+     * What one version changed from the version before it, or from the version after it when
+     * undoing. Every list is in increasing ID order.
+     */
+    public static final class Delta {
+        /** Tasks taken out of the list. */
+        public final List<Task> removed;
+
+        /** Tasks put into the list. */
+        public final List<Task> added;
+
+        /** Tasks whose status changed, as they are now. */
+        public final List<Task> changed;
+
+        private Delta(List<Task> removed, List<Task> added, List<Task> changed) {
+            this.removed = removed;
+            this.added = added;
+            this.changed = changed;
+        }
+
+        private static Delta adding(List<Task> tasks) {
+            return new Delta(List.of(), tasks, List.of());
+        }
+
+        private static Delta removing(List<Task> tasks) {
+            return new Delta(tasks, List.of(), List.of());
+        }
+    }
+
+    /**
+     * A change between two versions, with the deltas that redo and undo it.
+     */
+    private static class Change {
+        private final TaskVector before;
+        private final TaskVector after;
+        private final Delta redo;
+        private final Delta undo;
+
+        private Change(TaskVector before, TaskVector after, Delta redo, Delta undo) {
+            this.before = before;
+            this.after = after;
+            this.redo = redo;
+            this.undo = undo;
+        }
+    }
+}
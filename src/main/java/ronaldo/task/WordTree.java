@@ -0,0 +1,200 @@
+package ronaldo.task;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A BK-tree over the distinct words of task descriptions, for finding the words within a small
+ * edit distance of a misspelt one.
+ * <p>
+ * Each word is a node, and a node's children are keyed by their Levenshtein distance from it.
+ * Since the distance is a metric, a search for words within distance {@code r} of a query that
+ * is {@code d} away from a node only needs to follow the children keyed {@code d - r} to
+ * {@code d + r}, so it visits a small part of the vocabulary rather than every word.
+ * </p>
+ * <p>
+ * Words are split and normalized as in {@link TokenIndex}, and each node counts the tasks
+ * using its word. A word no task uses any more is left in the tree but not returned, and the
+ * tree is rebuilt once such words outnumber the rest.
+ * </p>
+ */
+class WordTree {
+
+    /** Number of unused words tolerated before the tree is rebuilt. */
+    private static final int MIN_REBUILD_SIZE = 64;
+
+    private final HashMap<String, Node> nodes = new HashMap<>();
+    private Node root;
+    private int unusedCount;
+
+    /**
+     * Returns the largest edit distance at which a word still matches the given query word.
+     * Short words must match exactly, since one edit already turns them into unrelated words.
+     *
+     * @param word a normalized query word.
+     * @return the largest distance allowed.
+     */
+    static int maxDistance(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Returns the Levenshtein distance between two words: the fewest single-character
+     * insertions, deletions and substitutions that turn one into the other.
+     *
+     * @param a the first word.
+     * @param b the second word.
+     * @return the edit distance.
+     */
+    static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1], previous[j]) + 1, previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Adds the words of a task's description to the tree.
+     *
+     * @param task the task.
+     */
+    void add(Task task) {
+        for (String word : TokenIndex.tokenize(task.getDescription())) {
+            Node node = nodes.get(word);
+            if (node == null) {
+                node = new Node(word);
+                nodes.put(word, node);
+                insert(node);
+            } else if (node.useCount == 0) {
+                unusedCount--;
+            }
+            node.useCount++;
+        }
+    }
+
+    /**
+     * Removes the words of a task's description from the tree.
+     *
+     * @param task the task previously added.
+     */
+    void remove(Task task) {
+        for (String word : TokenIndex.tokenize(task.getDescription())) {
+            Node node = nodes.get(word);
+            if (node != null && --node.useCount == 0) {
+                unusedCount++;
+            }
+        }
+        if (unusedCount >= MIN_REBUILD_SIZE && unusedCount > nodes.size() - unusedCount) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Returns the words in use within the given edit distance of a word.
+     *
+     * @param word        a normalized query word.
+     * @param maxDistance the largest distance to include.
+     * @return the matching words, each with its distance from {@code word}.
+     */
+    List<Match> search(String word, int maxDistance) {
+        ArrayList<Match> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+        ArrayDeque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int d = distance(word, node.word);
+            if (d <= maxDistance && node.useCount > 0) {
+                matches.add(new Match(node.word, d));
+            }
+            if (node.children != null) {
+                int last = Math.min(d + maxDistance, node.children.length - 1);
+                for (int k = Math.max(1, d - maxDistance); k <= last; k++) {
+                    if (node.children[k] != null) {
+                        pending.push(node.children[k]);
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void insert(Node added) {
+        if (root == null) {
+            root = added;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int d = distance(added.word, node.word);
+            if (node.children == null) {
+                node.children = new Node[d + 1];
+            } else if (node.children.length <= d) {
+                node.children = Arrays.copyOf(node.children, d + 1);
+            }
+            if (node.children[d] == null) {
+                node.children[d] = added;
+                return;
+            }
+            node = node.children[d];
+        }
+    }
+
+    private void rebuild() {
+        nodes.values().removeIf(node -> node.useCount == 0);
+        root = null;
+        unusedCount = 0;
+        for (Node node : nodes.values()) {
+            node.children = null;
+            insert(node);
+        }
+    }
+
+    /**
+     * A word found by {@link #search(String, int)}.
+     */
+    static class Match {
+        final String word;
+        final int distance;
+
+        Match(String word, int distance) {
+            this.word = word;
+            this.distance = distance;
+        }
+    }
+
+    /**
+     * One word in the tree.
+     */
+    private static class Node {
+        private final String word;
+        private int useCount;
+
+        /** Children indexed by their distance from this word; {@code null} for a leaf. */
+        private Node[] children;
+
+        private Node(String word) {
+            this.word = word;
+        }
+    }
+}
@@ -1,11 +1,24 @@
 package ronaldo.ui;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.TreeMap;
 
 import ronaldo.command.CommandExecutor;
 import ronaldo.exceptions.RonaldoException;
 import ronaldo.parser.Parser;
-import ronaldo.storage.Storage;
+import ronaldo.storage.BatchBackend;
+import ronaldo.storage.InMemoryBackend;
+import ronaldo.storage.StorageBackend;
+import ronaldo.storage.StorageConfig;
 import ronaldo.task.TaskList;
 
 /**
@@ -15,6 +28,12 @@ import ronaldo.task.TaskList;
  */
 public class Ronaldo {
 
+    /** Command-line option that runs the commands in a file, or on standard input, as one batch. */
+    public static final String BATCH_OPTION = "--batch";
+
+    /** Command-line option that makes a batch run the remaining commands after one fails. */
+    public static final String KEEP_GOING_OPTION = "--keep-going";
+
     /** The list of tasks managed by the application. */
     private TaskList taskList;
 
@@ -22,7 +41,7 @@ public class Ronaldo {
     private Scanner scanner;
 
     /** The storage component responsible for saving and loading tasks. */
-    private Storage storage;
+    private StorageBackend storage;
 
     /** The UI component for displaying messages to the user. */
     private Ui ui;
@@ -31,14 +50,27 @@ public class Ronaldo {
      * The main entry point for the Ronaldo task manager application.
      * <p>
      * This class is responsible for initializing components such as
-     * {@link TaskList}, {@link Storage}, and {@link Ui}, as well as
+     * {@link TaskList}, {@link StorageBackend}, and {@link Ui}, as well as
      * handling user input, command parsing, and execution of commands.
      * </p>
      */
     public Ronaldo() {
-        this.storage = new Storage();
+        this(createStorage());
+
+        // Make sure changes still queued for storage are written out on a clean exit
+        Runtime.getRuntime().addShutdownHook(new Thread(this::closeStorage, "ronaldo-storage-shutdown"));
+    }
+
+    /**
+     * Constructs a {@code Ronaldo} that keeps its tasks in the given storage.
+     * The caller is responsible for closing the storage.
+     *
+     * @param storage the storage to load tasks from and record changes in.
+     */
+    public Ronaldo(StorageBackend storage) {
+        this.storage = storage;
         this.scanner = new Scanner(System.in);
-        this.taskList = new TaskList(storage.load());
+        this.taskList = storage.loadTaskList();
         this.ui = new Ui();
 
         // sanity checks
@@ -112,9 +144,153 @@ public class Ronaldo {
         }
     }
 
+    /**
+     * Runs every command read from the given reader as one batch and reports the result of each line.
+     * <p>
+     * All the commands are parsed before any is run. They then run against the task list in turn,
+     * and their changes are stored once, after the last command, through a {@link BatchBackend}.
+     * Blank lines are skipped, and a {@code bye} line ends the batch. If {@code isStopOnError} is
+     * set, the batch stops at the first line that cannot be parsed or run, and none of its changes
+     * are stored; otherwise the failed lines are reported and the others still run.
+     * </p>
+     *
+     * @param reader        the reader to read commands from, one per line.
+     * @param isStopOnError whether to stop at the first failed line.
+     * @return the result of each line, followed by a summary of the batch.
+     * @throws IOException if the commands cannot be read.
+     */
+    public String runBatch(BufferedReader reader, boolean isStopOnError) throws IOException {
+        TreeMap<Integer, String> results = new TreeMap<>();
+        List<Integer> lineNumbers = new ArrayList<>();
+        List<CommandExecutor> executors = new ArrayList<>();
+
+        String input;
+        int lineNumber = 0;
+        while ((input = reader.readLine()) != null) {
+            lineNumber++;
+            if (input.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                executors.add(Parser.parse(input));
+                lineNumbers.add(lineNumber);
+            } catch (Exception e) {
+                results.put(lineNumber, describeError(e));
+            }
+            if (input.equals("bye")) {
+                break;
+            }
+        }
+        if (isStopOnError && !results.isEmpty()) {
+            return formatResults(results) + String.format("\nBatch stopped: line %d could not be read. "
+                    + "No commands were run.", results.firstKey());
+        }
+
+        BatchBackend batch = new BatchBackend(storage);
+        int failures = results.size();
+        for (int i = 0; i < executors.size(); i++) {
+            try {
+                results.put(lineNumbers.get(i), executors.get(i).execute(taskList, batch, ui));
+            } catch (Exception e) {
+                results.put(lineNumbers.get(i), describeError(e));
+                failures++;
+                if (isStopOnError) {
+                    // Nothing of the batch is stored, so go back to the tasks as they are stored
+                    taskList = storage.loadTaskList();
+                    return formatResults(results) + String.format("\nBatch stopped at line %d. "
+                            + "No changes were saved.", lineNumbers.get(i));
+                }
+            }
+        }
+
+        String summary = String.format("\nBatch finished: %d of %d commands succeeded.",
+                results.size() - failures, results.size());
+        try {
+            if (batch.commit(taskList)) {
+                summary += " Changes saved.";
+            }
+        } catch (RonaldoException e) {
+            summary += " " + e.getMessage();
+        }
+        return formatResults(results) + summary;
+    }
+
+    private static String describeError(Exception e) {
+        if (e instanceof RonaldoException) {
+            return e.getMessage();
+        }
+        return "An unexpected error occurred: " + e.getMessage();
+    }
+
+    private static String formatResults(Map<Integer, String> results) {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<Integer, String> result : results.entrySet()) {
+            if (out.length() > 0) {
+                out.append('\n');
+            }
+            out.append("Line ").append(result.getKey()).append(": ").append(result.getValue());
+        }
+        return out.toString();
+    }
+
+    /**
+     * Creates the storage backend chosen through {@link StorageConfig}.
+     * Falls back to keeping tasks in memory if the configured backend cannot be opened.
+     *
+     * @return the storage backend.
+     */
+    private static StorageBackend createStorage() {
+        try {
+            return StorageConfig.load().createBackend();
+        } catch (RonaldoException e) {
+            System.out.println(e.getMessage() + "\nTasks will not be saved in this session.");
+            return new InMemoryBackend(StorageConfig.ListType.DEFAULT);
+        }
+    }
+
+    /**
+     * Flushes any queued changes and closes the storage.
+     * Errors are reported on the console since there is no user left to show them to.
+     */
+    private void closeStorage() {
+        try {
+            storage.close();
+        } catch (RonaldoException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Starts the application. With {@value #BATCH_OPTION}, runs the commands in the file named
+     * after it, or on standard input if there is none, as one batch instead of reading commands
+     * interactively. The batch stops at the first failed command unless {@value #KEEP_GOING_OPTION}
+     * is also given.
+     *
+     * @param args the command-line arguments.
+     */
     public static void main(String[] args) {
         Ronaldo ronaldo = new Ronaldo();
-        ronaldo.readInput();
+        if (args.length == 0 || !args[0].equals(BATCH_OPTION)) {
+            ronaldo.readInput();
+            return;
+        }
+
+        Path file = null;
+        boolean isStopOnError = true;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals(KEEP_GOING_OPTION)) {
+                isStopOnError = false;
+            } else {
+                file = Path.of(args[i]);
+            }
+        }
+        try (BufferedReader reader = file == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            System.out.println(ronaldo.runBatch(reader, isStopOnError));
+        } catch (IOException e) {
+            System.out.println("Unable to read batch: " + e.getMessage());
+        }
     }
 }
 
@@ -11,6 +11,31 @@ import ronaldo.task.Task;
  */
 public class Ui {
 
+    /** ID of the last task shown by a paged {@code list}, where {@code list /next} carries on from. */
+    private long listCursor = Task.NO_ID;
+
+    /** Number of tasks per page of the last paged {@code list}, or 0 if none has been shown. */
+    private int listPageSize;
+
+    /**
+     * Remembers where a paged {@code list} stopped, so the next page can be shown later.
+     *
+     * @param lastShownId the ID of the last task shown.
+     * @param pageSize    the number of tasks per page.
+     */
+    public void setListCursor(long lastShownId, int pageSize) {
+        this.listCursor = lastShownId;
+        this.listPageSize = pageSize;
+    }
+
+    public long getListCursor() {
+        return listCursor;
+    }
+
+    public int getListPageSize() {
+        return listPageSize;
+    }
+
     /**
      * Encloses a message in a border for visual clarity.
      *
@@ -0,0 +1,132 @@
+package ronaldo.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ronaldo.task.TaskFixtures.todo;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ronaldo.exceptions.RonaldoException;
+import ronaldo.storage.InMemoryBackend;
+import ronaldo.storage.StorageBackend;
+import ronaldo.storage.StorageConfig;
+import ronaldo.task.Task;
+import ronaldo.task.TaskList;
+import ronaldo.task.VersionedTaskList;
+import ronaldo.ui.Ui;
+
+public class UndoExecutorTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void testUndoWorksWithEveryBackendByDefault() throws Exception {
+        for (StorageConfig.BackendType backendType : StorageConfig.BackendType.values()) {
+            StorageConfig config = new StorageConfig(backendType, folder.resolve(backendType.name()));
+            StorageBackend storage = config.createBackend();
+            TaskList taskList = storage.loadTaskList();
+            taskList.addTask(todo("Task 1"));
+            storage.writeTask("1 | T | false | Low | Task 1");
+            taskList.deleteTask(0);
+            storage.deleteTask(1);
+
+            new UndoExecutor(true).execute(taskList, storage, new Ui());
+            assertEquals(1, taskList.size());
+            assertEquals(1, storage.load().size(), backendType.name());
+            storage.close();
+        }
+    }
+
+    @Test
+    public void testUndoStoresOnlyTheTasksThatChanged() throws Exception {
+        RecordingBackend storage = new RecordingBackend();
+        VersionedTaskList taskList = new VersionedTaskList(new ArrayList<>());
+        for (int i = 1; i <= 3; i++) {
+            Task task = todo("Task " + i);
+            taskList.addTask(task);
+            storage.writeTask(i + " | T | false | Low | Task " + i);
+        }
+        taskList.markTask(0);
+        storage.markTask(1);
+        taskList.deleteTask(1);
+        storage.deleteTask(2);
+        storage.records.clear();
+
+        new UndoExecutor(true).execute(taskList, storage, new Ui());
+        new UndoExecutor(true).execute(taskList, storage, new Ui());
+        new UndoExecutor(false).execute(taskList, storage, new Ui());
+
+        assertEquals(List.of("write 2 | T | false | Low | Task 2", "unmark 1", "mark 1"), storage.records);
+        assertEquals(3, storage.load().size());
+        assertEquals(taskList.listTasks(), new TaskList(storage.load()).listTasks());
+    }
+
+    @Test
+    public void testFailedStoreLeavesTheListAsItWas() throws Exception {
+        RecordingBackend storage = new RecordingBackend();
+        VersionedTaskList taskList = new VersionedTaskList(new ArrayList<>());
+        taskList.addTask(todo("Task 1"));
+        storage.writeTask("1 | T | false | Low | Task 1");
+        taskList.deleteTask(0);
+        storage.deleteTask(1);
+        String listing = taskList.listTasks();
+
+        storage.isFailing = true;
+        assertThrows(RonaldoException.class, () -> new UndoExecutor(true).execute(taskList, storage, new Ui()));
+        assertEquals(listing, taskList.listTasks());
+
+        // The change can still be undone once storing works again
+        storage.isFailing = false;
+        new UndoExecutor(true).execute(taskList, storage, new Ui());
+        assertEquals(1, taskList.size());
+        assertEquals(1, storage.load().size());
+    }
+
+    /**
+     * An in-memory backend that records every change made through it.
+     */
+    private static class RecordingBackend extends InMemoryBackend {
+        private final List<String> records = new ArrayList<>();
+        private boolean isFailing;
+
+        @Override
+        public void writeTask(String line) {
+            if (!isFailing) {
+                records.add("write " + line);
+                super.writeTask(line);
+            }
+        }
+
+        @Override
+        public void deleteTask(long id) throws RonaldoException {
+            records.add("delete " + id);
+            super.deleteTask(id);
+        }
+
+        @Override
+        public void markTask(long id) throws RonaldoException {
+            records.add("mark " + id);
+            super.markTask(id);
+        }
+
+        @Override
+        public void unmarkTask(long id) throws RonaldoException {
+            records.add("unmark " + id);
+            super.unmarkTask(id);
+        }
+
+        @Override
+        public void restoreTasks(List<Task> tasks) throws RonaldoException {
+            if (isFailing) {
+                throw new RonaldoException("Error writing task to files.");
+            }
+            super.restoreTasks(tasks);
+        }
+    }
+}
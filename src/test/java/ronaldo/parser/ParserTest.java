@@ -0,0 +1,102 @@
+package ronaldo.parser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ronaldo.task.TaskFixtures.todo;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import ronaldo.exceptions.InvalidEventTaskException;
+import ronaldo.exceptions.RonaldoException;
+import ronaldo.storage.InMemoryBackend;
+import ronaldo.task.Event;
+import ronaldo.task.Task;
+import ronaldo.task.TaskList;
+import ronaldo.ui.Ui;
+
+public class ParserTest {
+
+    @Test
+    public void testEventEndingBeforeItStartsIsRejected() {
+        InvalidEventTaskException e = assertThrows(InvalidEventTaskException.class, () ->
+                Parser.parse("event Meeting /from 2025-03-01 1400 /to 2025-03-01 1300 /p H"));
+        assertEquals("Urm... An event must end after it starts.", e.getMessage());
+        assertThrows(InvalidEventTaskException.class, () ->
+                Parser.parse("event Meeting /from 2025-03-01 1400 /to 2025-03-01 1400 /p H"));
+    }
+
+    @Test
+    public void testEventTimesThatAreNotDatesAreNotCompared() {
+        assertDoesNotThrow(() -> Parser.parse("event Meeting /from 2025-03-01 1400 /to 2025-03-01 1500 /p H"));
+        assertDoesNotThrow(() -> Parser.parse("event Meeting /from Mon 2pm /to 4pm /p H"));
+    }
+
+    @Test
+    public void testDeadlineWithoutDescriptionKeepsTheCommandWord() throws Exception {
+        TaskList taskList = run(new TaskList(new ArrayList<>()), "deadline /by 2025-03-01 1400 /p H");
+        assertEquals("deadline", taskList.getTask(0).getDescription());
+    }
+
+    @Test
+    public void testTrailingEmptyEventFieldsAreIgnored() throws Exception {
+        TaskList taskList = run(new TaskList(new ArrayList<>()), "event Meeting /from Mon 2pm /to 4pm /p H /to/p");
+        Event event = (Event) taskList.getTask(0);
+        assertEquals("Meeting", event.getDescription());
+        assertEquals("Mon 2pm", event.getFrom());
+        assertEquals("4pm", event.getTo());
+
+        assertThrows(InvalidEventTaskException.class, () ->
+                Parser.parse("event Meeting /from Mon 2pm /to 4pm /p H /to 5pm"));
+    }
+
+    @Test
+    public void testTaskNumberThatIsNotANumberRaisesNumberFormatException() {
+        assertThrows(NumberFormatException.class, () -> Parser.parse("mark abc"));
+        assertThrows(NumberFormatException.class, () -> Parser.parse("unmark abc"));
+    }
+
+    @Test
+    public void testTaskRangesAreMergedAndDeduplicated() throws Exception {
+        TaskList taskList = run(taskListOf(25), "mark 3,7,9-20");
+        assertArrayEquals(new int[] {2, 6, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19},
+                taskList.filterTasks(null, true));
+
+        // Overlapping, repeated and adjacent ranges mark each task once
+        taskList = run(taskListOf(10), "mark 4,2-4,3,5-6,6");
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5}, taskList.filterTasks(null, true));
+    }
+
+    @Test
+    public void testDescendingRangeDeletesEachTaskOnce() throws Exception {
+        TaskList taskList = run(taskListOf(5), "delete 3-1");
+        assertEquals(2, taskList.size());
+        assertEquals(4, taskList.getTask(0).getId());
+
+        taskList = run(taskListOf(5), "delete 2,2-1,5");
+        assertEquals(2, taskList.size());
+        assertEquals(3, taskList.getTask(0).getId());
+        assertEquals(4, taskList.getTask(1).getId());
+    }
+
+    private static TaskList taskListOf(int count) {
+        TaskList taskList = new TaskList(new ArrayList<>());
+        for (int i = 1; i <= count; i++) {
+            taskList.addTask(todo("Task " + i));
+        }
+        return taskList;
+    }
+
+    private static TaskList run(TaskList taskList, String input) throws RonaldoException {
+        InMemoryBackend storage = new InMemoryBackend();
+        for (int i = 0; i < taskList.size(); i++) {
+            Task task = taskList.getTask(i);
+            storage.writeTask(task.getId() + " | T | false | Low | " + task.getDescription());
+        }
+        Parser.parse(input).execute(taskList, storage, new Ui());
+        return taskList;
+    }
+}
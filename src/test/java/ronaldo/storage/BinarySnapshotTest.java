@@ -0,0 +1,116 @@
+package ronaldo.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ronaldo.task.LazyTaskList;
+import ronaldo.task.Task;
+import ronaldo.task.TaskList;
+
+public class BinarySnapshotTest {
+
+    private static final List<String> LINES = List.of(
+            "1 | T | false | Low | Task 1",
+            "2 | D | true | High | Return book | 2025-03-01 1400",
+            "3 | E | false | Medium | Meeting | Mon 2pm - 4pm",
+            "4 | X | broken",
+            "5 | T | true | Medium | \u00dcn\u00efcode task");
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void testSnapshotReadsBackTheTasksItWasWrittenFrom() throws Exception {
+        Path file = folder.resolve("ronaldo.txt");
+        Path binaryFile = folder.resolve("ronaldo.bin");
+        Files.write(file, LINES);
+        BinarySnapshot.write(binaryFile, LINES, file);
+
+        BinarySnapshot snapshot = BinarySnapshot.open(binaryFile, file);
+        assertNotNull(snapshot);
+        assertEquals(4, snapshot.size());
+        LazyTaskList taskList = new LazyTaskList(snapshot);
+        assertEquals(parse(LINES).listTasks(), taskList.listTasks());
+        assertEquals(5, taskList.getTask(3).getId());
+    }
+
+    @Test
+    public void testStaleSnapshotIsNotUsed() throws Exception {
+        Path file = folder.resolve("ronaldo.txt");
+        Path binaryFile = folder.resolve("ronaldo.bin");
+        Files.write(file, LINES);
+        BinarySnapshot.write(binaryFile, LINES, file);
+
+        // Same length, different time
+        FileTime modified = Files.getLastModifiedTime(file);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified.toMillis() + 2000));
+        assertNull(BinarySnapshot.open(binaryFile, file));
+
+        // Same time, different length
+        Files.writeString(file, "6 | T | false | Low | Task 6\n", StandardOpenOption.APPEND);
+        Files.setLastModifiedTime(file, modified);
+        assertNull(BinarySnapshot.open(binaryFile, file));
+    }
+
+    @Test
+    public void testLazyStorageFallsBackToTextWhenTheSnapshotIsStale() throws Exception {
+        Storage storage = new Storage(folder, DurabilityPolicy.everyOps(100), StorageConfig.ListType.LAZY);
+        storage.writeTask("1 | T | false | Low | Task 1");
+        storage.writeTask("2 | T | false | Low | Task 2");
+        storage.compact();
+        assertTrue(storage.loadTaskList() instanceof LazyTaskList);
+        storage.close();
+
+        // An edit made to the text snapshot by hand leaves the binary copy stale
+        Path file = folder.resolve("ronaldo.txt");
+        Files.writeString(file, "3 | T | true | Low | Task 3\n", StandardOpenOption.APPEND);
+        storage = new Storage(folder, DurabilityPolicy.everyOps(100), StorageConfig.ListType.LAZY);
+        TaskList taskList = storage.loadTaskList();
+        assertFalse(taskList instanceof LazyTaskList);
+        assertEquals(parse(Files.readAllLines(file)).listTasks(), taskList.listTasks());
+        storage.close();
+    }
+
+    @Test
+    public void testLazyStorageFallsBackToTextWhileTheJournalHasRecords() throws Exception {
+        Storage storage = new Storage(folder, DurabilityPolicy.everyOps(100), StorageConfig.ListType.LAZY);
+        storage.writeTask("1 | T | false | Low | Task 1");
+        storage.compact();
+        storage.writeTask("2 | T | false | Low | Task 2");
+        storage.markTask(1);
+
+        TaskList taskList = storage.loadTaskList();
+        assertFalse(taskList instanceof LazyTaskList);
+        assertEquals("1. [T][X] Task 1 (priority: Low)\n2. [T][ ] Task 2 (priority: Low)", taskList.listTasks());
+        storage.close();
+
+        // Reopening still finds the journal records rather than trusting the binary copy
+        storage = new Storage(folder, DurabilityPolicy.everyOps(100), StorageConfig.ListType.LAZY);
+        assertEquals(taskList.listTasks(), storage.loadTaskList().listTasks());
+        storage.close();
+    }
+
+    private static TaskList parse(List<String> lines) {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (String line : lines) {
+            Task task = TaskCodec.parseTask(line);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return new TaskList(tasks);
+    }
+}
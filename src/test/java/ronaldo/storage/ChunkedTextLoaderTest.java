@@ -0,0 +1,103 @@
+package ronaldo.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ronaldo.task.Task;
+
+public class ChunkedTextLoaderTest {
+
+    private static final int CHUNKS = 4;
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void testFileOfSeveralChunksLoadsLikeASequentialParse() throws Exception {
+        StringBuilder text = new StringBuilder();
+        int lineCount = 0;
+        while (text.length() < ChunkedTextLoader.MIN_CHUNK_BYTES * (CHUNKS + 1)) {
+            lineCount++;
+            String line;
+            switch (lineCount % 4) {
+            case 0:
+                line = lineCount + " | D | true | High | Return book " + lineCount + " | 2025-03-01 1400";
+                break;
+            case 1:
+                line = lineCount + " | E | false | Medium | Meeting " + lineCount + " | Mon 2pm - 4pm";
+                break;
+            default:
+                line = lineCount + " | T | false | Low | Task " + lineCount + " with a longer description";
+                break;
+            }
+            text.append(line).append(lineCount % 7 == 0 ? "\r\n" : "\n");
+            if (lineCount % 5000 == 0) {
+                text.append(lineCount).append(" | X | broken\n\n");
+            }
+        }
+        // The last line has no newline after it
+        text.append(lineCount + 1).append(" | T | false | Low | Last task");
+        Path file = folder.resolve("ronaldo.txt");
+        Files.writeString(file, text, StandardCharsets.UTF_8);
+
+        // The even split points fall inside lines, which the chunk bounds must move past
+        byte[] bytes = Files.readAllBytes(file);
+        int[] bounds = ChunkedTextLoader.chunkBounds(bytes, CHUNKS);
+        assertEquals(CHUNKS + 1, bounds.length);
+        boolean isAnySplitInsideALine = false;
+        for (int i = 1; i < CHUNKS; i++) {
+            isAnySplitInsideALine |= bytes[(int) ((long) bytes.length * i / CHUNKS) - 1] != '\n';
+            assertEquals('\n', bytes[bounds[i] - 1]);
+        }
+        assertTrue(isAnySplitInsideALine);
+
+        List<String> expected = new ArrayList<>();
+        int skipped = 0;
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            Task task = parse(line);
+            if (task == null) {
+                skipped++;
+            } else {
+                expected.add(TaskCodec.formatTask(task));
+            }
+        }
+        assertTrue(skipped > 0);
+
+        ChunkedTextLoader loader = new ChunkedTextLoader(ChunkedTextLoaderTest::parse);
+        List<String> loaded = new ArrayList<>();
+        for (Task task : loader.load(file)) {
+            loaded.add(TaskCodec.formatTask(task));
+        }
+        assertEquals(expected, loaded);
+        assertEquals(skipped, loader.getSkippedLines());
+        assertEquals("Last task", loader.load(file).get(expected.size() - 1).getDescription());
+
+        List<String> streamed = new ArrayList<>();
+        loader.forEach(file, task -> streamed.add(TaskCodec.formatTask(task)));
+        assertEquals(expected, streamed);
+        assertEquals(skipped, loader.getSkippedLines());
+    }
+
+    /**
+     * Parses a line as the storage does, treating a line the codec throws on as unreadable.
+     */
+    private static Task parse(String line) {
+        try {
+            return TaskCodec.parseTask(line);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ronaldo.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LsmStoreTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void testDeletedKeyStaysDeletedAfterCrashDuringMerge() throws Exception {
+        Path backup = Files.createDirectories(folder.resolve("backup"));
+        Path storeFolder = folder.resolve("store");
+        long key = 0;
+        try (LsmStore store = new LsmStore(storeFolder)) {
+            // run-0 holds the doomed key, run-1 its tombstone and run-2 an overwrite
+            store.put(-1, "deleted");
+            store.put(-2, "old");
+            for (int run = 0; run <= LsmStore.MAX_RUNS; run++) {
+                int fresh = LsmStore.MEMTABLE_LIMIT;
+                if (run == 0) {
+                    fresh -= 2;
+                } else if (run == 1) {
+                    store.delete(-1);
+                    fresh--;
+                } else if (run == 2) {
+                    store.put(-2, "new");
+                    fresh--;
+                } else if (run == LsmStore.MAX_RUNS) {
+                    // Keep the runs the merge is about to delete
+                    for (int i = 1; i < LsmStore.MAX_RUNS; i++) {
+                        Files.copy(storeFolder.resolve("run-" + i + ".sst"), backup.resolve("run-" + i + ".sst"));
+                    }
+                }
+                for (int i = 0; i < fresh; i++) {
+                    store.put(key++, "value");
+                }
+            }
+        }
+        assertFalse(Files.exists(storeFolder.resolve("run-1.sst")));
+
+        // A crash after the merged run replaced run-0, but before the older runs were deleted
+        for (int i = 1; i < LsmStore.MAX_RUNS; i++) {
+            Files.copy(backup.resolve("run-" + i + ".sst"), storeFolder.resolve("run-" + i + ".sst"));
+        }
+
+        try (LsmStore reopened = new LsmStore(storeFolder)) {
+            assertNull(reopened.get(-1));
+            assertEquals("new", reopened.get(-2));
+            TreeMap<Long, String> entries = reopened.scan();
+            assertFalse(entries.containsKey(-1L));
+            assertEquals("new", entries.get(-2L));
+            assertEquals(key + 1, entries.size());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package ronaldo.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ronaldo.task.Task;
+import ronaldo.task.TaskList;
+
+public class SegmentedLogBackendTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void testZeroFilledTailEndsTheLog() throws Exception {
+        SegmentedLogBackend backend = new SegmentedLogBackend(folder, DurabilityPolicy.everyOp());
+        backend.writeTask("1 | T | false | Low | Task 1");
+        backend.writeTask("2 | T | false | Low | Task 2");
+        backend.close();
+        Path segment = folder.resolve("log").resolve("segment-00000000.log");
+        long size = Files.size(segment);
+        Files.write(segment, new byte[4096], StandardOpenOption.APPEND);
+
+        SegmentedLogBackend reopened = new SegmentedLogBackend(folder, DurabilityPolicy.everyOp());
+        assertEquals(2, reopened.load().size());
+        assertEquals(size, Files.size(segment));
+        reopened.writeTask("3 | T | false | Low | Task 3");
+        reopened.close();
+
+        assertEquals(3, new SegmentedLogBackend(folder, DurabilityPolicy.everyOp()).load().size());
+    }
+
+    @Test
+    public void testReplaceAllSwapsInFreshLog() throws Exception {
+        SegmentedLogBackend backend = new SegmentedLogBackend(folder, DurabilityPolicy.everyOp());
+        for (int i = 1; i <= 3; i++) {
+            backend.writeTask(i + " | T | false | Low | Task " + i);
+        }
+        ArrayList<Task> kept = new ArrayList<>();
+        kept.add(TaskCodec.parseTask("2 | T | true | Low | Task 2"));
+        backend.replaceAll(new TaskList(kept));
+        backend.writeTask("4 | T | false | Low | Task 4");
+        backend.close();
+
+        assertFalse(Files.exists(folder.resolve("log.new")));
+        assertFalse(Files.exists(folder.resolve("log.old")));
+        assertEquals(List.of("2 | T | true | Low | Task 2", "4 | T | false | Low | Task 4"), loadLines());
+    }
+
+    @Test
+    public void testInterruptedSwapIsFinishedOrDiscarded() throws Exception {
+        SegmentedLogBackend backend = new SegmentedLogBackend(folder, DurabilityPolicy.everyOp());
+        backend.writeTask("1 | T | false | Low | Task 1");
+        backend.close();
+        Path log = folder.resolve("log");
+        Path newLog = folder.resolve("log.new");
+
+        // A crash while the fresh log was still being written
+        Files.createDirectories(newLog);
+        Files.write(newLog.resolve("segment-00000000.log"), new byte[] {1, 2, 3});
+        assertEquals(List.of("1 | T | false | Low | Task 1"), loadLines());
+        assertFalse(Files.exists(newLog));
+
+        // A crash after the old log was moved aside, but before the fresh one was moved into place
+        Files.move(log, folder.resolve("log.old"));
+        Files.createDirectories(newLog);
+        assertTrue(loadLines().isEmpty());
+        assertTrue(Files.exists(log));
+        assertFalse(Files.exists(folder.resolve("log.old")));
+    }
+
+    @Test
+    public void testFailedCompactionKeepsTasksAndLaterRecordsInOrder() throws Exception {
+        SegmentedLogBackend backend = new SegmentedLogBackend(folder, DurabilityPolicy.everyOps(1000));
+        String padding = "x".repeat(1000);
+        int count = 2 * SegmentedLogBackend.SEGMENT_BYTES / padding.length();
+        long[] deleted = new long[count - 2];
+        for (int i = 1; i <= count; i++) {
+            backend.writeTask(i + " | T | false | Low | Task " + i + " " + padding);
+            if (i > 2) {
+                deleted[i - 3] = i;
+            }
+        }
+        backend.deleteTasks(deleted);
+        backend.close();
+
+        // The old log cannot be moved aside while log.old is in the way, so the swap fails
+        Path blocker = folder.resolve("log.old");
+        SegmentedLogBackend reopened = new SegmentedLogBackend(folder, DurabilityPolicy.everyOp());
+        Files.createDirectories(blocker);
+        Files.write(blocker.resolve("in-the-way"), new byte[] {1});
+        assertEquals(2, reopened.load().size());
+        assertFalse(Files.exists(folder.resolve("log.new")));
+
+        reopened.deleteTask(1);
+        reopened.writeTask((count + 1) + " | T | false | Low | Task " + (count + 1));
+        reopened.close();
+        assertEquals(List.of("2 | T | false | Low | Task 2 " + padding,
+                (count + 1) + " | T | false | Low | Task " + (count + 1)), loadLines());
+    }
+
+    private List<String> loadLines() throws Exception {
+        SegmentedLogBackend backend = new SegmentedLogBackend(folder, DurabilityPolicy.everyOp());
+        List<String> lines = new ArrayList<>();
+        for (Task task : backend.load()) {
+            lines.add(TaskCodec.formatTask(task));
+        }
+        backend.close();
+        return lines;
+    }
+}
@@ -0,0 +1,85 @@
+package ronaldo.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ronaldo.exceptions.RonaldoException;
+import ronaldo.task.ColumnarTaskList;
+import ronaldo.task.VersionedTaskList;
+
+public class StorageConfigTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void testEveryBackendLoadsTheChosenTaskList() throws Exception {
+        for (StorageConfig.BackendType backendType : StorageConfig.BackendType.values()) {
+            StorageConfig config = new StorageConfig(backendType, folder.resolve(backendType.name()),
+                    StorageConfig.ListType.VERSIONED, DurabilityPolicy.everyOp());
+            StorageBackend backend = config.createBackend();
+            try {
+                assertTrue(backend.loadTaskList() instanceof VersionedTaskList, backendType.name());
+            } finally {
+                backend.close();
+            }
+        }
+    }
+
+    @Test
+    public void testVersionedListIsTheDefault() throws Exception {
+        assertEquals(StorageConfig.ListType.VERSIONED, StorageConfig.load().getListType());
+    }
+
+    @Test
+    public void testListIsReadFromSettings() throws Exception {
+        System.setProperty(StorageConfig.LIST_PROPERTY, "Columnar");
+        System.setProperty(StorageConfig.DATA_DIR_PROPERTY, folder.toString());
+        try {
+            StorageConfig config = StorageConfig.load();
+            assertEquals(StorageConfig.ListType.COLUMNAR, config.getListType());
+            StorageBackend backend = config.createBackend();
+            assertTrue(backend.loadTaskList() instanceof ColumnarTaskList);
+            backend.close();
+        } finally {
+            System.clearProperty(StorageConfig.LIST_PROPERTY);
+            System.clearProperty(StorageConfig.DATA_DIR_PROPERTY);
+        }
+    }
+
+    @Test
+    public void testDifferentListsAreRejected() throws Exception {
+        System.setProperty(StorageConfig.LIST_PROPERTY, "versioned");
+        System.setProperty("ronaldo.tasklist.concurrent", "true");
+        try {
+            RonaldoException e = assertThrows(RonaldoException.class, StorageConfig::load);
+            assertTrue(e.getMessage().contains("Only one task list"));
+        } finally {
+            System.clearProperty(StorageConfig.LIST_PROPERTY);
+            System.clearProperty("ronaldo.tasklist.concurrent");
+        }
+
+        // An older setting agreeing with the new one is not a conflict
+        System.setProperty(StorageConfig.LIST_PROPERTY, "concurrent");
+        System.setProperty("ronaldo.tasklist.concurrent", "true");
+        try {
+            assertEquals(StorageConfig.ListType.CONCURRENT, StorageConfig.load().getListType());
+        } finally {
+            System.clearProperty(StorageConfig.LIST_PROPERTY);
+            System.clearProperty("ronaldo.tasklist.concurrent");
+        }
+    }
+
+    @Test
+    public void testJournalOnlyListsAreRejectedForOtherBackends() {
+        RonaldoException e = assertThrows(RonaldoException.class, () -> new StorageConfig(
+                StorageConfig.BackendType.TEXT, folder, StorageConfig.ListType.PAGED, DurabilityPolicy.everyOp()));
+        assertTrue(e.getMessage().contains(StorageConfig.BACKEND_PROPERTY + "=journal"));
+    }
+}
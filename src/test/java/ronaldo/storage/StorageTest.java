@@ -0,0 +1,177 @@
+package ronaldo.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ronaldo.task.TaskFixtures.todo;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ronaldo.task.ColumnarTaskList;
+import ronaldo.task.PagedTaskList;
+import ronaldo.task.Priority;
+import ronaldo.task.Task;
+import ronaldo.task.TaskList;
+import ronaldo.task.ToDo;
+
+public class StorageTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void testJournalReplayedAfterFoldKeepsEachTaskOnce() throws Exception {
+        Storage storage = new Storage(folder, DurabilityPolicy.everyOp());
+        TaskList taskList = storage.loadTaskList();
+        for (int i = 1; i <= 3; i++) {
+            Task task = new ToDo("Task " + i);
+            task.setPriority(Priority.LOW);
+            taskList.addTask(task);
+            storage.writeTask(TaskCodec.formatTask(task));
+        }
+        storage.markTask(2);
+        storage.deleteTask(1);
+        storage.flush();
+        Path journal = folder.resolve("ronaldo.journal");
+        List<String> records = Files.readAllLines(journal);
+        storage.compact();
+        storage.close();
+
+        // A crash after the folded snapshot is moved into place, but before the journal is emptied
+        Files.write(journal, records);
+
+        Storage reopened = new Storage(folder, DurabilityPolicy.everyOp());
+        ArrayList<Task> tasks = reopened.load();
+        assertEquals(2, tasks.size());
+        assertEquals(2, tasks.get(0).getId());
+        assertTrue(tasks.get(0).isDone());
+        assertEquals(3, tasks.get(1).getId());
+        assertFalse(tasks.get(1).isDone());
+
+        reopened.compact();
+        reopened.close();
+        assertEquals(List.of("2 | T | true | Low | Task 2", "3 | T | false | Low | Task 3"),
+                Files.readAllLines(folder.resolve("ronaldo.txt")));
+    }
+
+    @Test
+    public void testPagedListSkipsUnreadableLinesAndForgetsDeletedTasks() throws Exception {
+        Path file = folder.resolve("ronaldo.txt");
+        Files.write(file, List.of("1 | T | false | Low | Task 1", "2 | X | broken", "",
+                "3 | T | true | Low | Task 3"));
+        LineIndexedSource source = LineIndexedSource.open(file);
+        PagedTaskList taskList = new PagedTaskList(source);
+        assertEquals(2, taskList.size());
+        assertEquals(3, taskList.getTask(1).getId());
+
+        for (int i = 4; i <= 10; i++) {
+            taskList.addTask(todo("Task " + i));
+        }
+        taskList.deleteTasks(new int[] {2, 3, 4, 5, 6});
+        taskList.deleteTask(0);
+        taskList.addTask(todo("Task 11"));
+
+        assertEquals("1. [T][X] Task 3 (priority: Low)\n2. [T][ ] Task 9 (priority: Low)\n"
+                + "3. [T][ ] Task 10 (priority: Low)\n4. [T][ ] Task 11 (priority: Low)", taskList.listTasks());
+        assertEquals(2, taskList.indexOf(10));
+        source.close();
+    }
+
+    @Test
+    public void testColumnarListHoldsTheSnapshotWithTheJournalApplied() throws Exception {
+        Files.write(folder.resolve("ronaldo.txt"), List.of("T | false | Low | Task 1", "2 | X | broken",
+                "2 | T | false | Low | Task 2", "3 | T | false | Low | Task 3"));
+        Storage storage = new Storage(folder, DurabilityPolicy.everyOps(100), StorageConfig.ListType.COLUMNAR);
+        storage.markTask(1);
+        storage.deleteTask(2);
+        storage.writeTask("4 | T | false | Low | Task 4");
+
+        TaskList taskList = storage.loadTaskList();
+        assertTrue(taskList instanceof ColumnarTaskList);
+        assertEquals(new TaskList(storage.load()).listTasks(), taskList.listTasks());
+        assertEquals("1. [T][X] Task 1 (priority: Low)\n2. [T][ ] Task 3 (priority: Low)\n"
+                + "3. [T][ ] Task 4 (priority: Low)", taskList.listTasks());
+        taskList.addTask(todo("Task 5"));
+        assertEquals(5, taskList.getTask(3).getId());
+        storage.close();
+    }
+
+    @Test
+    public void testPagedListKeepsStatusChangesWhenPagesAreEvicted() throws Exception {
+        Path file = folder.resolve("ronaldo.txt");
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= PagedTaskList.PAGE_SIZE * 3; i++) {
+            lines.add(i + " | T | " + (i == 2) + " | Low | Task " + i);
+        }
+        Files.write(file, lines);
+
+        try (LineIndexedSource source = LineIndexedSource.open(file)) {
+            PagedTaskList taskList = new PagedTaskList(source, 1);
+            taskList.markTask(0);
+            taskList.unmarkTask(1);
+            taskList.markTask(PagedTaskList.PAGE_SIZE * 2);
+
+            // Reading the other pages evicts the first one from the cache
+            assertTrue(taskList.getTask(PagedTaskList.PAGE_SIZE * 2).isDone());
+            assertFalse(taskList.getTask(PagedTaskList.PAGE_SIZE).isDone());
+            assertTrue(taskList.getTask(0).isDone());
+            assertFalse(taskList.getTask(1).isDone());
+            assertFalse(taskList.getTask(2).isDone());
+
+            // A deleted task's change is not applied to the task that takes its place
+            taskList.deleteTask(0);
+            taskList.getTask(PagedTaskList.PAGE_SIZE * 2);
+            assertFalse(taskList.getTask(0).isDone());
+        }
+    }
+
+    @Test
+    public void testPagedListSnapshotIsClosedOnReloadAndClose() throws Exception {
+        Storage storage = new Storage(folder, DurabilityPolicy.everyOps(100), StorageConfig.ListType.PAGED);
+        // More than a page, so the first page is not yet cached when the lists are loaded
+        for (int i = 1; i <= PagedTaskList.PAGE_SIZE + 1; i++) {
+            storage.writeTask(i + " | T | false | Low | Task " + i);
+        }
+        TaskList first = storage.loadTaskList();
+        TaskList second = storage.loadTaskList();
+
+        assertThrows(IllegalStateException.class, () -> first.getTask(0));
+        assertEquals(PagedTaskList.PAGE_SIZE + 1, second.size());
+        storage.close();
+        assertThrows(IllegalStateException.class, () -> second.getTask(0));
+    }
+
+    @Test
+    public void testCompletedTasksAreArchivedOnlyWhenClosing() throws Exception {
+        System.setProperty(Storage.COLD_STORAGE_PROPERTY, "true");
+        try {
+            Storage storage = new Storage(folder, DurabilityPolicy.everyOps(100));
+            for (int i = 1; i <= Storage.COLD_AGE_TASKS + 2; i++) {
+                storage.writeTask(i + " | T | " + (i <= 2) + " | Low | Task " + i);
+            }
+            // A compaction while the tasks are in use must not take them away
+            storage.compact();
+            storage.unmarkTask(1);
+            storage.close();
+
+            Storage reopened = new Storage(folder, DurabilityPolicy.everyOp());
+            ArrayList<Task> tasks = reopened.load();
+            assertEquals(Storage.COLD_AGE_TASKS + 1, tasks.size());
+            assertEquals(1, tasks.get(0).getId());
+            assertFalse(tasks.get(0).isDone());
+            ArrayList<Task> archived = reopened.findArchivedTasks("Task 2");
+            assertEquals(1, archived.size());
+            assertEquals(2, archived.get(0).getId());
+            reopened.close();
+        } finally {
+            System.clearProperty(Storage.COLD_STORAGE_PROPERTY);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ronaldo.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ronaldo.task.Task;
+
+public class TextFileBackendTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void testDeleteAndMarkLeaveTombstonesThatLoadingSkips() throws Exception {
+        TextFileBackend backend = new TextFileBackend(folder);
+        for (int i = 1; i <= 3; i++) {
+            backend.writeTask(i + " | T | false | Low | Task " + i);
+        }
+        Path file = folder.resolve("ronaldo.txt");
+        long size = Files.size(file);
+
+        backend.deleteTask(1);
+        assertEquals(size, Files.size(file));
+        assertTrue(Files.readAllLines(file).get(0).isBlank());
+        backend.markTask(3);
+        backend.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(2).isBlank());
+        assertEquals("3 | T | true | Low | Task 3", lines.get(3));
+
+        ArrayList<Task> tasks = new TextFileBackend(folder).load();
+        assertEquals(2, tasks.size());
+        assertEquals(2, tasks.get(0).getId());
+        assertEquals(3, tasks.get(1).getId());
+        assertTrue(tasks.get(1).isDone());
+    }
+
+    @Test
+    public void testVacuumDropsTombstonesOnceThresholdIsPassed() throws Exception {
+        TextFileBackend backend = new TextFileBackend(folder);
+        String description = "x".repeat(1000);
+        int count = (int) (TextFileBackend.VACUUM_THRESHOLD_BYTES / description.length()) + 2;
+        for (int i = 1; i <= count; i++) {
+            backend.writeTask(i + " | T | false | Low | " + description);
+        }
+        for (int i = 1; i < count; i++) {
+            backend.deleteTask(i);
+        }
+        // Waits for the background vacuum to finish
+        backend.close();
+
+        // Deletes after the vacuum started may have left a few new tombstones
+        Path file = folder.resolve("ronaldo.txt");
+        assertTrue(Files.size(file) < TextFileBackend.VACUUM_THRESHOLD_BYTES);
+        assertEquals(List.of(count + " | T | false | Low | " + description),
+                Files.readAllLines(file).stream().filter(line -> !line.isBlank()).collect(Collectors.toList()));
+        ArrayList<Task> tasks = new TextFileBackend(folder).load();
+        assertEquals(1, tasks.size());
+        assertEquals(count, tasks.get(0).getId());
+    }
+}
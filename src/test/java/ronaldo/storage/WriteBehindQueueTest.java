@@ -0,0 +1,59 @@
+package ronaldo.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class WriteBehindQueueTest {
+
+    @Test
+    public void testFlushReportsUncheckedWriterFailure() throws Exception {
+        WriteBehindQueue queue = new WriteBehindQueue(new WriteBehindQueue.JournalSink() {
+            @Override
+            public void append(List<String> records) {
+                throw new IllegalStateException("disk full");
+            }
+
+            @Override
+            public void sync() {
+            }
+        }, DurabilityPolicy.everyOp());
+
+        queue.enqueue("ADD | 1 | T | false | Low | Task 1");
+        IOException failure = assertThrows(IOException.class, queue::flush);
+        assertTrue(failure.getMessage().contains("disk full"));
+        assertThrows(IOException.class, () -> queue.enqueue("DELETE | 1"));
+        assertThrows(IOException.class, queue::close);
+    }
+
+    @Test
+    public void testEachRecordOfABulkEntryCountsAsAnOperation() throws Exception {
+        List<String> written = new ArrayList<>();
+        CountDownLatch synced = new CountDownLatch(1);
+        WriteBehindQueue queue = new WriteBehindQueue(new WriteBehindQueue.JournalSink() {
+            @Override
+            public void append(List<String> records) {
+                written.addAll(records);
+            }
+
+            @Override
+            public void sync() {
+                synced.countDown();
+            }
+        }, DurabilityPolicy.everyOps(3));
+
+        // Three records from one bulk command reach the sync threshold without a flush
+        queue.enqueue(List.of("MARK | 1", "MARK | 2", "<flush>"));
+        assertTrue(synced.await(5, TimeUnit.SECONDS));
+        queue.close();
+        assertEquals(List.of("MARK | 1", "MARK | 2", "<flush>"), written);
+    }
+}
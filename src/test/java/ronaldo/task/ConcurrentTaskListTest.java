@@ -0,0 +1,140 @@
+package ronaldo.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ronaldo.task.TaskFixtures.todo;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentTaskListTest {
+
+    @Test
+    public void testReadersDoNotWaitForWriter() throws Exception {
+        ConcurrentTaskList taskList = new ConcurrentTaskList(new ArrayList<>());
+        for (int i = 1; i <= 3; i++) {
+            taskList.addTask(todo("Task " + i));
+        }
+        CountDownLatch isWriting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // A task that stalls the writer while it holds the lock, once it is given an ID
+        Task slow = new ToDo("Slow task") {
+            @Override
+            public void setId(long id) {
+                super.setId(id);
+                isWriting.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        slow.setPriority(Priority.LOW);
+        Thread writer = new Thread(() -> taskList.addTask(slow));
+        writer.start();
+        assertTrue(isWriting.await(5, TimeUnit.SECONDS));
+
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> listing = reader.submit(taskList::listTasks);
+            Future<Integer> found = reader.submit(() -> taskList.findTasks("Task").size());
+            assertEquals(3, listing.get(5, TimeUnit.SECONDS).split("\n").length);
+            assertEquals(3, found.get(5, TimeUnit.SECONDS).intValue());
+        } finally {
+            release.countDown();
+            reader.shutdown();
+        }
+        writer.join();
+        assertEquals(4, taskList.size());
+        assertEquals(3, taskList.indexOf(slow.getId()));
+    }
+
+    @Test
+    public void testReadersSeeConsistentListsUnderConcurrentWrites() throws Exception {
+        ConcurrentTaskList taskList = new ConcurrentTaskList(new ArrayList<>());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 2000; i++) {
+                taskList.addTask(todo("Task " + i));
+                taskList.markTask(taskList.size() - 1);
+                if (i % 3 == 0) {
+                    taskList.deleteTask(0);
+                }
+            }
+        });
+        Thread[] readers = new Thread[3];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                try {
+                    while (writer.isAlive()) {
+                        checkConsistent(taskList);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+        }
+        writer.start();
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(2000 - 667, taskList.size());
+        assertEquals(taskList.size(), taskList.filterTasks(null, true).length);
+    }
+
+    @Test
+    public void testMarkingLeavesTasksHeldByReadersUnchanged() {
+        ConcurrentTaskList taskList = new ConcurrentTaskList(new ArrayList<>());
+        for (int i = 1; i <= 3; i++) {
+            taskList.addTask(todo("Task " + i));
+        }
+        ArrayList<Task> before = taskList.getAllTasks();
+
+        taskList.markTasks(new int[] {0, 2});
+        assertTrue(taskList.getTask(0).isDone());
+        assertTrue(taskList.getTask(2).isDone());
+        assertFalse(before.get(0).isDone());
+        assertFalse(before.get(2).isDone());
+        assertSame(before.get(1), taskList.getTask(1));
+
+        taskList.unmarkTask(0);
+        assertFalse(taskList.getTask(0).isDone());
+        assertEquals(1, taskList.getTask(0).getId());
+        assertEquals(1, taskList.filterTasks(null, true).length);
+    }
+
+    /**
+     * Checks that a listing is numbered without gaps and that the tasks are in ID order.
+     */
+    private static void checkConsistent(TaskList taskList) {
+        String listing = taskList.listTasks();
+        if (!listing.equals("Your task list is empty!")) {
+            String[] lines = listing.split("\n");
+            for (int i = 0; i < lines.length; i++) {
+                assertTrue(lines[i].startsWith((i + 1) + ". [T]"));
+            }
+        }
+        long lastId = Task.NO_ID;
+        for (Task task : taskList.getAllTasks()) {
+            assertTrue(task.getId() > lastId);
+            lastId = task.getId();
+        }
+    }
+}
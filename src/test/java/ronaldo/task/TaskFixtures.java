@@ -0,0 +1,22 @@
+package ronaldo.task;
+
+/**
+ * Builds the tasks shared by the task list and storage tests.
+ */
+public final class TaskFixtures {
+
+    private TaskFixtures() {
+    }
+
+    /**
+     * Returns a new to-do with the given description and low priority, without an ID.
+     *
+     * @param description the description of the task.
+     * @return the task.
+     */
+    public static Task todo(String description) {
+        Task task = new ToDo(description);
+        task.setPriority(Priority.LOW);
+        return task;
+    }
+}
@@ -1,10 +1,12 @@
 package ronaldo.task;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -64,6 +66,31 @@ public class TaskListTest {
         assertEquals(t2, taskList.getTask(0));
     }
 
+    @Test
+    public void testDeleteTasksRemovesEveryGivenPosition() {
+        for (int i = 1; i <= 6; i++) {
+            Task task = new ToDo("Task " + i);
+            task.setPriority(Priority.LOW);
+            if (i % 2 == 0) {
+                task.markAsDone();
+            }
+            taskList.addTask(task);
+        }
+
+        ArrayList<Task> removed = taskList.deleteTasks(new int[] {0, 2, 3});
+        assertEquals("Task 1", removed.get(0).getDescription());
+        assertEquals("Task 3", removed.get(1).getDescription());
+        assertEquals("Task 4", removed.get(2).getDescription());
+        assertEquals(3, taskList.size());
+        assertEquals("Task 2", taskList.getTask(0).getDescription());
+        assertEquals("Task 6", taskList.getTask(2).getDescription());
+
+        // The indexes no longer return the deleted tasks
+        assertEquals(3, taskList.findTasks("Task").size());
+        assertArrayEquals(new int[] {0, 2}, taskList.filterTasks(Priority.LOW, true));
+        assertThrows(IndexOutOfBoundsException.class, () -> taskList.deleteTasks(new int[] {1, 3}));
+    }
+
     @Test
     public void testDeleteTaskInvalidIndexThrows() {
         assertThrows(IndexOutOfBoundsException.class, () -> taskList.deleteTask(0));
@@ -121,6 +148,211 @@ public class TaskListTest {
         assertEquals(expected, taskList.listTasks());
     }
 
+    @Test
+    public void testIndexAfterFollowsIdsAcrossDeletes() {
+        for (int i = 1; i <= 4; i++) {
+            Task task = new ToDo("Task " + i);
+            task.setPriority(Priority.LOW);
+            taskList.addTask(task);
+        }
+        long secondId = taskList.getTask(1).getId();
+
+        assertEquals(2, taskList.indexAfter(secondId));
+        taskList.deleteTask(0);
+        assertEquals(1, taskList.indexAfter(secondId));
+        taskList.deleteTask(0);
+        assertEquals(0, taskList.indexAfter(secondId));
+        assertEquals(2, taskList.indexAfter(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testFilterTasksByPriorityAndStatus() {
+        Priority[] priorities = {Priority.HIGH, Priority.LOW, Priority.HIGH, Priority.HIGH};
+        for (Priority priority : priorities) {
+            Task task = new ToDo("Task");
+            task.setPriority(priority);
+            taskList.addTask(task);
+        }
+        taskList.markTask(2);
+
+        assertArrayEquals(new int[] {0, 2, 3}, taskList.filterTasks(Priority.HIGH, null));
+        assertArrayEquals(new int[] {2}, taskList.filterTasks(null, true));
+        assertArrayEquals(new int[] {0, 3}, taskList.filterTasks(Priority.HIGH, false));
+        assertArrayEquals(new int[0], taskList.filterTasks(Priority.MEDIUM, null));
+
+        taskList.deleteTask(0);
+        taskList.unmarkTask(1);
+        assertArrayEquals(new int[] {1, 2}, taskList.filterTasks(Priority.HIGH, false));
+    }
+
+    @Test
+    public void testFindDueReturnsDeadlinesInRangeSoonestFirst() {
+        String[] dueTimes = {"2025-10-10 1800", "2025-10-08 0900", "2025-11-01 0000"};
+        for (String by : dueTimes) {
+            Task task = new Deadline("Deadline", by);
+            task.setPriority(Priority.LOW);
+            taskList.addTask(task);
+        }
+        Task todo = new ToDo("No deadline");
+        todo.setPriority(Priority.LOW);
+        taskList.addTask(todo);
+
+        assertArrayEquals(new int[] {1, 0, 2}, taskList.findDue(null, null));
+        assertArrayEquals(new int[] {1, 0},
+                taskList.findDue(null, LocalDateTime.of(2025, 10, 10, 18, 1)));
+        assertArrayEquals(new int[] {0},
+                taskList.findDue(LocalDateTime.of(2025, 10, 9, 0, 0), LocalDateTime.of(2025, 11, 1, 0, 0)));
+
+        taskList.deleteTask(1);
+        assertArrayEquals(new int[] {0, 1}, taskList.findDue(null, null));
+    }
+
+    @Test
+    public void testFindOverlappingReturnsScheduledEventsInSpan() {
+        String[][] spans = {
+            {"2025-10-10 0915", "2025-10-10 1100"},
+            {"2025-10-10 0900", "2025-10-10 0930"},
+            {"Friday", "late"},
+            {"2025-10-10 1100", "2025-10-10 1200"},
+        };
+        for (String[] span : spans) {
+            Task task = new Event("Event", span[0], span[1]);
+            task.setPriority(Priority.LOW);
+            taskList.addTask(task);
+        }
+
+        LocalDateTime day = LocalDateTime.of(2025, 10, 10, 0, 0);
+        assertArrayEquals(new int[] {1, 0, 3}, taskList.findOverlapping(day, day.plusDays(1)));
+        // Spans are half-open, so an event ending at 11:00 does not overlap one starting then
+        assertArrayEquals(new int[] {3}, taskList.findOverlapping(day.plusHours(11), day.plusHours(12)));
+        assertArrayEquals(new int[0], taskList.findOverlapping(day.plusDays(1), day.plusDays(2)));
+
+        taskList.deleteTask(0);
+        assertArrayEquals(new int[] {0}, taskList.findOverlapping(day.plusHours(9), day.plusHours(10)));
+    }
+
+    @Test
+    public void testColumnarTaskListBehavesLikeTaskList() {
+        Task todo = new ToDo("Write report");
+        todo.setPriority(Priority.HIGH);
+        Task deadline = new Deadline("Submit report", "2025-10-08 0900");
+        deadline.setPriority(Priority.LOW);
+        Task event = new Event("Review", "2025-10-08 0800", "2025-10-08 1000");
+        event.setPriority(Priority.HIGH);
+        ArrayList<Task> loaded = new ArrayList<>();
+        loaded.add(todo);
+        loaded.add(deadline);
+        loaded.add(event);
+        String expected = new TaskList(new ArrayList<>(loaded)).listTasks();
+
+        ColumnarTaskList columnar = new ColumnarTaskList(loaded);
+        assertEquals(expected, columnar.listTasks());
+
+        columnar.markTask(2);
+        columnar.deleteTask(0);
+        assertEquals("2. [E][X] Review (priority: High) (from: 2025-10-08 0800 to: 2025-10-08 1000)",
+                "2. " + columnar.getTask(1));
+        assertEquals(2, columnar.findTasks("e").size());
+        assertArrayEquals(new int[] {1}, columnar.filterTasks(Priority.HIGH, true));
+        assertArrayEquals(new int[] {0}, columnar.findDue(null, null));
+        LocalDateTime nine = LocalDateTime.of(2025, 10, 8, 9, 0);
+        assertArrayEquals(new int[] {1}, columnar.findOverlapping(nine, nine.plusMinutes(1)));
+        assertEquals(1, columnar.indexOf(event.getId()));
+    }
+
+    @Test
+    public void testFindTasksByWordsMatchesWholeWordsIgnoringCase() {
+        Task t1 = new ToDo("Read a book");
+        t1.setPriority(Priority.LOW);
+        Task t2 = new ToDo("read books");
+        t2.setPriority(Priority.LOW);
+        Task t3 = new ToDo("Book club: read!");
+        t3.setPriority(Priority.HIGH);
+
+        taskList.addTask(t1);
+        taskList.addTask(t2);
+        taskList.addTask(t3);
+
+        ArrayList<Task> matches = taskList.findTasksByWords("READ book");
+        assertEquals(2, matches.size());
+        assertEquals(t1, matches.get(0));
+        assertEquals(t3, matches.get(1));
+
+        taskList.deleteTask(0);
+        assertEquals(1, taskList.findTasksByWords("read book").size());
+        assertTrue(taskList.findTasksByWords("missing").isEmpty());
+    }
+
+    @Test
+    public void testFindTasksMatchesSubstrings() {
+        Task t1 = new ToDo("Write report");
+        t1.setPriority(Priority.LOW);
+        Task t2 = new ToDo("port the app");
+        t2.setPriority(Priority.LOW);
+        Task t3 = new ToDo("rep ort");
+        t3.setPriority(Priority.HIGH);
+
+        taskList.addTask(t1);
+        taskList.addTask(t2);
+        taskList.addTask(t3);
+
+        ArrayList<Task> matches = taskList.findTasks("port");
+        assertEquals(2, matches.size());
+        assertEquals(t1, matches.get(0));
+        assertEquals(t2, matches.get(1));
+
+        assertEquals(1, taskList.findTasks("eport").size());
+        assertEquals(3, taskList.findTasks("r").size());
+        assertTrue(taskList.findTasks("Report").isEmpty());
+
+        taskList.deleteTask(0);
+        assertTrue(taskList.findTasks("eport").isEmpty());
+    }
+
+    @Test
+    public void testFindTasksFuzzyRanksClosestWordsFirst() {
+        String[] descriptions = {"Write report", "Read the report", "Repot plants", "read book"};
+        for (String description : descriptions) {
+            Task task = new ToDo(description);
+            task.setPriority(Priority.LOW);
+            taskList.addTask(task);
+        }
+
+        assertArrayEquals(new int[] {2, 0, 1}, taskList.findTasksFuzzy("reprot", 10));
+        assertArrayEquals(new int[] {2, 0}, taskList.findTasksFuzzy("reprot", 2));
+        assertArrayEquals(new int[] {1}, taskList.findTasksFuzzy("reed REPORT", 10));
+        assertArrayEquals(new int[0], taskList.findTasksFuzzy("rapper", 10));
+
+        taskList.deleteTask(2);
+        assertArrayEquals(new int[] {0, 1}, taskList.findTasksFuzzy("reprot", 10));
+        // Lists without a word tree scan the descriptions instead, and must rank the same way
+        ConcurrentTaskList scanned = new ConcurrentTaskList(taskList.getAllTasks());
+        assertArrayEquals(new int[] {0, 1}, scanned.findTasksFuzzy("reprot", 10));
+        assertArrayEquals(new int[] {1, 2}, scanned.findTasksFuzzy("reed", 10));
+    }
+
+    @Test
+    public void testSearchesSeeChangesMadeBeforeAndAfterTheFirstSearch() {
+        ArrayList<Task> loaded = new ArrayList<>();
+        for (String description : new String[] {"Write report", "Read the report", "Repot plants"}) {
+            loaded.add(TaskFixtures.todo(description));
+        }
+        TaskList list = new TaskList(loaded);
+        list.deleteTasks(new int[] {0});
+        list.addTask(TaskFixtures.todo("File the report"));
+
+        // The first search builds the text indexes from the tasks as they are now
+        assertEquals(2, list.findTasksByWords("report").size());
+        assertEquals(2, list.findTasks("epor").size());
+        assertArrayEquals(new int[] {1, 0, 2}, list.findTasksFuzzy("reprot", 10));
+
+        list.deleteTask(0);
+        list.addTask(TaskFixtures.todo("Report back"));
+        assertEquals(2, list.findTasksByWords("report").size());
+        assertEquals(2, list.findTasks("epor").size());
+        assertArrayEquals(new int[] {0, 1, 2}, list.findTasksFuzzy("reprot", 10));
+    }
+
     @Test
     public void testGetAllTasksReturnsReference() {
         Task t1 = new ToDo("Change oil");
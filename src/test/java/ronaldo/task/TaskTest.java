@@ -2,8 +2,11 @@ package ronaldo.task;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+
 import org.junit.jupiter.api.Test;
 
 public class TaskTest {
@@ -59,4 +62,29 @@ public class TaskTest {
 
         assertEquals("[E][ ] Concert (priority: Low) (from: 2025-09-13 1400 to: 2025-09-13 1600)", event.toString());
     }
+
+    @Test
+    public void testDescriptionPool_sharesEqualDescriptions() {
+        String first = DescriptionPool.intern(new String("standup"));
+        String second = DescriptionPool.intern(new String("standup"));
+
+        assertSame(first, second);
+        assertEquals("standup", second);
+    }
+
+    @Test
+    public void testDescriptionPool_reportsCurrentSharing() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (String description : new String[] {"standup", "standup", "review"}) {
+            Task task = new ToDo(DescriptionPool.intern(new String(description)));
+            task.setPriority(Priority.LOW);
+            tasks.add(task);
+        }
+        TaskList taskList = new TaskList(tasks);
+
+        assertTrue(DescriptionPool.describeUsage(taskList).contains("Your 3 tasks refer to 2 description strings"));
+        taskList.deleteTask(0);
+        assertTrue(DescriptionPool.describeUsage(taskList).contains(
+                "Your 2 tasks refer to 2 description strings, saving about 0 B."));
+    }
 }
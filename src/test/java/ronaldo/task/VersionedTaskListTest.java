@@ -0,0 +1,92 @@
+package ronaldo.task;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ronaldo.task.TaskFixtures.todo;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+public class VersionedTaskListTest {
+
+    @Test
+    public void testUndoAndRedoRestoreEarlierVersions() {
+        VersionedTaskList taskList = new VersionedTaskList(new ArrayList<>());
+        for (int i = 1; i <= 3; i++) {
+            taskList.addTask(todo("Task " + i));
+        }
+        Task second = taskList.getTask(1);
+        taskList.markTask(1);
+        taskList.deleteTasks(new int[] {0, 2});
+
+        assertEquals(1, taskList.size());
+        assertNotNull(taskList.undo());
+        assertEquals(3, taskList.size());
+        assertTrue(taskList.getTask(1).isDone());
+        assertNotNull(taskList.undo());
+        assertFalse(taskList.getTask(1).isDone());
+        // Marking put a copy in the newer version, leaving the task in the older one as it was
+        assertEquals(second, taskList.getTask(1));
+        assertFalse(second.isDone());
+
+        assertNotNull(taskList.redo());
+        assertTrue(taskList.getTask(1).isDone());
+        assertEquals(2, taskList.indexOf(3));
+
+        // A new change discards what could have been redone
+        taskList.unmarkTask(0);
+        assertNull(taskList.redo());
+        assertEquals("1. [T][ ] Task 1 (priority: Low)\n2. [T][X] Task 2 (priority: Low)\n"
+                + "3. [T][ ] Task 3 (priority: Low)", taskList.listTasks());
+    }
+
+    @Test
+    public void testOnlyLastVersionsAreKept() {
+        VersionedTaskList taskList = new VersionedTaskList(new ArrayList<>());
+        for (int i = 1; i <= VersionedTaskList.MAX_VERSIONS + 5; i++) {
+            taskList.addTask(todo("Task " + i));
+        }
+
+        for (int i = 0; i < VersionedTaskList.MAX_VERSIONS; i++) {
+            assertNotNull(taskList.undo());
+        }
+        assertNull(taskList.undo());
+        assertEquals(5, taskList.size());
+        assertEquals(5, taskList.getTask(4).getId());
+    }
+
+    @Test
+    public void testIndexesFollowUndoAndRedo() {
+        VersionedTaskList taskList = new VersionedTaskList(new ArrayList<>());
+        taskList.addTask(todo("Buy milk"));
+        taskList.addTask(todo("Read book"));
+        taskList.addTask(todo("Buy bread"));
+        taskList.markTasks(new int[] {0, 2});
+        taskList.deleteTask(0);
+
+        assertEquals(1, taskList.findTasks("Buy").size());
+        assertArrayEquals(new int[] {1}, taskList.filterTasks(null, true));
+
+        VersionedTaskList.Delta delta = taskList.undo();
+        assertEquals(1, delta.added.size());
+        assertEquals(1, delta.added.get(0).getId());
+        assertEquals(2, taskList.findTasksByWords("buy").size());
+        assertArrayEquals(new int[] {0, 2}, taskList.filterTasks(null, true));
+
+        delta = taskList.undo();
+        assertEquals(2, delta.changed.size());
+        assertFalse(delta.changed.get(0).isDone());
+        assertArrayEquals(new int[0], taskList.filterTasks(null, true));
+
+        taskList.redo();
+        taskList.redo();
+        assertArrayEquals(new int[] {1}, taskList.findTasksFuzzy("bred", 5));
+        assertEquals(1, taskList.indexOf(3));
+        assertEquals(-1, taskList.indexOf(1));
+    }
+}
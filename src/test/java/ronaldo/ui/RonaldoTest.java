@@ -0,0 +1,41 @@
+package ronaldo.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+import ronaldo.storage.InMemoryBackend;
+
+public class RonaldoTest {
+
+    @Test
+    public void testStoppedBatchSavesNothingAndRollsBackTheList() throws Exception {
+        InMemoryBackend storage = new InMemoryBackend();
+        storage.writeTask("1 | T | false | Low | Task 1");
+        Ronaldo ronaldo = new Ronaldo(storage);
+
+        String result = ronaldo.runBatch(new BufferedReader(new StringReader(
+                "todo Task 2 /p L\nmark 1\nmark 9\ntodo Task 3 /p L\n")), true);
+
+        assertTrue(result.endsWith("Batch stopped at line 3. No changes were saved."));
+        assertEquals(1, storage.load().size());
+        assertEquals("Here are the tasks in your list:\n1. [T][ ] Task 1 (priority: Low)", ronaldo.processInput("list"));
+    }
+
+    @Test
+    public void testBatchThatKeepsGoingSavesTheOtherCommands() throws Exception {
+        InMemoryBackend storage = new InMemoryBackend();
+        Ronaldo ronaldo = new Ronaldo(storage);
+
+        String result = ronaldo.runBatch(new BufferedReader(new StringReader(
+                "todo Task 1 /p L\nmark 9\nmark 1\n")), false);
+
+        assertTrue(result.endsWith("Batch finished: 2 of 3 commands succeeded. Changes saved."));
+        assertEquals(1, storage.load().size());
+        assertTrue(storage.load().get(0).isDone());
+    }
+}